@@ -0,0 +1,94 @@
+package com.balaio.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.balaio.dto.ListaResumoDTO;
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+
+/**
+ * Dados sintéticos dos benchmarks, sempre com a mesma semente: os resultados de commits
+ * diferentes medem o mesmo conteúdo.
+ */
+public final class DadosBenchmark {
+
+    private static final long SEMENTE = 42;
+    private static final LocalDateTime CRIACAO = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private DadosBenchmark() {
+    }
+
+    /**
+     * Itens de uma lista: 60% comprados, 10% sem valor, quantidades de 1 a 12.
+     */
+    public static List<Item> itens(int quantidade) {
+        Random random = new Random(SEMENTE);
+        Lista lista = lista(1L, random);
+        List<Item> itens = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Item item = new Item("Produto " + i, 1 + random.nextInt(12), "un", lista);
+            item.setId((long) i + 1);
+            item.setStatus(random.nextInt(10) < 6 ? Item.StatusItem.COMPRADO : Item.StatusItem.PENDENTE);
+            if (random.nextInt(10) > 0) {
+                item.setValor(valor(random));
+            }
+            itens.add(item);
+        }
+        return itens;
+    }
+
+    /**
+     * Resumos das listas de um usuário, como devolvidos por ListaRepository.resumirListasPorUsuario.
+     */
+    public static List<ListaResumoDTO> resumos(int quantidade) {
+        Random random = new Random(SEMENTE);
+        List<ListaResumoDTO> resumos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            long total = random.nextInt(60);
+            long comprados = total > 0 ? random.nextInt((int) total + 1) : 0;
+            BigDecimal gasto = valor(random).multiply(BigDecimal.valueOf(comprados));
+            resumos.add(new ListaResumoDTO((long) i + 1, "Lista " + i, "Descrição da lista " + i, total, comprados,
+                    random.nextBoolean(), gasto));
+        }
+        return resumos;
+    }
+
+    /**
+     * Listas com proprietário e dois colaboradores carregados.
+     */
+    public static List<Lista> listas(int quantidade) {
+        Random random = new Random(SEMENTE);
+        List<Lista> listas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            listas.add(lista((long) i + 1, random));
+        }
+        return listas;
+    }
+
+    private static Lista lista(Long id, Random random) {
+        Lista lista = new Lista("Lista " + id, "Compras da semana " + id, usuario(random.nextInt(1000) + 1L));
+        lista.setId(id);
+        lista.setDataCriacao(CRIACAO);
+        lista.setDataAtualizacao(CRIACAO.plusMinutes(random.nextInt(10_000)));
+        lista.setVersao((long) random.nextInt(20));
+        lista.setColaboradores(new ArrayList<>(List.of(usuario(random.nextInt(1000) + 1L),
+                usuario(random.nextInt(1000) + 1L))));
+        return lista;
+    }
+
+    private static Usuario usuario(Long id) {
+        Usuario usuario = new Usuario("Usuário " + id, "usuario" + id + "@email.com", "senha-codificada");
+        usuario.setId(id);
+        return usuario;
+    }
+
+    // 0,50 a 100,00 com duas casas
+    private static BigDecimal valor(Random random) {
+        return BigDecimal.valueOf(50 + random.nextInt(9_951), 2);
+    }
+}
@@ -0,0 +1,47 @@
+package com.balaio.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.balaio.dto.ProgressoListaDTO;
+import com.balaio.model.Item;
+
+/**
+ * Página de detalhes da lista (ListaWebController.verLista): gasto dos itens comprados
+ * (valor × quantidade) e percentual da barra de progresso sobre os itens carregados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgressoListaBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int itens;
+
+    private List<Item> lista;
+
+    @Setup
+    public void preparar() {
+        lista = DadosBenchmark.itens(itens);
+    }
+
+    @Benchmark
+    public ProgressoListaDTO progresso() {
+        return ProgressoListaDTO.de(lista);
+    }
+}
@@ -0,0 +1,53 @@
+package com.balaio.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.balaio.dto.ListaResumoDTO;
+import com.balaio.service.ListaResumoService;
+
+/**
+ * Totais da página inicial (HomeWebController.webHome): itens, comprados e gasto somados
+ * sobre os resumos das listas do usuário.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResumoListasBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int listas;
+
+    // Os totais não usam o repositório
+    private final ListaResumoService listaResumoService = new ListaResumoService();
+
+    private List<ListaResumoDTO> resumos;
+
+    @Setup
+    public void preparar() {
+        resumos = DadosBenchmark.resumos(listas);
+    }
+
+    @Benchmark
+    public void totaisDaPaginaInicial(Blackhole blackhole) {
+        blackhole.consume(listaResumoService.totalComprados(resumos));
+        blackhole.consume(listaResumoService.totalGasto(resumos));
+        blackhole.consume(listaResumoService.totalItens(resumos));
+    }
+}
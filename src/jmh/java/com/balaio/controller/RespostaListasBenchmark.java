@@ -0,0 +1,58 @@
+package com.balaio.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.balaio.benchmark.DadosBenchmark;
+import com.balaio.model.Lista;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Resposta JSON das listas (ListaController.criarMapaLista, como em respostaPaginada): montagem
+ * dos mapas e a serialização deles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RespostaListasBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int listas;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private List<Lista> dados;
+
+    @Setup
+    public void preparar() {
+        dados = DadosBenchmark.listas(listas);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> montarMapas() {
+        return dados.stream().map(ListaController::criarMapaLista).toList();
+    }
+
+    @Benchmark
+    public byte[] montarESerializar() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(montarMapas());
+    }
+}
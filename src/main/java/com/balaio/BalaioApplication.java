@@ -2,8 +2,12 @@ package com.balaio;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.session.SessionAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// Sessões no banco só com balaio.sessao.jdbc.habilitada=true (SessaoJdbcConfig), não pela presença do spring-session-jdbc
+@SpringBootApplication(exclude = SessionAutoConfiguration.class)
+@EnableScheduling
 public class BalaioApplication {
     public static void main(String[] args) {
         SpringApplication.run(BalaioApplication.class, args);
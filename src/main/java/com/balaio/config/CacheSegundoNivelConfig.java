@@ -0,0 +1,90 @@
+package com.balaio.config;
+
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.balaio.model.Usuario;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Métricas do cache de segundo nível do Hibernate (regiões definidas em application.conf). As estatísticas
+ * das regiões são publicadas com os mesmos nomes das métricas do cache de acesso (cache.gets, cache.puts,
+ * cache.size), usando a região como tag "cache".
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    static final List<String> REGIOES = List.of(
+            Usuario.REGIAO_CACHE,
+            Usuario.REGIAO_CACHE_EMAIL);
+
+    /**
+     * CacheManager JCache só deste contexto. Pela URI padrão o provedor do Caffeine devolve o mesmo
+     * CacheManager a todo SessionFactory da JVM: contextos com bancos diferentes no mesmo processo (os
+     * testes) compartilhariam as regiões e leriam entidades uns dos outros. Uma URI sem esquema de arquivo
+     * ou classpath carrega o mesmo application.conf.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerSegundoNivel() {
+        CachingProvider provedor = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        return provedor.getCacheManager(URI.create("balaio:segundo-nivel-" + UUID.randomUUID()),
+                provedor.getDefaultClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheManagerHibernate(CacheManager cacheManagerSegundoNivel) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerSegundoNivel);
+    }
+
+    @Bean
+    public MeterBinder metricasCacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return registry -> {
+            for (String regiao : REGIOES) {
+                contador(registry, estatisticas, regiao, "hit", CacheRegionStatistics::getHitCount);
+                contador(registry, estatisticas, regiao, "miss", CacheRegionStatistics::getMissCount);
+                FunctionCounter.builder("cache.puts", estatisticas, e -> regiao(e, regiao).getPutCount())
+                        .tag("cache", regiao)
+                        .description("Entradas gravadas na região do cache de segundo nível")
+                        .register(registry);
+                Gauge.builder("cache.size", estatisticas, e -> regiao(e, regiao).getElementCountInMemory())
+                        .tag("cache", regiao)
+                        .description("Entradas na região do cache de segundo nível (-1 se o provedor não informa)")
+                        .register(registry);
+            }
+        };
+    }
+
+    private static void contador(MeterRegistry registry, Statistics estatisticas, String regiao, String resultado,
+                                 ToLongFunction<CacheRegionStatistics> valor) {
+        FunctionCounter.builder("cache.gets", estatisticas, e -> valor.applyAsLong(regiao(e, regiao)))
+                .tag("cache", regiao)
+                .tag("result", resultado)
+                .description("Consultas à região do cache de segundo nível")
+                .register(registry);
+    }
+
+    private static CacheRegionStatistics regiao(Statistics estatisticas, String regiao) {
+        return estatisticas.getDomainDataRegionStatistics(regiao);
+    }
+}
@@ -0,0 +1,137 @@
+package com.balaio.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Bulkhead na frente do pool de conexões: no máximo {@code limite} conexões emprestadas ao mesmo tempo,
+ * e quem passa de {@code espera} aguardando recebe SQLTransientConnectionException em vez de ficar
+ * na fila do pool. Com threads virtuais não há mais o limite de threads do Tomcat segurando a
+ * concorrência, então milhares de requisições podem chegar ao banco de uma vez.
+ * A permissão é devolvida quando a conexão é fechada (devolvida ao pool).
+ */
+public class LimiteConexoesDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final int limite;
+    private final Duration espera;
+
+    public LimiteConexoesDataSource(DataSource dataSource, int limite, Duration espera) {
+        super(dataSource);
+        // Justo: a ordem de chegada é respeitada e ninguém espera indefinidamente atrás de recém-chegados
+        this.permissoes = new Semaphore(limite, true);
+        this.limite = limite;
+        this.espera = espera;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        try {
+            return liberarAoFechar(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getEmUso() {
+        return limite - permissoes.availablePermits();
+    }
+
+    public int getAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permissoes.tryAcquire(espera.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Limite de conexões simultâneas com o banco atingido");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão com o banco", e);
+        }
+    }
+
+    /**
+     * Proxy da conexão que devolve a permissão no primeiro close(). Como no TransactionAwareDataSourceProxy,
+     * equals/hashCode usam a identidade do próprio proxy (e não a da conexão do pool), e unwrap/isWrapperFor
+     * reconhecem o proxy antes de consultar a conexão.
+     */
+    private Connection liberarAoFechar(Connection conexao) {
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class}, (proxy, metodo, argumentos) -> {
+                    switch (metodo.getName()) {
+                        case "equals":
+                            return proxy == argumentos[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "Conexão limitada [" + conexao + "]";
+                        case "getTargetConnection":
+                            return conexao;
+                        case "unwrap":
+                            if (((Class<?>) argumentos[0]).isInstance(proxy)) {
+                                return proxy;
+                            }
+                            break;
+                        case "isWrapperFor":
+                            if (((Class<?>) argumentos[0]).isInstance(proxy)) {
+                                return true;
+                            }
+                            break;
+                        case "close":
+                            // close() repetido não devolve a permissão duas vezes
+                            if (!fechada.compareAndSet(false, true)) {
+                                return null;
+                            }
+                            try {
+                                return invocar(conexao, metodo, argumentos);
+                            } finally {
+                                permissoes.release();
+                            }
+                        default:
+                            break;
+                    }
+                    return invocar(conexao, metodo, argumentos);
+                });
+    }
+
+    private static Object invocar(Connection conexao, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(conexao, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.balaio.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.session.SessionRegistry;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
@@ -21,6 +23,10 @@ public class SecurityConfig {
     @Autowired
     private CustomAuthenticationSuccessHandler customAuthenticationSuccessHandler;
 
+    // Presente só com sessões no banco (SessaoJdbcConfig): limite de sessões válido no cluster
+    @Autowired
+    private ObjectProvider<SessionRegistry> sessionRegistry;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -67,10 +73,12 @@ public class SecurityConfig {
                 .permitAll()
             )
             // CA3 - Manter sessão ativa enquanto o usuário navega
-            .sessionManagement(session -> session
-                .maximumSessions(1)
-                .maxSessionsPreventsLogin(false)
-            );
+            .sessionManagement(session -> {
+                var concorrencia = session
+                    .maximumSessions(1)
+                    .maxSessionsPreventsLogin(false);
+                sessionRegistry.ifAvailable(concorrencia::sessionRegistry);
+            });
 
         return http.build();
     }
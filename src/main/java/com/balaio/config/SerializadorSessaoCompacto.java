@@ -0,0 +1,53 @@
+package com.balaio.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.core.ConfigurableObjectInputStream;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.core.serializer.support.SerializationFailedException;
+
+/**
+ * Serialização dos atributos de sessão gravados no banco: serialização Java comprimida com
+ * Deflate. Os descritores de classe (nomes de pacote e campos repetidos) respondem pela maior
+ * parte dos bytes e comprimem bem, principalmente no contexto do Spring Security.
+ */
+public class SerializadorSessaoCompacto implements Serializer<Object>, Deserializer<Object> {
+
+    private final ClassLoader classLoader;
+
+    public SerializadorSessaoCompacto(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public void serialize(Object objeto, OutputStream saida) throws IOException {
+        // A saída é de quem chamou e não é fechada aqui, então a memória nativa do Deflater é liberada à mão
+        Deflater deflater = new Deflater();
+        try {
+            DeflaterOutputStream comprimido = new DeflaterOutputStream(saida, deflater);
+            ObjectOutputStream objetos = new ObjectOutputStream(comprimido);
+            objetos.writeObject(objeto);
+            objetos.flush();
+            comprimido.finish();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public Object deserialize(InputStream entrada) throws IOException {
+        try (ConfigurableObjectInputStream objetos =
+                new ConfigurableObjectInputStream(new InflaterInputStream(entrada), classLoader)) {
+            return objetos.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new SerializationFailedException("Classe do atributo de sessão não encontrada", e);
+        }
+    }
+}
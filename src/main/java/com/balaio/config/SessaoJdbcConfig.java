@@ -0,0 +1,54 @@
+package com.balaio.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.session.SessionRegistry;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.Session;
+import org.springframework.session.config.SessionRepositoryCustomizer;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.session.jdbc.config.annotation.web.http.EnableJdbcHttpSession;
+import org.springframework.session.security.SpringSessionBackedSessionRegistry;
+
+/**
+ * Sessões HTTP no banco (tabelas SPRING_SESSION), compartilhadas entre as instâncias da
+ * aplicação: qualquer nó atende qualquer usuário e reinícios não derrubam os logins.
+ * Ativado com balaio.sessao.jdbc.habilitada=true; sem ele as sessões ficam na memória do Tomcat.
+ * <p>
+ * O limite de sessões por usuário do SecurityConfig passa a usar o registro apoiado no
+ * índice de PRINCIPAL_NAME, valendo para o cluster inteiro. A limpeza das sessões expiradas
+ * fica com {@link com.balaio.service.LimpezaSessoesService}, em lotes.
+ */
+@Configuration
+@ConditionalOnProperty(name = "balaio.sessao.jdbc.habilitada", havingValue = "true")
+@EnableJdbcHttpSession(cleanupCron = Scheduled.CRON_DISABLED)
+public class SessaoJdbcConfig {
+
+    @Bean("springSessionConversionService")
+    public GenericConversionService conversaoAtributosSessao() {
+        SerializadorSessaoCompacto serializador = new SerializadorSessaoCompacto(getClass().getClassLoader());
+        GenericConversionService conversao = new GenericConversionService();
+        conversao.addConverter(Object.class, byte[].class, new SerializingConverter(serializador));
+        conversao.addConverter(byte[].class, Object.class, new DeserializingConverter(serializador));
+        return conversao;
+    }
+
+    @Bean
+    public SessionRepositoryCustomizer<JdbcIndexedSessionRepository> personalizarRepositorioSessoes(
+            @Value("${server.servlet.session.timeout:30m}") Duration tempoInativo) {
+        return repositorio -> repositorio.setDefaultMaxInactiveInterval(tempoInativo);
+    }
+
+    @Bean
+    public SessionRegistry sessionRegistry(FindByIndexNameSessionRepository<? extends Session> repositorio) {
+        return new SpringSessionBackedSessionRegistry<>(repositorio);
+    }
+}
@@ -0,0 +1,68 @@
+package com.balaio.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Modo de threads virtuais (spring.threads.virtual.enabled=true): o Spring Boot passa a atender as
+ * requisições do Tomcat e a rodar @Scheduled e os executores dele em threads virtuais. Como a
+ * concorrência deixa de ser limitada pelas threads do Tomcat, o DataSource ganha um bulkhead
+ * ({@link LimiteConexoesDataSource}) com o tamanho do pool, ou balaio.db.concorrencia-maxima.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadsVirtuaisConfig.class);
+
+    // static: o post-processor precisa existir antes dos beans que ele envolve
+    @Bean
+    public static BeanPostProcessor limiteConexoesPostProcessor(Environment environment) {
+        int concorrenciaMaxima = environment.getProperty("balaio.db.concorrencia-maxima", Integer.class, 0);
+        Duration espera = environment.getProperty("balaio.db.espera-maxima", Duration.class, Duration.ofSeconds(5));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof LimiteConexoesDataSource) {
+                    return bean;
+                }
+                int limite = concorrenciaMaxima > 0 ? concorrenciaMaxima
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize()
+                        : 10;
+                logger.info("Threads virtuais: até {} conexões simultâneas em '{}', espera máxima de {}",
+                        limite, beanName, espera);
+                return new LimiteConexoesDataSource(dataSource, limite, espera);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasLimiteConexoes(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof LimiteConexoesDataSource limitado) {
+                Gauge.builder("balaio.db.conexoes.em-uso", limitado, LimiteConexoesDataSource::getEmUso)
+                        .description("Conexões emprestadas pelo bulkhead do banco")
+                        .register(registry);
+                Gauge.builder("balaio.db.conexoes.aguardando", limitado, LimiteConexoesDataSource::getAguardando)
+                        .description("Threads aguardando uma conexão no bulkhead do banco")
+                        .register(registry);
+            }
+        };
+    }
+}
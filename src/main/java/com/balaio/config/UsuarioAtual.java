@@ -0,0 +1,17 @@
+package com.balaio.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injeta o usuário da requisição em parâmetros de controller, como {@code Long} (id) ou
+ * {@link UsuarioAutenticado}. Resolvido por {@link UsuarioAtualArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface UsuarioAtual {
+}
@@ -0,0 +1,70 @@
+package com.balaio.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.balaio.model.Usuario;
+import com.balaio.service.UsuarioService;
+
+/**
+ * Resolve parâmetros anotados com {@link UsuarioAtual}.
+ * <p>
+ * Em requisições autenticadas pelo login do Spring Security o principal já é um
+ * {@link UsuarioAutenticado} e nenhuma consulta é feita. Sessões abertas por
+ * /api/auth/login trazem o id no {@link UsuarioSessao}. Só outros tipos de principal
+ * (por exemplo, usuários de teste) caem na busca por email.
+ */
+public class UsuarioAtualArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final UsuarioService usuarioService;
+
+    public UsuarioAtualArgumentResolver(UsuarioService usuarioService) {
+        this.usuarioService = usuarioService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(UsuarioAtual.class)
+                && (Long.class.equals(parameter.getParameterType())
+                        || UsuarioAutenticado.class.equals(parameter.getParameterType()));
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+            NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        UsuarioAutenticado usuario = resolverUsuario(webRequest);
+        return Long.class.equals(parameter.getParameterType()) ? usuario.getId() : usuario;
+    }
+
+    private UsuarioAutenticado resolverUsuario(NativeWebRequest webRequest) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return usuario;
+        }
+
+        Object sessao = webRequest.getAttribute(UsuarioSessao.ATRIBUTO, RequestAttributes.SCOPE_SESSION);
+        if (sessao instanceof UsuarioSessao usuario) {
+            return new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), usuario.getNomeCompleto(), null);
+        }
+
+        if (authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken)) {
+            Usuario encontrado = usuarioService.buscarPorEmail(authentication.getName()).orElse(null);
+            if (encontrado != null) {
+                return new UsuarioAutenticado(encontrado.getId(), encontrado.getEmail(),
+                        encontrado.getNomeCompleto(), null);
+            }
+        }
+
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Usuário não encontrado");
+    }
+}
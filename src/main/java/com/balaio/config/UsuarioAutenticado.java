@@ -0,0 +1,103 @@
+package com.balaio.config;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.balaio.model.Usuario;
+
+/**
+ * Principal do Spring Security para usuários do Balaio. Carrega o id e o nome do usuário
+ * junto com o email, de modo que os controllers identificam quem fez a requisição sem
+ * consultar a tabela de usuários. A senha é descartada logo após a autenticação.
+ */
+public class UsuarioAutenticado implements UserDetails, CredentialsContainer {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String email;
+    private final String nomeCompleto;
+    private String senha;
+
+    public UsuarioAutenticado(Long id, String email, String nomeCompleto, String senha) {
+        this.id = id;
+        this.email = email;
+        this.nomeCompleto = nomeCompleto;
+        this.senha = senha;
+    }
+
+    public UsuarioAutenticado(Usuario usuario) {
+        this(usuario.getId(), usuario.getEmail(), usuario.getNomeCompleto(), usuario.getSenha());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getNomeCompleto() {
+        return nomeCompleto;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return senha;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.senha = null;
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        return outro instanceof UsuarioAutenticado usuario && email.equals(usuario.email);
+    }
+
+    @Override
+    public int hashCode() {
+        return email.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UsuarioAutenticado[id=" + id + ", email=" + email + "]";
+    }
+}
@@ -0,0 +1,48 @@
+package com.balaio.config;
+
+import java.io.Serializable;
+
+import com.balaio.model.Usuario;
+
+/**
+ * Dados do usuário logado guardados na sessão HTTP (atributo {@value #ATRIBUTO}).
+ * Imutável e só com id, email e nome: nada de hash de senha nem coleções lazy da
+ * entidade, o que mantém a sessão pequena e barata de serializar.
+ */
+public final class UsuarioSessao implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String ATRIBUTO = "usuarioLogado";
+
+    private final Long id;
+    private final String email;
+    private final String nomeCompleto;
+
+    public UsuarioSessao(Long id, String email, String nomeCompleto) {
+        this.id = id;
+        this.email = email;
+        this.nomeCompleto = nomeCompleto;
+    }
+
+    public static UsuarioSessao de(Usuario usuario) {
+        return new UsuarioSessao(usuario.getId(), usuario.getEmail(), usuario.getNomeCompleto());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getNomeCompleto() {
+        return nomeCompleto;
+    }
+
+    @Override
+    public String toString() {
+        return "UsuarioSessao[id=" + id + ", email=" + email + "]";
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.balaio.config.UsuarioSessao;
 import com.balaio.dto.LoginDTO;
 import com.balaio.model.Usuario;
 import com.balaio.service.UsuarioService;
@@ -41,9 +42,7 @@ public class AuthController {
             // CA4 - Validar se a senha informada corresponde à senha criptografada
             if (usuario != null && passwordEncoder.matches(loginDTO.getSenha(), usuario.getSenha())) {
                 // CA6 - Criar sessão para o usuário
-                session.setAttribute("usuarioLogado", usuario);
-                session.setAttribute("usuarioId", usuario.getId());
-                session.setAttribute("usuarioEmail", usuario.getEmail());
+                session.setAttribute(UsuarioSessao.ATRIBUTO, UsuarioSessao.de(usuario));
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("mensagem", "Login realizado com sucesso");
@@ -86,7 +85,7 @@ public class AuthController {
 
     @PostMapping("/verificar-sessao")
     public ResponseEntity<?> verificarSessao(HttpSession session) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
 
         if (usuario != null) {
             Map<String, Object> response = new HashMap<>();
@@ -8,8 +8,6 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,29 +16,39 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.balaio.config.UsuarioAtual;
+import com.balaio.dto.AlteracoesItensDTO;
+import com.balaio.dto.EstatisticasItensDTO;
+import com.balaio.dto.ItemLoteDTO;
+import com.balaio.dto.OperacaoSincronizacaoDTO;
+import com.balaio.dto.PaginaDTO;
+import com.balaio.dto.ResultadoLoteDTO;
+import com.balaio.dto.ResultadoSincronizacaoDTO;
+import com.balaio.dto.VersaoListaDTO;
 import com.balaio.model.Item;
-import com.balaio.model.Usuario;
+import com.balaio.service.ConflitoException;
 import com.balaio.service.ItemService;
-import com.balaio.service.UsuarioService;
+import com.balaio.service.ListaService;
 
 @RestController
 @RequestMapping("/api/listas/{listaId}/itens")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = PaginaDTO.HEADER_PROXIMO_CURSOR)
 public class ItemController {
 
     @Autowired
     private ItemService itemService;
 
     @Autowired
-    private UsuarioService usuarioService;
+    private ListaService listaService;
 
     @PostMapping
-    public ResponseEntity<?> criarItem(@PathVariable Long listaId, @RequestBody Map<String, Object> dados) {
+    public ResponseEntity<?> criarItem(@PathVariable Long listaId, @RequestBody Map<String, Object> dados,
+                                       @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             String nomeProduto = (String) dados.get("nomeProduto");
             Integer quantidade = (Integer) dados.get("quantidade");
             BigDecimal valor = dados.get("valor") != null ? 
@@ -61,17 +69,122 @@ public class ItemController {
         }
     }
 
-    @GetMapping
-    public ResponseEntity<?> listarItens(@PathVariable Long listaId) {
+    @PostMapping("/lote")
+    public ResponseEntity<?> criarItensEmLote(@PathVariable Long listaId, @RequestBody List<ItemLoteDTO> itens,
+                                              @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            List<Item> itens = itemService.listarItensDaLista(listaId, usuarioId);
+            List<ResultadoLoteDTO> resultados = itemService.criarItens(listaId, itens, usuarioId);
+
+            List<Map<String, Object>> resultadosResponse = resultados.stream()
+                    .map(resultado -> {
+                        Map<String, Object> linha = new HashMap<>();
+                        linha.put("indice", resultado.getIndice());
+                        linha.put("sucesso", resultado.isSucesso());
+                        if (resultado.isSucesso()) {
+                            linha.put("item", criarMapaItem(resultado.getItem()));
+                        } else {
+                            linha.put("erro", resultado.getErro());
+                        }
+                        return linha;
+                    })
+                    .toList();
+            long criados = resultados.stream().filter(ResultadoLoteDTO::isSucesso).count();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("mensagem", criados + " de " + resultados.size() + " itens criados");
+            response.put("criados", criados);
+            response.put("falhas", resultados.size() - criados);
+            response.put("resultados", resultadosResponse);
 
-            List<Map<String, Object>> itensResponse = itens.stream()
-                    .map(this::criarMapaItem)
+            HttpStatus status = criados > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+            return ResponseEntity.status(status).body(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Operações feitas no aplicativo sem conexão, aplicadas em ordem em uma única transação.
+     * Conflitos e itens já excluídos não impedem as demais operações: cada uma tem seu resultado.
+     */
+    @PostMapping("/sincronizacao")
+    public ResponseEntity<?> sincronizar(@PathVariable Long listaId,
+                                         @RequestBody List<OperacaoSincronizacaoDTO> operacoes,
+                                         @UsuarioAtual Long usuarioId) {
+        try {
+            List<ResultadoSincronizacaoDTO> resultados = itemService.sincronizar(listaId, operacoes, usuarioId);
+
+            List<Map<String, Object>> resultadosResponse = resultados.stream()
+                    .map(resultado -> {
+                        Map<String, Object> linha = new HashMap<>();
+                        linha.put("indice", resultado.getIndice());
+                        linha.put("situacao", resultado.getSituacao().toString());
+                        if (resultado.getItem() != null) {
+                            linha.put("item", criarMapaItemSemLista(resultado.getItem()));
+                        }
+                        if (resultado.getErro() != null) {
+                            linha.put("erro", resultado.getErro());
+                        }
+                        return linha;
+                    })
                     .toList();
+            long aplicadas = resultados.stream()
+                    .filter(resultado -> resultado.getSituacao() == ResultadoSincronizacaoDTO.Situacao.APLICADA)
+                    .count();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("mensagem", aplicadas + " de " + resultados.size() + " operações aplicadas");
+            response.put("aplicadas", aplicadas);
+            response.put("resultados", resultadosResponse);
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Itens criados ou alterados e ids dos excluídos desde a marca da sincronização anterior.
+     * A resposta traz a próxima marca; sem marca (ou com uma muito antiga) traz a lista inteira.
+     */
+    @GetMapping("/alteracoes")
+    public ResponseEntity<?> listarAlteracoes(@PathVariable Long listaId,
+                                              @RequestParam(required = false) String desde,
+                                              @UsuarioAtual Long usuarioId) {
+        try {
+            AlteracoesItensDTO alteracoes = itemService.buscarAlteracoes(listaId, desde, usuarioId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("itens", alteracoes.getItens().stream().map(this::criarMapaItemSemLista).toList());
+            response.put("excluidos", alteracoes.getExcluidos());
+            response.put("marca", alteracoes.getMarca());
+            response.put("completo", alteracoes.isCompleto());
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 
-            return ResponseEntity.ok(itensResponse);
+    @GetMapping
+    public ResponseEntity<?> listarItens(@PathVariable Long listaId,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer limite, @UsuarioAtual Long usuarioId,
+                                         ServletWebRequest request) {
+        try {
+            if (naoModificada(request, listaId, usuarioId)) {
+                return null;
+            }
+
+            PaginaDTO<Item> pagina = itemService.listarItensPaginados(listaId, null, cursor, limite, usuarioId);
+
+            return respostaPaginada(pagina);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -80,16 +193,19 @@ public class ItemController {
     }
 
     @GetMapping("/pendentes")
-    public ResponseEntity<?> listarItensPendentes(@PathVariable Long listaId) {
+    public ResponseEntity<?> listarItensPendentes(@PathVariable Long listaId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limite, @UsuarioAtual Long usuarioId,
+                                                  ServletWebRequest request) {
         try {
-            Long usuarioId = getCurrentUserId();
-            List<Item> itens = itemService.listarItensPorStatus(listaId, Item.StatusItem.PENDENTE, usuarioId);
+            if (naoModificada(request, listaId, usuarioId)) {
+                return null;
+            }
 
-            List<Map<String, Object>> itensResponse = itens.stream()
-                    .map(this::criarMapaItem)
-                    .toList();
+            PaginaDTO<Item> pagina = itemService.listarItensPaginados(listaId, Item.StatusItem.PENDENTE, cursor, limite,
+                    usuarioId);
 
-            return ResponseEntity.ok(itensResponse);
+            return respostaPaginada(pagina);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -98,16 +214,19 @@ public class ItemController {
     }
 
     @GetMapping("/comprados")
-    public ResponseEntity<?> listarItensComprados(@PathVariable Long listaId) {
+    public ResponseEntity<?> listarItensComprados(@PathVariable Long listaId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer limite, @UsuarioAtual Long usuarioId,
+                                                  ServletWebRequest request) {
         try {
-            Long usuarioId = getCurrentUserId();
-            List<Item> itens = itemService.listarItensPorStatus(listaId, Item.StatusItem.COMPRADO, usuarioId);
+            if (naoModificada(request, listaId, usuarioId)) {
+                return null;
+            }
 
-            List<Map<String, Object>> itensResponse = itens.stream()
-                    .map(this::criarMapaItem)
-                    .toList();
+            PaginaDTO<Item> pagina = itemService.listarItensPaginados(listaId, Item.StatusItem.COMPRADO, cursor, limite,
+                    usuarioId);
 
-            return ResponseEntity.ok(itensResponse);
+            return respostaPaginada(pagina);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -116,12 +235,10 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<?> obterItem(@PathVariable Long listaId, @PathVariable Long itemId) {
+    public ResponseEntity<?> obterItem(@PathVariable Long listaId, @PathVariable Long itemId,
+                                       @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
-            Item item = itemService.buscarPorId(itemId)
-                    .orElseThrow(() -> new RuntimeException("Item não encontrado"));
+            Item item = itemService.buscarPorId(itemId, usuarioId);
 
             // Verificar se o item pertence à lista especificada
             if (!item.getLista().getId().equals(listaId)) {
@@ -140,23 +257,25 @@ public class ItemController {
 
     @PutMapping("/{itemId}")
     public ResponseEntity<?> atualizarItem(@PathVariable Long listaId, @PathVariable Long itemId, 
-                                         @RequestBody Map<String, Object> dados) {
+                                         @RequestBody Map<String, Object> dados, @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             String nomeProduto = (String) dados.get("nomeProduto");
             Integer quantidade = (Integer) dados.get("quantidade");
             BigDecimal valor = dados.get("valor") != null ? 
                 new BigDecimal(dados.get("valor").toString()) : null;
             String unidade = (String) dados.get("unidade"); 
+            Long versao = dados.get("versao") != null ? Long.valueOf(dados.get("versao").toString()) : null;
 
-            Item item = itemService.atualizarItem(itemId, nomeProduto, quantidade, valor, unidade, usuarioId);
+            Item item = itemService.atualizarItem(itemId, nomeProduto, quantidade, valor, unidade, versao,
+                    usuarioId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("mensagem", "Item atualizado com sucesso");
             response.put("item", criarMapaItem(item));
 
             return ResponseEntity.ok(response);
+        } catch (ConflitoException e) {
+            return conflito(e, itemId);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -165,10 +284,9 @@ public class ItemController {
     }
 
     @PutMapping("/{itemId}/marcar-comprado")
-    public ResponseEntity<?> marcarComoComprado(@PathVariable Long listaId, @PathVariable Long itemId) {
+    public ResponseEntity<?> marcarComoComprado(@PathVariable Long listaId, @PathVariable Long itemId,
+                                                @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             Item item = itemService.marcarComoComprado(itemId, usuarioId);
 
             Map<String, Object> response = new HashMap<>();
@@ -176,6 +294,8 @@ public class ItemController {
             response.put("item", criarMapaItem(item));
 
             return ResponseEntity.ok(response);
+        } catch (ConflitoException e) {
+            return conflito(e, itemId);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -184,16 +304,95 @@ public class ItemController {
     }
 
     @PutMapping("/{itemId}/marcar-pendente")
-    public ResponseEntity<?> marcarComoPendente(@PathVariable Long listaId, @PathVariable Long itemId) {
+    public ResponseEntity<?> marcarComoPendente(@PathVariable Long listaId, @PathVariable Long itemId,
+                                                @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             Item item = itemService.marcarComoPendente(itemId, usuarioId);
 
             Map<String, Object> response = new HashMap<>();
             response.put("mensagem", "Item marcado como pendente");
             response.put("item", criarMapaItem(item));
 
+            return ResponseEntity.ok(response);
+        } catch (ConflitoException e) {
+            return conflito(e, itemId);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PutMapping("/marcar-todos-comprados")
+    public ResponseEntity<?> marcarTodosComoComprados(@PathVariable Long listaId, @UsuarioAtual Long usuarioId) {
+        try {
+            int alterados = itemService.marcarTodosComoComprados(listaId, usuarioId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("mensagem", alterados + " itens marcados como comprados");
+            response.put("alterados", alterados);
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PutMapping("/marcar-todos-pendentes")
+    public ResponseEntity<?> marcarTodosComoPendentes(@PathVariable Long listaId, @UsuarioAtual Long usuarioId) {
+        try {
+            int alterados = itemService.marcarTodosComoPendentes(listaId, usuarioId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("mensagem", alterados + " itens marcados como pendentes");
+            response.put("alterados", alterados);
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PutMapping("/status")
+    public ResponseEntity<?> marcarItens(@PathVariable Long listaId, @RequestBody Map<String, Object> dados,
+                                         @UsuarioAtual Long usuarioId) {
+        try {
+            Object idsInformados = dados.get("ids");
+            if (!(idsInformados instanceof List<?> lista)) {
+                throw new RuntimeException("Informe a lista de ids dos itens");
+            }
+            List<Long> ids = lista.stream()
+                    .map(id -> Long.valueOf(id.toString()))
+                    .toList();
+            Item.StatusItem status = Item.StatusItem.valueOf(String.valueOf(dados.get("status")));
+
+            int alterados = itemService.marcarItens(listaId, ids, status, usuarioId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("mensagem", alterados + " itens atualizados");
+            response.put("alterados", alterados);
+
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("erro", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @DeleteMapping("/comprados")
+    public ResponseEntity<?> excluirComprados(@PathVariable Long listaId, @UsuarioAtual Long usuarioId) {
+        try {
+            int excluidos = itemService.excluirComprados(listaId, usuarioId);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("mensagem", excluidos + " itens comprados excluídos");
+            response.put("excluidos", excluidos);
+
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
@@ -203,16 +402,17 @@ public class ItemController {
     }
 
     @DeleteMapping("/{itemId}")
-    public ResponseEntity<?> excluirItem(@PathVariable Long listaId, @PathVariable Long itemId) {
+    public ResponseEntity<?> excluirItem(@PathVariable Long listaId, @PathVariable Long itemId,
+                                         @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             itemService.excluirItem(itemId, usuarioId);
 
             Map<String, String> response = new HashMap<>();
             response.put("mensagem", "Item excluído com sucesso");
 
             return ResponseEntity.ok(response);
+        } catch (ConflitoException e) {
+            return conflito(e, itemId);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -221,22 +421,23 @@ public class ItemController {
     }
 
     @GetMapping("/estatisticas")
-    public ResponseEntity<?> obterEstatisticas(@PathVariable Long listaId) {
+    public ResponseEntity<?> obterEstatisticas(@PathVariable Long listaId,
+                                               @RequestParam(defaultValue = "false") boolean porUnidade, @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
-            long totalItens = itemService.contarItensPorStatus(listaId, Item.StatusItem.PENDENTE, usuarioId) +
-                             itemService.contarItensPorStatus(listaId, Item.StatusItem.COMPRADO, usuarioId);
-            long itensPendentes = itemService.contarItensPorStatus(listaId, Item.StatusItem.PENDENTE, usuarioId);
-            long itensComprados = itemService.contarItensPorStatus(listaId, Item.StatusItem.COMPRADO, usuarioId);
-
-            Map<String, Object> estatisticas = new HashMap<>();
-            estatisticas.put("total", totalItens);
-            estatisticas.put("pendentes", itensPendentes);
-            estatisticas.put("comprados", itensComprados);
-            estatisticas.put("percentualCompleto", totalItens > 0 ? (double) itensComprados / totalItens * 100 : 0);
-
-            return ResponseEntity.ok(estatisticas);
+            EstatisticasItensDTO estatisticas = itemService.calcularEstatisticas(listaId, porUnidade, usuarioId);
+
+            Map<String, Object> response = criarMapaEstatisticas(estatisticas);
+            if (estatisticas.getPorUnidade() != null) {
+                response.put("porUnidade", estatisticas.getPorUnidade().stream()
+                        .map(porUnidadeItem -> {
+                            Map<String, Object> mapa = criarMapaEstatisticas(porUnidadeItem);
+                            mapa.put("unidade", porUnidadeItem.getUnidade());
+                            return mapa;
+                        })
+                        .toList());
+            }
+
+            return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -244,19 +445,64 @@ public class ItemController {
         }
     }
 
-    private String getCurrentUserEmail() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication.getName();
+    /**
+     * Os itens da lista mudam junto com a revisão da lista: se o cliente já tem a versão atual,
+     * responde 304 sem consultar os itens.
+     */
+    private boolean naoModificada(ServletWebRequest request, Long listaId, Long usuarioId) {
+        VersaoListaDTO versao = listaService.buscarVersao(listaId, usuarioId)
+                .orElseThrow(() -> new RuntimeException("Usuário não tem acesso a esta lista"));
+        return RespostaCondicional.naoModificada(request, versao);
+    }
+
+    private ResponseEntity<List<Map<String, Object>>> respostaPaginada(PaginaDTO<Item> pagina) {
+        List<Map<String, Object>> itensResponse = pagina.getItens().stream()
+                .map(this::criarMapaItem)
+                .toList();
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.isTemMais()) {
+            resposta.header(PaginaDTO.HEADER_PROXIMO_CURSOR, pagina.getProximoCursor());
+        }
+        return resposta.body(itensResponse);
+    }
+
+    private Map<String, Object> criarMapaEstatisticas(EstatisticasItensDTO estatisticas) {
+        Map<String, Object> mapa = new HashMap<>();
+        mapa.put("total", estatisticas.getTotal());
+        mapa.put("pendentes", estatisticas.getPendentes());
+        mapa.put("comprados", estatisticas.getComprados());
+        mapa.put("percentualCompleto", estatisticas.getPercentualCompleto());
+        mapa.put("gastoComprado", estatisticas.getGastoComprado());
+        mapa.put("gastoEstimado", estatisticas.getGastoEstimado());
+        return mapa;
     }
 
-    private Long getCurrentUserId() {
-        String email = getCurrentUserEmail();
-        Usuario usuario = usuarioService.buscarPorEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-        return usuario.getId();
+    /**
+     * 409 com o estado atual do item, para o cliente decidir se reaplica a alteração.
+     */
+    private ResponseEntity<?> conflito(ConflitoException e, Long itemId) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("erro", e.getMessage());
+        itemService.buscarPorId(itemId).ifPresent(item -> response.put("item", criarMapaItem(item)));
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
     }
 
     private Map<String, Object> criarMapaItem(Item item) {
+        Map<String, Object> mapa = criarMapaItemSemLista(item);
+
+        Map<String, Object> lista = new HashMap<>();
+        lista.put("id", item.getLista().getId());
+        lista.put("titulo", item.getLista().getTitulo());
+        mapa.put("lista", lista);
+
+        return mapa;
+    }
+
+    /**
+     * Dados do próprio item, para respostas de uma lista só (sincronização): não carrega a lista.
+     */
+    private Map<String, Object> criarMapaItemSemLista(Item item) {
         Map<String, Object> mapa = new HashMap<>();
         mapa.put("id", item.getId());
         mapa.put("nomeProduto", item.getNomeProduto());
@@ -264,14 +510,9 @@ public class ItemController {
         mapa.put("valor", item.getValor());
         mapa.put("unidade", item.getUnidade());
         mapa.put("status", item.getStatus().toString());
+        mapa.put("versao", item.getVersao());
         mapa.put("dataCriacao", item.getDataCriacao());
         mapa.put("dataAtualizacao", item.getDataAtualizacao());
-        
-        Map<String, Object> lista = new HashMap<>();
-        lista.put("id", item.getLista().getId());
-        lista.put("titulo", item.getLista().getTitulo());
-        mapa.put("lista", lista);
-
         return mapa;
     }
 }
\ No newline at end of file
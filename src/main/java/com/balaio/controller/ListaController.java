@@ -6,9 +6,8 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,33 +18,34 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.balaio.config.UsuarioAtual;
+import com.balaio.dto.PaginaDTO;
+import com.balaio.dto.VersaoListaDTO;
 import com.balaio.model.Lista;
-import com.balaio.model.Usuario;
+import com.balaio.service.AlteracoesListaService;
+import com.balaio.service.ConflitoException;
 import com.balaio.service.ListaService;
-import com.balaio.service.UsuarioService;
-
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpSession;
+import com.balaio.service.ListaService.FiltroListas;
+import com.balaio.service.ListaService.OrdenacaoListas;
 
 @RestController
 @RequestMapping("/api/listas")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = PaginaDTO.HEADER_PROXIMO_CURSOR)
 public class ListaController {
 
     @Autowired
     private ListaService listaService;
 
     @Autowired
-    private UsuarioService usuarioService;
+    private AlteracoesListaService alteracoesListaService;
 
     @PostMapping
-    public ResponseEntity<?> criarLista(@RequestBody Map<String, String> dados) {
+    public ResponseEntity<?> criarLista(@RequestBody Map<String, String> dados, @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             Lista lista = listaService.criarLista(
                 dados.get("titulo"),
                 dados.get("descricao"),
@@ -65,16 +65,15 @@ public class ListaController {
     }
 
     @GetMapping
-    public ResponseEntity<?> listarListas() {
+    public ResponseEntity<?> listarListas(@RequestParam(required = false) String filtro,
+                                          @RequestParam(required = false) String ordenacao,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limite, @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            List<Lista> listas = listaService.listarListasDoUsuario(usuarioId);
-
-            List<Map<String, Object>> listasResponse = listas.stream()
-                    .map(this::criarMapaLista)
-                    .toList();
+            PaginaDTO<Lista> pagina = listaService.listarListasPaginadas(usuarioId, FiltroListas.de(filtro),
+                    OrdenacaoListas.de(ordenacao), cursor, limite);
 
-            return ResponseEntity.ok(listasResponse);
+            return respostaPaginada(pagina);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -83,16 +82,14 @@ public class ListaController {
     }
 
     @GetMapping("/minhas")
-    public ResponseEntity<?> listarMinhasListas() {
+    public ResponseEntity<?> listarMinhasListas(@RequestParam(required = false) String ordenacao,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer limite, @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            List<Lista> listas = listaService.listarListasProprietario(usuarioId);
+            PaginaDTO<Lista> pagina = listaService.listarListasPaginadas(usuarioId, FiltroListas.MINHAS,
+                    OrdenacaoListas.de(ordenacao), cursor, limite);
 
-            List<Map<String, Object>> listasResponse = listas.stream()
-                    .map(this::criarMapaLista)
-                    .toList();
-
-            return ResponseEntity.ok(listasResponse);
+            return respostaPaginada(pagina);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -101,16 +98,14 @@ public class ListaController {
     }
 
     @GetMapping("/compartilhadas")
-    public ResponseEntity<?> listarListasCompartilhadas() {
+    public ResponseEntity<?> listarListasCompartilhadas(@RequestParam(required = false) String ordenacao,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limite, @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            List<Lista> listas = listaService.listarListasCompartilhadas(usuarioId);
-
-            List<Map<String, Object>> listasResponse = listas.stream()
-                    .map(this::criarMapaLista)
-                    .toList();
+            PaginaDTO<Lista> pagina = listaService.listarListasPaginadas(usuarioId, FiltroListas.COMPARTILHADAS,
+                    OrdenacaoListas.de(ordenacao), cursor, limite);
 
-            return ResponseEntity.ok(listasResponse);
+            return respostaPaginada(pagina);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -119,17 +114,25 @@ public class ListaController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<?> obterLista(@PathVariable Long id) {
+    public ResponseEntity<?> obterLista(@PathVariable Long id, @UsuarioAtual Long usuarioId,
+                                        ServletWebRequest request) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
+            // Lista inexistente continua sendo 400; a leitura dos validadores já responde isso
+            VersaoListaDTO versao = listaService.buscarVersao(id)
+                    .orElseThrow(() -> new RuntimeException("Lista não encontrada"));
             if (!listaService.usuarioTemAcesso(id, usuarioId)) {
                 Map<String, String> error = new HashMap<>();
                 error.put("erro", "Acesso negado a esta lista");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
             }
 
-            Lista lista = listaService.buscarPorId(id)
+            // GET condicional: com a versão que o cliente já tem, 304 sem carregar a lista
+            if (RespostaCondicional.naoModificada(request, versao)) {
+                return null;
+            }
+
+            // Proprietário e colaboradores vêm no mesmo SELECT
+            Lista lista = listaService.buscarComColaboradores(id)
                     .orElseThrow(() -> new RuntimeException("Lista não encontrada"));
 
             return ResponseEntity.ok(criarMapaLista(lista));
@@ -140,15 +143,30 @@ public class ListaController {
         }
     }
 
+    /**
+     * Alterações da lista em tempo real (Server-Sent Events) para quem tem acesso a ela.
+     */
+    @GetMapping(path = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinarAlteracoes(@PathVariable Long id, @UsuarioAtual Long usuarioId) {
+        if (!listaService.usuarioTemAcesso(id, usuarioId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Acesso negado a esta lista");
+        }
+        try {
+            return alteracoesListaService.assinar(id, usuarioId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<?> atualizarLista(@PathVariable Long id, @RequestBody Map<String, String> dados) {
+    public ResponseEntity<?> atualizarLista(@PathVariable Long id, @RequestBody Map<String, String> dados,
+                                            @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             Lista lista = listaService.atualizarLista(
                 id,
                 dados.get("titulo"),
                 dados.get("descricao"),
+                dados.get("versao") != null ? Long.valueOf(dados.get("versao")) : null,
                 usuarioId
             );
 
@@ -157,6 +175,12 @@ public class ListaController {
             response.put("lista", criarMapaLista(lista));
 
             return ResponseEntity.ok(response);
+        } catch (ConflitoException e) {
+            // Devolve o estado atual para o cliente decidir se reaplica a edição
+            Map<String, Object> response = new HashMap<>();
+            response.put("erro", e.getMessage());
+            listaService.buscarPorId(id).ifPresent(lista -> response.put("lista", criarMapaLista(lista)));
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         } catch (RuntimeException e) {
             Map<String, String> error = new HashMap<>();
             error.put("erro", e.getMessage());
@@ -165,10 +189,8 @@ public class ListaController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> excluirLista(@PathVariable Long id) {
+    public ResponseEntity<?> excluirLista(@PathVariable Long id, @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             listaService.excluirLista(id, usuarioId);
 
             Map<String, String> response = new HashMap<>();
@@ -183,10 +205,9 @@ public class ListaController {
     }
 
     @PostMapping("/{id}/compartilhar")
-    public ResponseEntity<?> compartilharLista(@PathVariable Long id, @RequestBody Map<String, String> dados) {
+    public ResponseEntity<?> compartilharLista(@PathVariable Long id, @RequestBody Map<String, String> dados,
+                                               @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             Lista lista = listaService.compartilharLista(
                 id,
                 dados.get("emailColaborador"),
@@ -206,10 +227,9 @@ public class ListaController {
     }
 
     @DeleteMapping("/{listaId}/colaboradores/{colaboradorId}")
-    public ResponseEntity<?> removerColaborador(@PathVariable Long listaId, @PathVariable Long colaboradorId) {
+    public ResponseEntity<?> removerColaborador(@PathVariable Long listaId, @PathVariable Long colaboradorId,
+                                                @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             Lista lista = listaService.removerColaborador(listaId, colaboradorId, usuarioId);
 
             Map<String, Object> response = new HashMap<>();
@@ -226,10 +246,8 @@ public class ListaController {
 
     @DeleteMapping("/{listaId}/colaboradores/email")
     public ResponseEntity<?> removerColaboradorPorEmail(@PathVariable Long listaId, 
-                                                    @RequestParam String email) {
+                                                    @RequestParam String email, @UsuarioAtual Long usuarioId) {
         try {
-            Long usuarioId = getCurrentUserId();
-            
             Lista lista = listaService.removerColaboradorPorEmail(listaId, email, usuarioId);
 
             Map<String, Object> response = new HashMap<>();
@@ -244,47 +262,29 @@ public class ListaController {
         }
     }
 
-    private String getCurrentUserEmail() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication.getName();
-    }
+    private ResponseEntity<List<Map<String, Object>>> respostaPaginada(PaginaDTO<Lista> pagina) {
+        List<Map<String, Object>> listasResponse = pagina.getItens().stream()
+                .map(ListaController::criarMapaLista)
+                .toList();
 
-    /**
-     * Recupera o id do usuário atual.
-     * Tenta primeiro pelo SecurityContext (principal autenticado). Se não houver
-     * usuário autenticado, faz fallback para a sessão HTTP (atributo "usuarioLogado")
-     * para compatibilidade com o fluxo web que usa sessão.
-     */
-    private Long getCurrentUserId() {
-        // tentar pelo SecurityContext
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated() && !"anonymousUser".equals(authentication.getName())) {
-            String email = authentication.getName();
-            Usuario usuario = usuarioService.buscarPorEmail(email).orElse(null);
-            if (usuario != null) return usuario.getId();
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok();
+        if (pagina.isTemMais()) {
+            resposta.header(PaginaDTO.HEADER_PROXIMO_CURSOR, pagina.getProximoCursor());
         }
-
-        // fallback para sessão HTTP (fluxo do controller web)
-        ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attrs != null) {
-            HttpServletRequest request = attrs.getRequest();
-            HttpSession session = request.getSession(false);
-            if (session != null) {
-                Usuario usuarioSess = (Usuario) session.getAttribute("usuarioLogado");
-                if (usuarioSess != null) return usuarioSess.getId();
-            }
-        }
-
-        throw new RuntimeException("Usuário não encontrado");
+        return resposta.body(listasResponse);
     }
 
-    private Map<String, Object> criarMapaLista(Lista lista) {
+    /**
+     * Visível no pacote para o benchmark JMH (src/jmh).
+     */
+    static Map<String, Object> criarMapaLista(Lista lista) {
         Map<String, Object> mapa = new HashMap<>();
         mapa.put("id", lista.getId());
         mapa.put("titulo", lista.getTitulo());
         mapa.put("descricao", lista.getDescricao());
         mapa.put("dataCriacao", lista.getDataCriacao());
         mapa.put("dataAtualizacao", lista.getDataAtualizacao());
+        mapa.put("versao", lista.getVersao());
         
         Map<String, Object> proprietario = new HashMap<>();
         proprietario.put("id", lista.getProprietario().getId());
@@ -0,0 +1,33 @@
+package com.balaio.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.balaio.dto.VersaoListaDTO;
+
+/**
+ * GET condicional sobre o ETag da lista (If-None-Match). Não há Last-Modified: datas HTTP têm resolução
+ * de um segundo, e uma alteração no mesmo segundo da resposta anterior passaria por If-Modified-Since
+ * como 304.
+ */
+final class RespostaCondicional {
+
+    // O cliente pode guardar a resposta, mas deve revalidá-la a cada uso; sem isso o cabeçalho
+    // padrão do Spring Security (no-store) impediria o cache
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private RespostaCondicional() {
+    }
+
+    /**
+     * Informa os validadores na resposta e devolve true (com status 304 já definido) se a
+     * representação do cliente ainda é a atual; nesse caso o controller não monta o corpo.
+     */
+    static boolean naoModificada(ServletWebRequest request, VersaoListaDTO versao) {
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+        return request.checkNotModified(versao.getEtag());
+    }
+}
@@ -6,8 +6,6 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -17,6 +15,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.balaio.config.UsuarioAtual;
 import com.balaio.dto.AlterarSenhaDTO;
 import com.balaio.dto.UsuarioCadastroDTO;
 import com.balaio.model.Usuario;
@@ -54,10 +53,9 @@ public class UsuarioController {
     }
 
     @GetMapping("/perfil")
-    public ResponseEntity<?> obterPerfil() {
+    public ResponseEntity<?> obterPerfil(@UsuarioAtual Long usuarioId) {
         try {
-            String email = getCurrentUserEmail();
-            Usuario usuario = usuarioService.buscarPorEmail(email)
+            Usuario usuario = usuarioService.buscarPorId(usuarioId)
                     .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
             Map<String, Object> response = new HashMap<>();
@@ -75,12 +73,8 @@ public class UsuarioController {
     }
 
     @PutMapping("/perfil")
-    public ResponseEntity<?> atualizarPerfil(@RequestBody Map<String, String> dados) {
+    public ResponseEntity<?> atualizarPerfil(@RequestBody Map<String, String> dados, @UsuarioAtual Long usuarioId) {
         try {
-            String email = getCurrentUserEmail();
-            Usuario usuario = usuarioService.buscarPorEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
             // CA1 - Validar que nome e email foram fornecidos
             if (!dados.containsKey("nome") || !dados.containsKey("email")) {
                 throw new RuntimeException("Nome e email são obrigatórios");
@@ -91,7 +85,7 @@ public class UsuarioController {
             usuarioAtualizado.setEmail(dados.get("email"));
 
             // CA4 - Atualizar dados e dataAtualizacao
-            Usuario usuarioSalvo = usuarioService.atualizarUsuario(usuario.getId(), usuarioAtualizado);
+            Usuario usuarioSalvo = usuarioService.atualizarUsuario(usuarioId, usuarioAtualizado);
 
             Map<String, Object> response = new HashMap<>();
             response.put("mensagem", "Perfil atualizado com sucesso");
@@ -110,13 +104,9 @@ public class UsuarioController {
     }
 
     @PutMapping("/alterar-senha")
-    public ResponseEntity<?> alterarSenha(@Valid @RequestBody AlterarSenhaDTO dto) {
+    public ResponseEntity<?> alterarSenha(@Valid @RequestBody AlterarSenhaDTO dto, @UsuarioAtual Long usuarioId) {
         try {
-            String email = getCurrentUserEmail();
-            Usuario usuario = usuarioService.buscarPorEmail(email)
-                    .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-
-            usuarioService.alterarSenha(usuario.getId(), dto);
+            usuarioService.alterarSenha(usuarioId, dto);
 
             Map<String, String> response = new HashMap<>();
             response.put("mensagem", "Senha alterada com sucesso");
@@ -158,16 +148,4 @@ public class UsuarioController {
                 )).toList()
         );
     }
-
-    private String getCurrentUserEmail() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication.getName();
-    }
-
-    private Long getCurrentUserId() {
-        String email = getCurrentUserEmail();
-        Usuario usuario = usuarioService.buscarPorEmail(email)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-        return usuario.getId();
-    }
-}
\ No newline at end of file
+}
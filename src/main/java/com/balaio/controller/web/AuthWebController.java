@@ -12,9 +12,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.balaio.config.UsuarioSessao;
 import com.balaio.dto.LoginDTO;
 import com.balaio.dto.UsuarioCadastroDTO;
-import com.balaio.model.Usuario;
 import com.balaio.repository.ItemRepository;
 import com.balaio.service.ListaService;
 import com.balaio.service.UsuarioService;
@@ -43,7 +43,7 @@ public class AuthWebController {
     @GetMapping("/login")
     public String loginPage(Model model, HttpSession session) {
         // Se já está autenticado, redireciona para a home
-        Usuario usuarioLogado = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuarioLogado = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuarioLogado != null) {
             return "redirect:/balaio";
         }
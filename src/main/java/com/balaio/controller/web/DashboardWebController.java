@@ -6,8 +6,8 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 
+import com.balaio.config.UsuarioSessao;
 import com.balaio.dto.DashboardDTO;
-import com.balaio.model.Usuario;
 import com.balaio.service.ListaService;
 
 import jakarta.servlet.http.HttpSession;
@@ -24,7 +24,7 @@ public class DashboardWebController {
      */
     @GetMapping("/dashboard")
     public String dashboard(HttpSession session, Model model) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -1,6 +1,5 @@
 package com.balaio.controller.web;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -18,10 +17,15 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.balaio.config.UsuarioSessao;
+import com.balaio.dto.ListaDetalheDTO;
+import com.balaio.dto.ListaResumoDTO;
+import com.balaio.dto.ProgressoListaDTO;
 import com.balaio.model.Item;
 import com.balaio.model.Lista;
 import com.balaio.model.Usuario;
 import com.balaio.service.ItemService;
+import com.balaio.service.ListaResumoService;
 import com.balaio.service.ListaService;
 
 import jakarta.servlet.http.HttpSession;
@@ -36,6 +40,9 @@ public class ListaWebController {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private ListaResumoService listaResumoService;
+
     @Autowired
     private com.balaio.service.UsuarioService usuarioService;
 
@@ -43,60 +50,25 @@ public class ListaWebController {
 
     @GetMapping
     public String listarListas(HttpSession session, Model model) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
 
-        List<Lista> listas = listaService.listarListasDoUsuario(usuario.getId());
-
-        List<com.balaio.dto.ListaResumoDTO> listasResumo = new ArrayList<>();
-        long totalCompradoGeral = 0;
-        java.math.BigDecimal totalGastoGeral = java.math.BigDecimal.ZERO;
-        int totalItensGeral = 0;
-        
-        for (Lista l : listas) {
-            List<Item> itens = itemService.listarItensDaLista(l.getId(), usuario.getId());
-            int totalItens = itens != null ? itens.size() : 0;
-            int totalComprados = itens != null ? (int) itens.stream().filter(i -> i.getStatus() == Item.StatusItem.COMPRADO).count() : 0;
-            boolean isProprietario = l.getProprietario() != null && l.getProprietario().getId().equals(usuario.getId());
-
-            listasResumo.add(new com.balaio.dto.ListaResumoDTO(
-                    l.getId(), l.getTitulo(), l.getDescricao(), totalItens, totalComprados, isProprietario
-            ));
-            
-            // Acumula totais gerais
-            totalItensGeral += totalItens;
-            totalCompradoGeral += totalComprados;
-            
-            // Calcula total gasto em itens comprados
-            if (itens != null) {
-                for (Item item : itens) {
-                    if (item.getStatus() == Item.StatusItem.COMPRADO && 
-                        item.getValor() != null && 
-                        item.getQuantidade() != null) {
-                        java.math.BigDecimal valorTotalItem = item.getValor().multiply(
-                            java.math.BigDecimal.valueOf(item.getQuantidade())
-                        );
-                        totalGastoGeral = totalGastoGeral.add(valorTotalItem);
-                    }
-                }
-            }
-        }
+        List<ListaResumoDTO> listasResumo = listaResumoService.listarResumos(usuario.getId());
 
         model.addAttribute("listasResumo", listasResumo);
-        model.addAttribute("listas", listas);
         model.addAttribute("usuario", usuario);
         model.addAttribute("lista", new Lista());
-        model.addAttribute("totalCompradoGeral", totalCompradoGeral);
-        model.addAttribute("totalGastoGeral", totalGastoGeral);
-        model.addAttribute("totalItensGeral", totalItensGeral);
+        model.addAttribute("totalCompradoGeral", listaResumoService.totalComprados(listasResumo));
+        model.addAttribute("totalGastoGeral", listaResumoService.totalGasto(listasResumo));
+        model.addAttribute("totalItensGeral", listaResumoService.totalItens(listasResumo));
         return "listas/index";
     }
 
     @GetMapping("/nova")
     public String novaListaPage(HttpSession session, Model model) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -111,7 +83,7 @@ public class ListaWebController {
                              @RequestParam String descricao,
                              HttpSession session,
                              RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -128,13 +100,15 @@ public class ListaWebController {
 
     @GetMapping("/{id}")
     public String verLista(@PathVariable Long id, HttpSession session, Model model) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
 
         try {
-            Lista lista = listaService.buscarPorId(id).orElseThrow(() -> new RuntimeException("Lista não encontrada"));
+            // Lista, proprietário, colaboradores e itens em duas consultas (acesso verificado no serviço)
+            ListaDetalheDTO detalhe = listaService.buscarDetalhe(id, usuario.getId());
+            Lista lista = detalhe.getLista();
             System.out.println("=== CARREGANDO LISTA ===");
             System.out.println("Lista ID: " + lista.getId());
             System.out.println("Lista Título: " + lista.getTitulo());
@@ -154,58 +128,18 @@ public class ListaWebController {
             model.addAttribute("usuario", usuario);
             model.addAttribute("usuarioLogado", usuario);
             
-            List<Item> itens = itemService.listarItensDaLista(id, usuario.getId());
+            List<Item> itens = detalhe.getItens();
             logger.debug("Recuperados {} itens para a lista {}", itens.size(), id);
             
-            java.math.BigDecimal totalEstimado = java.math.BigDecimal.ZERO;
-            for (Item item : itens) {
-                if (item.getStatus() == Item.StatusItem.COMPRADO && 
-                    item.getValor() != null && 
-                    item.getQuantidade() != null) {
-                    try {
-                        java.math.BigDecimal valorTotalItem = item.getValor().multiply(
-                            java.math.BigDecimal.valueOf(item.getQuantidade())
-                        );
-                        totalEstimado = totalEstimado.add(valorTotalItem);
-                    } catch (Exception e) {
-                        logger.warn("Erro ao calcular valor do item {} ({}): {}", 
-                                item.getId(), item.getNomeProduto(), e.getMessage());
-                    }
-                }
-            }
-            
-            long totalComprados = itens.stream().filter(i -> i.getStatus() == Item.StatusItem.COMPRADO).count();
-            long totalPendentes = itens.stream().filter(i -> i.getStatus() == Item.StatusItem.PENDENTE).count();
+            ProgressoListaDTO progresso = ProgressoListaDTO.de(itens);
 
-            
-            String progressoWidth;
-            String percentualTexto;
-
-            if ((totalComprados + totalPendentes) > 0) {
-                double percentual = (totalComprados * 100.0) / (totalComprados + totalPendentes);
-                
-                // Garantir que não passe de 100%
-                percentual = Math.min(percentual, 100.0);
-                
-                // Remove a casa decimal se for .0
-                if (percentual % 1 == 0) {
-                    percentualTexto = String.format("%.0f", percentual);
-                } else {
-                    percentualTexto = String.format("%.1f", percentual).replace(".", ",");
-                }
-                progressoWidth = percentualTexto + "%";
-            } else {
-                progressoWidth = "0%";
-                percentualTexto = "0";
-            }
-        
-            model.addAttribute("progressoWidth", progressoWidth);
-            model.addAttribute("percentualTexto", percentualTexto);
+            model.addAttribute("progressoWidth", progresso.getProgressoWidth());
+            model.addAttribute("percentualTexto", progresso.getPercentualTexto());
             model.addAttribute("itens", itens);
             model.addAttribute("novoItem", new Item());
-            model.addAttribute("totalEstimado", totalEstimado);
-            model.addAttribute("totalComprados", totalComprados);
-            model.addAttribute("totalPendentes", totalPendentes);
+            model.addAttribute("totalEstimado", progresso.getTotalEstimado());
+            model.addAttribute("totalComprados", progresso.getTotalComprados());
+            model.addAttribute("totalPendentes", progresso.getTotalPendentes());
             
             return "listas/detalhes";
         } catch (Exception e) {
@@ -223,7 +157,7 @@ public class ListaWebController {
                                
                                HttpSession session,
                                RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -244,7 +178,7 @@ public class ListaWebController {
                                 @PathVariable Long itemId,
                                 HttpSession session,
                                 RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -277,12 +211,90 @@ public class ListaWebController {
         return "redirect:/balaio/listas/" + listaId;
     }
 
+    @PostMapping("/{listaId}/itens/marcar-todos")
+    public String marcarTodosComoComprados(@PathVariable Long listaId,
+                                           HttpSession session,
+                                           RedirectAttributes redirectAttributes) {
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
+        if (usuario == null) {
+            return "redirect:/balaio/login";
+        }
+
+        try {
+            int alterados = itemService.marcarTodosComoComprados(listaId, usuario.getId());
+            redirectAttributes.addFlashAttribute("sucesso", alterados + " itens marcados como comprados!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("erro", "Erro ao atualizar itens: " + e.getMessage());
+        }
+
+        return "redirect:/balaio/listas/" + listaId;
+    }
+
+    @PostMapping("/{listaId}/itens/desmarcar-todos")
+    public String marcarTodosComoPendentes(@PathVariable Long listaId,
+                                           HttpSession session,
+                                           RedirectAttributes redirectAttributes) {
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
+        if (usuario == null) {
+            return "redirect:/balaio/login";
+        }
+
+        try {
+            int alterados = itemService.marcarTodosComoPendentes(listaId, usuario.getId());
+            redirectAttributes.addFlashAttribute("sucesso", alterados + " itens voltaram para pendente!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("erro", "Erro ao atualizar itens: " + e.getMessage());
+        }
+
+        return "redirect:/balaio/listas/" + listaId;
+    }
+
+    @PostMapping("/{listaId}/itens/status")
+    public String marcarItens(@PathVariable Long listaId,
+                              @RequestParam(name = "ids", required = false) List<Long> ids,
+                              @RequestParam Item.StatusItem status,
+                              HttpSession session,
+                              RedirectAttributes redirectAttributes) {
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
+        if (usuario == null) {
+            return "redirect:/balaio/login";
+        }
+
+        try {
+            int alterados = itemService.marcarItens(listaId, ids, status, usuario.getId());
+            redirectAttributes.addFlashAttribute("sucesso", alterados + " itens atualizados!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("erro", "Erro ao atualizar itens: " + e.getMessage());
+        }
+
+        return "redirect:/balaio/listas/" + listaId;
+    }
+
+    @PostMapping("/{listaId}/itens/limpar-comprados")
+    public String excluirComprados(@PathVariable Long listaId,
+                                   HttpSession session,
+                                   RedirectAttributes redirectAttributes) {
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
+        if (usuario == null) {
+            return "redirect:/balaio/login";
+        }
+
+        try {
+            int excluidos = itemService.excluirComprados(listaId, usuario.getId());
+            redirectAttributes.addFlashAttribute("sucesso", excluidos + " itens comprados removidos da lista!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("erro", "Erro ao remover itens: " + e.getMessage());
+        }
+
+        return "redirect:/balaio/listas/" + listaId;
+    }
+
     @PostMapping("/{listaId}/itens/{itemId}/deletar")
     public String deletarItem(@PathVariable Long listaId,
                               @PathVariable Long itemId,
                               HttpSession session,
                               RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -303,7 +315,7 @@ public class ListaWebController {
                                  HttpSession session,
                                  Model model,
                                  RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -327,7 +339,7 @@ public class ListaWebController {
                              @RequestParam(required = false) java.math.BigDecimal valor,
                              HttpSession session,
                              RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -345,7 +357,7 @@ public class ListaWebController {
     public String deletarLista(@PathVariable Long id,
                                 HttpSession session,
                                 RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -369,7 +381,7 @@ public class ListaWebController {
         System.out.println("Lista ID: " + id);
         System.out.println("Email recebido: " + email);
                                             
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             System.out.println("ERRO: Usuário não logado");
             return "redirect:/balaio/login";
@@ -395,13 +407,13 @@ public class ListaWebController {
     public ResponseEntity<?> compartilharListaAjax(@PathVariable Long id,
                                                    @RequestBody java.util.Map<String, String> body,
                                                    HttpSession session) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         // se não houver usuário na sessão, tentar SecurityContext (autenticação)
         if (usuario == null) {
             org.springframework.security.core.Authentication authentication = org.springframework.security.core.context.SecurityContextHolder.getContext().getAuthentication();
             if (authentication != null && authentication.isAuthenticated() && !"anonymousUser".equals(authentication.getName())) {
                 String emailAut = authentication.getName();
-                usuario = usuarioService.buscarPorEmail(emailAut).orElse(null);
+                usuario = usuarioService.buscarPorEmail(emailAut).map(UsuarioSessao::de).orElse(null);
             }
         }
 
@@ -423,7 +435,7 @@ public class ListaWebController {
 
     @GetMapping("/{id}/editar")
     public String editarListaPage(@PathVariable Long id, HttpSession session, Model model, RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
@@ -450,7 +462,7 @@ public class ListaWebController {
                               @RequestParam String descricao,
                               HttpSession session,
                               RedirectAttributes redirectAttributes) {
-        Usuario usuario = (Usuario) session.getAttribute("usuarioLogado");
+        UsuarioSessao usuario = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
         if (usuario == null) {
             return "redirect:/balaio/login";
         }
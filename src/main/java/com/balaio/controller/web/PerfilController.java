@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import com.balaio.config.UsuarioSessao;
 import com.balaio.model.Usuario;
 import com.balaio.repository.UsuarioRepository;
 import com.balaio.service.UsuarioService;
@@ -58,6 +59,7 @@ public class PerfilController {
             @RequestParam(required = false) String novaSenha,
             @RequestParam(required = false) String confirmarSenha,
             Principal principal,
+            HttpSession session,
             RedirectAttributes redirectAttributes
     ) {
 
@@ -91,6 +93,8 @@ public class PerfilController {
         }
 
         usuarioRepository.save(usuario);
+        // A sessão guarda uma cópia imutável de nome e email: substitui pela atualizada
+        session.setAttribute(UsuarioSessao.ATRIBUTO, UsuarioSessao.de(usuario));
 
         redirectAttributes.addFlashAttribute("sucesso", "Perfil atualizado com sucesso!");
         return "redirect:/balaio/listas";
@@ -0,0 +1,42 @@
+package com.balaio.dto;
+
+import java.util.List;
+
+import com.balaio.model.Item;
+
+/**
+ * Alterações dos itens de uma lista desde a marca enviada pelo cliente: itens criados ou alterados
+ * e ids dos excluídos. marca deve ser reenviada na próxima sincronização.
+ * completo indica que itens traz a lista inteira (sem marca, ou marca mais antiga que a retenção das
+ * exclusões): o cliente substitui o que tem em vez de aplicar a diferença.
+ */
+public class AlteracoesItensDTO {
+
+    private final List<Item> itens;
+    private final List<Long> excluidos;
+    private final String marca;
+    private final boolean completo;
+
+    public AlteracoesItensDTO(List<Item> itens, List<Long> excluidos, String marca, boolean completo) {
+        this.itens = itens;
+        this.excluidos = excluidos;
+        this.marca = marca;
+        this.completo = completo;
+    }
+
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    public List<Long> getExcluidos() {
+        return excluidos;
+    }
+
+    public String getMarca() {
+        return marca;
+    }
+
+    public boolean isCompleto() {
+        return completo;
+    }
+}
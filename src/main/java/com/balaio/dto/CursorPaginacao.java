@@ -0,0 +1,43 @@
+package com.balaio.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica a chave da última linha de uma página (ex.: dataCriacao e id) em um token opaco
+ * para ser devolvido ao cliente e reenviado na próxima requisição.
+ */
+public final class CursorPaginacao {
+
+    private static final String SEPARADOR = ".";
+
+    private CursorPaginacao() {
+    }
+
+    public static String codificar(String... partes) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        StringBuilder token = new StringBuilder();
+        for (String parte : partes) {
+            if (token.length() > 0) {
+                token.append(SEPARADOR);
+            }
+            token.append(encoder.encodeToString(parte.getBytes(StandardCharsets.UTF_8)));
+        }
+        return token.toString();
+    }
+
+    /**
+     * @throws IllegalArgumentException se o token não tiver a quantidade de partes esperada
+     */
+    public static String[] decodificar(String token, int quantidadePartes) {
+        String[] partes = token.split("\\" + SEPARADOR, -1);
+        if (partes.length != quantidadePartes) {
+            throw new IllegalArgumentException("Cursor inválido");
+        }
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        for (int i = 0; i < partes.length; i++) {
+            partes[i] = new String(decoder.decode(partes[i]), StandardCharsets.UTF_8);
+        }
+        return partes;
+    }
+}
@@ -0,0 +1,80 @@
+package com.balaio.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.balaio.model.Item;
+
+/**
+ * Contagens e gastos dos itens de uma lista, montados a partir de uma consulta agrupada por status
+ * (e, opcionalmente, por unidade). gastoComprado soma valor × quantidade dos itens comprados;
+ * gastoEstimado soma todos os itens com valor.
+ */
+public class EstatisticasItensDTO {
+
+    private final String unidade;
+    private long pendentes;
+    private long comprados;
+    private BigDecimal gastoComprado = BigDecimal.ZERO;
+    private BigDecimal gastoEstimado = BigDecimal.ZERO;
+    private final List<EstatisticasItensDTO> porUnidade;
+
+    /**
+     * @param unidade    unidade do detalhamento (null no total da lista ou para itens sem unidade)
+     * @param porUnidade true para acumular também o detalhamento por unidade
+     */
+    public EstatisticasItensDTO(String unidade, boolean porUnidade) {
+        this.unidade = unidade;
+        this.porUnidade = porUnidade ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Acumula uma linha agregada (quantidade de itens e soma dos subtotais de um status).
+     */
+    public void somar(Item.StatusItem status, long quantidade, BigDecimal subtotal) {
+        BigDecimal valor = subtotal != null ? subtotal : BigDecimal.ZERO;
+        if (status == Item.StatusItem.COMPRADO) {
+            comprados += quantidade;
+            gastoComprado = gastoComprado.add(valor);
+        } else {
+            pendentes += quantidade;
+        }
+        gastoEstimado = gastoEstimado.add(valor);
+    }
+
+    public String getUnidade() {
+        return unidade;
+    }
+
+    public long getTotal() {
+        return pendentes + comprados;
+    }
+
+    public long getPendentes() {
+        return pendentes;
+    }
+
+    public long getComprados() {
+        return comprados;
+    }
+
+    public double getPercentualCompleto() {
+        return getTotal() > 0 ? (double) comprados / getTotal() * 100 : 0;
+    }
+
+    public BigDecimal getGastoComprado() {
+        return gastoComprado;
+    }
+
+    public BigDecimal getGastoEstimado() {
+        return gastoEstimado;
+    }
+
+    /**
+     * Detalhamento por unidade, ou null quando não solicitado.
+     */
+    public List<EstatisticasItensDTO> getPorUnidade() {
+        return porUnidade;
+    }
+}
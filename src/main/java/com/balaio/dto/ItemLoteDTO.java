@@ -0,0 +1,72 @@
+package com.balaio.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Uma linha do cadastro de itens em lote (POST /api/listas/{listaId}/itens/lote).
+ */
+public class ItemLoteDTO {
+
+    @NotBlank(message = "Nome do produto é obrigatório")
+    @Size(min = 1, max = 100, message = "Nome deve ter entre 1 e 100 caracteres")
+    private String nomeProduto;
+
+    @NotNull(message = "Quantidade é obrigatória")
+    @Min(value = 1, message = "Quantidade deve ser maior que zero")
+    private Integer quantidade;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Valor deve ser maior que zero")
+    private BigDecimal valor;
+
+    @Size(max = 10, message = "Unidade deve ter no máximo 10 caracteres")
+    private String unidade;
+
+    public ItemLoteDTO() {
+    }
+
+    public ItemLoteDTO(String nomeProduto, Integer quantidade, BigDecimal valor, String unidade) {
+        this.nomeProduto = nomeProduto;
+        this.quantidade = quantidade;
+        this.valor = valor;
+        this.unidade = unidade;
+    }
+
+    // Getters e Setters
+    public String getNomeProduto() {
+        return nomeProduto;
+    }
+
+    public void setNomeProduto(String nomeProduto) {
+        this.nomeProduto = nomeProduto;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public BigDecimal getValor() {
+        return valor;
+    }
+
+    public void setValor(BigDecimal valor) {
+        this.valor = valor;
+    }
+
+    public String getUnidade() {
+        return unidade;
+    }
+
+    public void setUnidade(String unidade) {
+        this.unidade = unidade;
+    }
+}
@@ -0,0 +1,29 @@
+package com.balaio.dto;
+
+import java.util.List;
+
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+
+/**
+ * Dados da página de detalhes: lista com proprietário e colaboradores já inicializados, mais os itens
+ * (mais recentes primeiro).
+ */
+public class ListaDetalheDTO {
+
+    private final Lista lista;
+    private final List<Item> itens;
+
+    public ListaDetalheDTO(Lista lista, List<Item> itens) {
+        this.lista = lista;
+        this.itens = itens;
+    }
+
+    public Lista getLista() {
+        return lista;
+    }
+
+    public List<Item> getItens() {
+        return itens;
+    }
+}
@@ -22,6 +22,19 @@ public class ListaGastoDTO {
         this.totalGasto = BigDecimal.ZERO;
     }
 
+    /**
+     * Usado pela projeção agregada de ListaRepository (uma linha por lista).
+     */
+    public ListaGastoDTO(Long listaId, String titulo, String descricao, BigDecimal totalGasto,
+                         Long quantidadeItens, Long quantidadeItensComprados) {
+        this.listaId = listaId;
+        this.titulo = titulo;
+        this.descricao = descricao;
+        this.totalGasto = totalGasto != null ? totalGasto : BigDecimal.ZERO;
+        this.quantidadeItens = quantidadeItens != null ? quantidadeItens.intValue() : 0;
+        this.quantidadeItensComprados = quantidadeItensComprados != null ? quantidadeItensComprados.intValue() : 0;
+    }
+
     // Getters e Setters
     public Long getListaId() {
         return listaId;
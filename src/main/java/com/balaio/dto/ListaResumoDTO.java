@@ -1,5 +1,7 @@
 package com.balaio.dto;
 
+import java.math.BigDecimal;
+
 public class ListaResumoDTO {
     private Long id;
     private String titulo;
@@ -7,6 +9,7 @@ public class ListaResumoDTO {
     private int totalItens;
     private int totalComprados;
     private boolean isProprietario;
+    private BigDecimal totalGasto = BigDecimal.ZERO;
 
     public ListaResumoDTO() {}
 
@@ -28,6 +31,20 @@ public class ListaResumoDTO {
         this.isProprietario = isProprietario;
     }
 
+    /**
+     * Usado pela consulta de resumo (ListaRepository.resumirListasPorUsuario).
+     */
+    public ListaResumoDTO(Long id, String titulo, String descricao, Long totalItens, Long totalComprados,
+                          Boolean isProprietario, BigDecimal totalGasto) {
+        this.id = id;
+        this.titulo = titulo;
+        this.descricao = descricao;
+        this.totalItens = totalItens != null ? totalItens.intValue() : 0;
+        this.totalComprados = totalComprados != null ? totalComprados.intValue() : 0;
+        this.isProprietario = Boolean.TRUE.equals(isProprietario);
+        this.totalGasto = totalGasto != null ? totalGasto : BigDecimal.ZERO;
+    }
+
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
     public String getTitulo() { return titulo; }
@@ -40,4 +57,6 @@ public class ListaResumoDTO {
     public void setTotalComprados(int totalComprados) { this.totalComprados = totalComprados; }
     public boolean isProprietario() { return isProprietario; }
     public void setProprietario(boolean proprietario) { isProprietario = proprietario; }
+    public BigDecimal getTotalGasto() { return totalGasto; }
+    public void setTotalGasto(BigDecimal totalGasto) { this.totalGasto = totalGasto; }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.balaio.dto;
+
+import com.balaio.model.Item;
+
+/**
+ * Operação feita no aplicativo sem conexão e enviada depois, em ordem, para
+ * POST /api/listas/{listaId}/itens/sincronizacao.
+ * CRIAR e ATUALIZAR levam os dados do item; ATUALIZAR, STATUS e EXCLUIR, o id do item.
+ * versao (opcional, só em ATUALIZAR) é a versão em que o cliente editou o item.
+ */
+public class OperacaoSincronizacaoDTO {
+
+    public enum Tipo {
+        CRIAR, ATUALIZAR, STATUS, EXCLUIR
+    }
+
+    private Tipo tipo;
+    private Long itemId;
+    private Long versao;
+    private Item.StatusItem status;
+    private ItemLoteDTO item;
+
+    public OperacaoSincronizacaoDTO() {
+    }
+
+    public static OperacaoSincronizacaoDTO criar(ItemLoteDTO item) {
+        OperacaoSincronizacaoDTO operacao = new OperacaoSincronizacaoDTO();
+        operacao.setTipo(Tipo.CRIAR);
+        operacao.setItem(item);
+        return operacao;
+    }
+
+    public static OperacaoSincronizacaoDTO atualizar(Long itemId, Long versao, ItemLoteDTO item) {
+        OperacaoSincronizacaoDTO operacao = new OperacaoSincronizacaoDTO();
+        operacao.setTipo(Tipo.ATUALIZAR);
+        operacao.setItemId(itemId);
+        operacao.setVersao(versao);
+        operacao.setItem(item);
+        return operacao;
+    }
+
+    public static OperacaoSincronizacaoDTO status(Long itemId, Item.StatusItem status) {
+        OperacaoSincronizacaoDTO operacao = new OperacaoSincronizacaoDTO();
+        operacao.setTipo(Tipo.STATUS);
+        operacao.setItemId(itemId);
+        operacao.setStatus(status);
+        return operacao;
+    }
+
+    public static OperacaoSincronizacaoDTO excluir(Long itemId) {
+        OperacaoSincronizacaoDTO operacao = new OperacaoSincronizacaoDTO();
+        operacao.setTipo(Tipo.EXCLUIR);
+        operacao.setItemId(itemId);
+        return operacao;
+    }
+
+    // Getters e Setters
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(Tipo tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public void setItemId(Long itemId) {
+        this.itemId = itemId;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public Item.StatusItem getStatus() {
+        return status;
+    }
+
+    public void setStatus(Item.StatusItem status) {
+        this.status = status;
+    }
+
+    public ItemLoteDTO getItem() {
+        return item;
+    }
+
+    public void setItem(ItemLoteDTO item) {
+        this.item = item;
+    }
+}
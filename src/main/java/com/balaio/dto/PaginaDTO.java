@@ -0,0 +1,33 @@
+package com.balaio.dto;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset).
+ * proximoCursor é nulo na última página.
+ */
+public class PaginaDTO<T> {
+
+    /** Cabeçalho HTTP com o cursor da próxima página; ausente na última página. */
+    public static final String HEADER_PROXIMO_CURSOR = "X-Proximo-Cursor";
+
+    private final List<T> itens;
+    private final String proximoCursor;
+
+    public PaginaDTO(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public boolean isTemMais() {
+        return proximoCursor != null;
+    }
+}
@@ -0,0 +1,67 @@
+package com.balaio.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.balaio.model.Item;
+
+/**
+ * Totais e barra de progresso da página de detalhes da lista, calculados sobre os itens já
+ * carregados. totalEstimado soma valor × quantidade dos itens comprados.
+ */
+public class ProgressoListaDTO {
+
+    private BigDecimal totalEstimado = BigDecimal.ZERO;
+    private long totalComprados;
+    private long totalPendentes;
+    private String percentualTexto;
+
+    public static ProgressoListaDTO de(List<Item> itens) {
+        ProgressoListaDTO progresso = new ProgressoListaDTO();
+        for (Item item : itens) {
+            if (item.getStatus() == Item.StatusItem.COMPRADO) {
+                progresso.totalComprados++;
+                if (item.getValor() != null && item.getQuantidade() != null) {
+                    progresso.totalEstimado = progresso.totalEstimado.add(
+                            item.getValor().multiply(BigDecimal.valueOf(item.getQuantidade())));
+                }
+            } else if (item.getStatus() == Item.StatusItem.PENDENTE) {
+                progresso.totalPendentes++;
+            }
+        }
+        progresso.percentualTexto = formatarPercentual(progresso.totalComprados, progresso.totalPendentes);
+        return progresso;
+    }
+
+    // "50", "33,3": sem casa decimal quando o percentual é inteiro
+    private static String formatarPercentual(long comprados, long pendentes) {
+        if (comprados + pendentes == 0) {
+            return "0";
+        }
+        double percentual = Math.min((comprados * 100.0) / (comprados + pendentes), 100.0);
+        if (percentual % 1 == 0) {
+            return String.format("%.0f", percentual);
+        }
+        return String.format("%.1f", percentual).replace(".", ",");
+    }
+
+    public BigDecimal getTotalEstimado() {
+        return totalEstimado;
+    }
+
+    public long getTotalComprados() {
+        return totalComprados;
+    }
+
+    public long getTotalPendentes() {
+        return totalPendentes;
+    }
+
+    public String getPercentualTexto() {
+        return percentualTexto;
+    }
+
+    public String getProgressoWidth() {
+        return percentualTexto + "%";
+    }
+}
@@ -0,0 +1,44 @@
+package com.balaio.dto;
+
+import com.balaio.model.Item;
+
+/**
+ * Resultado de uma linha do cadastro em lote: o item criado ou a mensagem de erro da validação.
+ * indice é a posição da linha na requisição.
+ */
+public class ResultadoLoteDTO {
+
+    private final int indice;
+    private final Item item;
+    private final String erro;
+
+    private ResultadoLoteDTO(int indice, Item item, String erro) {
+        this.indice = indice;
+        this.item = item;
+        this.erro = erro;
+    }
+
+    public static ResultadoLoteDTO criado(int indice, Item item) {
+        return new ResultadoLoteDTO(indice, item, null);
+    }
+
+    public static ResultadoLoteDTO falha(int indice, String erro) {
+        return new ResultadoLoteDTO(indice, null, erro);
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+
+    public boolean isSucesso() {
+        return item != null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.balaio.dto;
+
+import com.balaio.model.Item;
+
+/**
+ * Resultado de uma operação da sincronização offline. indice é a posição da operação na requisição.
+ * <ul>
+ * <li>APLICADA: item é o estado gravado (nulo em EXCLUIR);</li>
+ * <li>CONFLITO: o item mudou desde a versão informada; item é o estado atual e nada foi gravado;</li>
+ * <li>EXCLUIDO: o item não existe mais na lista, a operação foi descartada;</li>
+ * <li>ERRO: dados inválidos, com a mensagem em erro.</li>
+ * </ul>
+ */
+public class ResultadoSincronizacaoDTO {
+
+    public enum Situacao {
+        APLICADA, CONFLITO, EXCLUIDO, ERRO
+    }
+
+    private final int indice;
+    private final Situacao situacao;
+    private final Item item;
+    private final String erro;
+
+    public ResultadoSincronizacaoDTO(int indice, Situacao situacao, Item item, String erro) {
+        this.indice = indice;
+        this.situacao = situacao;
+        this.item = item;
+        this.erro = erro;
+    }
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public Situacao getSituacao() {
+        return situacao;
+    }
+
+    public Item getItem() {
+        return item;
+    }
+
+    public String getErro() {
+        return erro;
+    }
+}
@@ -0,0 +1,68 @@
+package com.balaio.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Validador HTTP (ETag) de uma lista. A versão muda com as edições da própria lista (título, descrição,
+ * colaboradores) e a revisão com as alterações dos itens. Nome e e-mail do proprietário e dos
+ * colaboradores também fazem parte da resposta, mas são editados no Usuario: entram pela última
+ * atualização entre eles e pela quantidade de colaboradores (que cai quando uma conta é excluída).
+ */
+public class VersaoListaDTO {
+
+    private final Long versao;
+    private final long revisao;
+    private final LocalDateTime dataAtualizacao;
+    private final long colaboradores;
+    private final LocalDateTime participantesAtualizacao;
+
+    /**
+     * Usado pela projeção de ListaRepository.buscarVersao; a atualização dos colaboradores é nula
+     * quando a lista não tem nenhum.
+     */
+    public VersaoListaDTO(Long versao, long revisao, LocalDateTime dataAtualizacao, long colaboradores,
+                          LocalDateTime proprietarioAtualizacao, LocalDateTime colaboradoresAtualizacao) {
+        this.versao = versao;
+        this.revisao = revisao;
+        this.dataAtualizacao = dataAtualizacao;
+        this.colaboradores = colaboradores;
+        this.participantesAtualizacao = maisRecente(proprietarioAtualizacao, colaboradoresAtualizacao);
+    }
+
+    /**
+     * ETag forte no formato "versao.revisao.colaboradores.participantes", com a última atualização
+     * dos participantes em microssegundos.
+     */
+    public String getEtag() {
+        long participantes = participantesAtualizacao != null
+                ? ChronoUnit.MICROS.between(Instant.EPOCH, instante(participantesAtualizacao))
+                : 0;
+        return "\"" + versao + "." + revisao + "." + colaboradores + "." + participantes + "\"";
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public long getRevisao() {
+        return revisao;
+    }
+
+    public LocalDateTime getDataAtualizacao() {
+        return dataAtualizacao;
+    }
+
+    private static LocalDateTime maisRecente(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    private static Instant instante(LocalDateTime data) {
+        return data.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,23 @@
+package com.balaio.event;
+
+/**
+ * Publicado quando um colaborador é adicionado ou removido de uma lista.
+ */
+public class ColaboradoresAlteradosEvent {
+
+    private final Long listaId;
+    private final Long usuarioId;
+
+    public ColaboradoresAlteradosEvent(Long listaId, Long usuarioId) {
+        this.listaId = listaId;
+        this.usuarioId = usuarioId;
+    }
+
+    public Long getListaId() {
+        return listaId;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+}
@@ -0,0 +1,121 @@
+package com.balaio.event;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+
+/**
+ * Publicado a cada alteração de itens ou dos dados de uma lista, com o delta já reduzido a valores
+ * simples: após o commit ele é repassado aos colaboradores conectados, sem tocar em entidades.
+ */
+public class ListaAlteradaEvent {
+
+    /**
+     * Tipos de alteração; também nomeiam os eventos SSE entregues aos colaboradores.
+     */
+    public enum Tipo {
+        ITEM_CRIADO,
+        ITENS_CRIADOS,
+        ITEM_ATUALIZADO,
+        ITEM_STATUS,
+        ITENS_STATUS,
+        ITEM_EXCLUIDO,
+        ITENS_EXCLUIDOS,
+        LISTA_ATUALIZADA,
+        LISTA_EXCLUIDA,
+        COLABORADORES;
+
+        /**
+         * Nome do evento SSE ("item-criado", "itens-status", ...).
+         */
+        public String getNomeEvento() {
+            return name().toLowerCase(Locale.ROOT).replace('_', '-');
+        }
+    }
+
+    private final Long listaId;
+    private final Tipo tipo;
+    private final Map<String, Object> dados;
+
+    public ListaAlteradaEvent(Long listaId, Tipo tipo, Map<String, Object> dados) {
+        this.listaId = listaId;
+        this.tipo = tipo;
+        this.dados = dados;
+    }
+
+    public static ListaAlteradaEvent itemCriado(Item item) {
+        return new ListaAlteradaEvent(item.getLista().getId(), Tipo.ITEM_CRIADO, delta(item));
+    }
+
+    public static ListaAlteradaEvent itensCriados(Long listaId, List<Item> itens) {
+        return new ListaAlteradaEvent(listaId, Tipo.ITENS_CRIADOS,
+                Map.of("itens", itens.stream().map(ListaAlteradaEvent::delta).toList()));
+    }
+
+    public static ListaAlteradaEvent itemAtualizado(Item item) {
+        return new ListaAlteradaEvent(item.getLista().getId(), Tipo.ITEM_ATUALIZADO, delta(item));
+    }
+
+    public static ListaAlteradaEvent itemStatus(Long listaId, Long itemId, Item.StatusItem status, Long versao) {
+        return new ListaAlteradaEvent(listaId, Tipo.ITEM_STATUS,
+                Map.of("id", itemId, "status", status.name(), "versao", versao));
+    }
+
+    public static ListaAlteradaEvent itensStatus(Long listaId, Collection<Long> ids, Item.StatusItem status) {
+        return new ListaAlteradaEvent(listaId, Tipo.ITENS_STATUS,
+                Map.of("ids", List.copyOf(ids), "status", status.name()));
+    }
+
+    /**
+     * Todos os itens da lista passaram para o status (alteração da lista inteira, sem os ids).
+     */
+    public static ListaAlteradaEvent todosStatus(Long listaId, Item.StatusItem status) {
+        return new ListaAlteradaEvent(listaId, Tipo.ITENS_STATUS, Map.of("todos", true, "status", status.name()));
+    }
+
+    public static ListaAlteradaEvent itemExcluido(Long listaId, Long itemId) {
+        return new ListaAlteradaEvent(listaId, Tipo.ITEM_EXCLUIDO, Map.of("id", itemId));
+    }
+
+    public static ListaAlteradaEvent itensExcluidos(Long listaId, Collection<Long> ids) {
+        return new ListaAlteradaEvent(listaId, Tipo.ITENS_EXCLUIDOS, Map.of("ids", List.copyOf(ids)));
+    }
+
+    public static ListaAlteradaEvent listaAtualizada(Lista lista) {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("titulo", lista.getTitulo());
+        dados.put("descricao", lista.getDescricao());
+        dados.put("versao", lista.getVersao());
+        return new ListaAlteradaEvent(lista.getId(), Tipo.LISTA_ATUALIZADA, dados);
+    }
+
+    // Map.of não aceita nulos (valor e unidade são opcionais)
+    private static Map<String, Object> delta(Item item) {
+        Map<String, Object> dados = new LinkedHashMap<>();
+        dados.put("id", item.getId());
+        dados.put("nomeProduto", item.getNomeProduto());
+        dados.put("quantidade", item.getQuantidade());
+        dados.put("valor", item.getValor());
+        dados.put("unidade", item.getUnidade());
+        dados.put("status", item.getStatus().name());
+        dados.put("versao", item.getVersao());
+        return dados;
+    }
+
+    public Long getListaId() {
+        return listaId;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public Map<String, Object> getDados() {
+        return dados;
+    }
+}
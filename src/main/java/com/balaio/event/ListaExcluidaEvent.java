@@ -0,0 +1,17 @@
+package com.balaio.event;
+
+/**
+ * Publicado quando uma lista é excluída.
+ */
+public class ListaExcluidaEvent {
+
+    private final Long listaId;
+
+    public ListaExcluidaEvent(Long listaId) {
+        this.listaId = listaId;
+    }
+
+    public Long getListaId() {
+        return listaId;
+    }
+}
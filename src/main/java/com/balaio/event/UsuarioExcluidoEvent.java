@@ -0,0 +1,17 @@
+package com.balaio.event;
+
+/**
+ * Publicado quando uma conta de usuário é excluída.
+ */
+public class UsuarioExcluidoEvent {
+
+    private final Long usuarioId;
+
+    public UsuarioExcluidoEvent(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+}
@@ -3,6 +3,8 @@ package com.balaio.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -11,22 +13,30 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "itens")
+@Table(name = "itens", indexes = {
+        @Index(name = "idx_itens_lista_criacao", columnList = "lista_id, data_criacao, id"),
+        @Index(name = "idx_itens_lista_status_criacao", columnList = "lista_id, status, data_criacao, id"),
+        @Index(name = "idx_itens_lista_atualizacao", columnList = "lista_id, data_atualizacao")
+})
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "itens_seq")
+    @SequenceGenerator(name = "itens_seq", sequenceName = "itens_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome do produto é obrigatório")
@@ -60,6 +70,12 @@ public class Item {
     @JoinColumn(name = "lista_id", nullable = false)
     private Lista lista;
 
+    // Controle de concorrência otimista: incrementada a cada alteração, inclusive pelos UPDATEs em massa
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     public enum StatusItem {
         PENDENTE, COMPRADO
     }
@@ -150,6 +166,14 @@ public class Item {
         this.lista = lista;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
     public String getUnidade() {
         return unidade;
     }
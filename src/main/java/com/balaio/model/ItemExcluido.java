@@ -0,0 +1,59 @@
+package com.balaio.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Registro da exclusão de um item, para que clientes que sincronizam por diferença (modo offline)
+ * também removam o item. Gravado pelos INSERTs de ItemExcluidoRepository junto com o DELETE do item.
+ */
+@Entity
+@Table(name = "itens_excluidos", indexes = {
+        @Index(name = "idx_itens_excluidos_lista_exclusao", columnList = "lista_id, data_exclusao"),
+        @Index(name = "idx_itens_excluidos_exclusao", columnList = "data_exclusao")
+})
+public class ItemExcluido {
+
+    // Mesmo id do item excluído
+    @Id
+    private Long id;
+
+    @Column(name = "lista_id", nullable = false)
+    private Long listaId;
+
+    @Column(name = "data_exclusao", nullable = false)
+    private LocalDateTime dataExclusao;
+
+    public ItemExcluido() {
+    }
+
+    // Getters e Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getListaId() {
+        return listaId;
+    }
+
+    public void setListaId(Long listaId) {
+        this.listaId = listaId;
+    }
+
+    public LocalDateTime getDataExclusao() {
+        return dataExclusao;
+    }
+
+    public void setDataExclusao(LocalDateTime dataExclusao) {
+        this.dataExclusao = dataExclusao;
+    }
+}
@@ -3,15 +3,25 @@ package com.balaio.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.ColumnDefault;
+
 @Entity
-@Table(name = "listas")
+@Table(name = "listas", indexes = {
+        @Index(name = "idx_listas_proprietario_atualizacao", columnList = "proprietario_id, data_atualizacao, id"),
+        @Index(name = "idx_listas_proprietario_titulo", columnList = "proprietario_id, titulo, id")
+})
+// Fora do cache de segundo nível: toda alteração de item ajusta os contadores com um UPDATE em massa
+// (ListaRepository.ajustarContadores), e o Hibernate descarta a região inteira da entidade e das suas
+// coleções a cada UPDATE em massa, não só a lista alterada.
 public class Lista {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "listas_seq")
+    @SequenceGenerator(name = "listas_seq", sequenceName = "listas_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Título é obrigatório")
@@ -36,13 +46,48 @@ public class Lista {
     @JoinTable(
         name = "lista_colaboradores",
         joinColumns = @JoinColumn(name = "lista_id"),
-        inverseJoinColumns = @JoinColumn(name = "usuario_id")
+        inverseJoinColumns = @JoinColumn(name = "usuario_id"),
+        indexes = {
+            @Index(name = "idx_lista_colaboradores_usuario", columnList = "usuario_id, lista_id"),
+            @Index(name = "idx_lista_colaboradores_lista", columnList = "lista_id")
+        }
     )
     private List<Usuario> colaboradores;
 
     @OneToMany(mappedBy = "lista", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Item> itens;
 
+    // Contadores desnormalizados, mantidos por ItemService via ListaRepository.ajustarContadores.
+    // updatable = false: nunca são regravados a partir da entidade (evita sobrescrever incrementos concorrentes).
+    @ColumnDefault("0")
+    @Column(name = "total_itens", nullable = false, updatable = false)
+    private long totalItens;
+
+    @ColumnDefault("0")
+    @Column(name = "itens_comprados", nullable = false, updatable = false)
+    private long itensComprados;
+
+    @ColumnDefault("0")
+    @Column(name = "itens_pendentes", nullable = false, updatable = false)
+    private long itensPendentes;
+
+    @ColumnDefault("0")
+    @Column(name = "total_gasto", precision = 14, scale = 2, nullable = false, updatable = false)
+    private BigDecimal totalGasto = BigDecimal.ZERO;
+
+    // Avança a cada ajuste de contadores, isto é, a cada alteração de item da lista; com a versão,
+    // identifica o estado exibido em GET /api/listas/{id} e nos itens (ETag).
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long revisao;
+
+    // Controle de concorrência otimista das edições (título, descrição, colaboradores); os contadores
+    // acima são ajustados por UPDATE relativo e não mudam a versão.
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     public Lista() {
     }
 
@@ -127,4 +172,52 @@ public class Lista {
     public void setItens(List<Item> itens) {
         this.itens = itens;
     }
-}
\ No newline at end of file
+
+    public long getRevisao() {
+        return revisao;
+    }
+
+    public void setRevisao(long revisao) {
+        this.revisao = revisao;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+
+    public long getTotalItens() {
+        return totalItens;
+    }
+
+    public void setTotalItens(long totalItens) {
+        this.totalItens = totalItens;
+    }
+
+    public long getItensComprados() {
+        return itensComprados;
+    }
+
+    public void setItensComprados(long itensComprados) {
+        this.itensComprados = itensComprados;
+    }
+
+    public long getItensPendentes() {
+        return itensPendentes;
+    }
+
+    public void setItensPendentes(long itensPendentes) {
+        this.itensPendentes = itensPendentes;
+    }
+
+    public BigDecimal getTotalGasto() {
+        return totalGasto;
+    }
+
+    public void setTotalGasto(BigDecimal totalGasto) {
+        this.totalGasto = totalGasto;
+    }
+}
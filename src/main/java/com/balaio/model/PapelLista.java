@@ -0,0 +1,12 @@
+package com.balaio.model;
+
+/**
+ * Papel de um usuário em relação a uma lista.
+ */
+public enum PapelLista {
+    PROPRIETARIO, COLABORADOR, NENHUM;
+
+    public boolean temAcesso() {
+        return this != NENHUM;
+    }
+}
@@ -6,13 +6,25 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Entity
 @Table(name = "usuarios")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Usuario.REGIAO_CACHE)
+@NaturalIdCache(region = Usuario.REGIAO_CACHE_EMAIL)
 public class Usuario {
 
+    public static final String REGIAO_CACHE = "usuarios";
+    public static final String REGIAO_CACHE_EMAIL = "usuarios-email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuarios_seq")
+    @SequenceGenerator(name = "usuarios_seq", sequenceName = "usuarios_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -22,6 +34,8 @@ public class Usuario {
 
     @NotBlank(message = "E-mail é obrigatório")
     @Email(message = "E-mail deve ter um formato válido")
+    // Guardado em minúsculas: chave natural exata para a busca por e-mail (cache de natural id)
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -47,7 +61,7 @@ public class Usuario {
 
     public Usuario(String nomeCompleto, String email, String senha) {
         this.nomeCompleto = nomeCompleto;
-        this.email = email;
+        this.email = normalizarEmail(email);
         this.senha = senha;
     }
 
@@ -84,7 +98,11 @@ public class Usuario {
     }
 
     public void setEmail(String email) {
-        this.email = email;
+        this.email = normalizarEmail(email);
+    }
+
+    public static String normalizarEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
     }
 
     public String getSenha() {
@@ -0,0 +1,47 @@
+package com.balaio.repository;
+
+import com.balaio.model.ItemExcluido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemExcluidoRepository extends JpaRepository<ItemExcluido, Long> {
+
+    /**
+     * Registra a exclusão de um item; chamado depois do DELETE do item ter removido a linha.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ItemExcluido (id, listaId, dataExclusao) VALUES (:id, :listaId, :agora)")
+    int registrar(@Param("id") Long id, @Param("listaId") Long listaId, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Registra em um único INSERT ... SELECT a exclusão dos itens informados da lista; deve ser chamado
+     * antes do DELETE, com as linhas já travadas.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ItemExcluido (id, listaId, dataExclusao) " +
+           "SELECT i.id, i.lista.id, :agora FROM Item i WHERE i.lista.id = :listaId AND i.id IN :ids")
+    int registrarPorIds(@Param("listaId") Long listaId,
+                        @Param("ids") Collection<Long> ids,
+                        @Param("agora") LocalDateTime agora);
+
+    /**
+     * Ids dos itens da lista excluídos após o instante informado (índice lista_id, data_exclusao).
+     */
+    @Query("SELECT e.id FROM ItemExcluido e WHERE e.listaId = :listaId AND e.dataExclusao > :desde ORDER BY e.id")
+    List<Long> buscarIdsExcluidosDesde(@Param("listaId") Long listaId, @Param("desde") LocalDateTime desde);
+
+    /**
+     * Remove os registros anteriores ao prazo de retenção.
+     */
+    @Modifying
+    @Query("DELETE FROM ItemExcluido e WHERE e.dataExclusao < :limite")
+    int excluirAnterioresA(@Param("limite") LocalDateTime limite);
+}
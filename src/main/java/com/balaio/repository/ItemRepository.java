@@ -2,13 +2,21 @@ package com.balaio.repository;
 
 import com.balaio.model.Item;
 import com.balaio.model.Lista;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     
@@ -23,4 +31,178 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByListaIdOrderByDataCriacaoDesc(@Param("listaId") Long listaId);
     
     long countByListaIdAndStatus(Long listaId, Item.StatusItem status);
-}
\ No newline at end of file
+
+    /**
+     * Primeira página dos itens da lista, do mais recente para o mais antigo.
+     * Percorre o índice (lista_id, data_criacao, id) e para em {@code limite} linhas.
+     */
+    @Query("SELECT i FROM Item i WHERE i.lista.id = :listaId ORDER BY i.dataCriacao DESC, i.id DESC")
+    List<Item> buscarPrimeiraPagina(@Param("listaId") Long listaId, Limit limite);
+
+    /**
+     * Página seguinte à chave (dataCriacao, id) da última linha entregue.
+     */
+    @Query("SELECT i FROM Item i WHERE i.lista.id = :listaId " +
+           "AND (i.dataCriacao < :dataCriacao OR (i.dataCriacao = :dataCriacao AND i.id < :id)) " +
+           "ORDER BY i.dataCriacao DESC, i.id DESC")
+    List<Item> buscarPaginaApos(@Param("listaId") Long listaId,
+                                @Param("dataCriacao") LocalDateTime dataCriacao,
+                                @Param("id") Long id,
+                                Limit limite);
+
+    @Query("SELECT i FROM Item i WHERE i.lista.id = :listaId AND i.status = :status " +
+           "ORDER BY i.dataCriacao DESC, i.id DESC")
+    List<Item> buscarPrimeiraPaginaPorStatus(@Param("listaId") Long listaId,
+                                             @Param("status") Item.StatusItem status,
+                                             Limit limite);
+
+    @Query("SELECT i FROM Item i WHERE i.lista.id = :listaId AND i.status = :status " +
+           "AND (i.dataCriacao < :dataCriacao OR (i.dataCriacao = :dataCriacao AND i.id < :id)) " +
+           "ORDER BY i.dataCriacao DESC, i.id DESC")
+    List<Item> buscarPaginaPorStatusApos(@Param("listaId") Long listaId,
+                                         @Param("status") Item.StatusItem status,
+                                         @Param("dataCriacao") LocalDateTime dataCriacao,
+                                         @Param("id") Long id,
+                                         Limit limite);
+
+    /**
+     * Itens da lista criados ou alterados após o instante informado (índice lista_id, data_atualizacao):
+     * o custo acompanha a quantidade de alterações, não o tamanho da lista.
+     */
+    @Query("SELECT i FROM Item i WHERE i.lista.id = :listaId AND i.dataAtualizacao > :desde " +
+           "ORDER BY i.dataAtualizacao, i.id")
+    List<Item> buscarAlteradosDesde(@Param("listaId") Long listaId, @Param("desde") LocalDateTime desde);
+
+    /**
+     * SUM(valor × quantidade) dos itens COMPRADOS de uma lista, calculado no banco.
+     */
+    @Query("SELECT COALESCE(SUM(i.valor * i.quantidade), 0) FROM Item i " +
+           "WHERE i.lista.id = :listaId AND i.status = com.balaio.model.Item$StatusItem.COMPRADO")
+    BigDecimal somarGastoPorLista(@Param("listaId") Long listaId);
+
+    /**
+     * SUM(valor × quantidade) dos itens COMPRADOS de todas as listas do usuário
+     * (próprias e compartilhadas com ele), em uma única consulta.
+     */
+    @Query("SELECT COALESCE(SUM(i.valor * i.quantidade), 0) FROM Item i " +
+           "WHERE i.status = com.balaio.model.Item$StatusItem.COMPRADO " +
+           "AND i.lista.id IN (" + ListaRepository.IDS_LISTAS_ACESSIVEIS + ")")
+    BigDecimal somarGastoPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    /**
+     * Troca o status apenas se o item ainda estiver na versão lida (compare-and-set), incrementando a versão.
+     * Retorna 0 quando outra transação alterou o item nesse meio tempo.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :novoStatus, i.dataAtualizacao = :agora, i.versao = i.versao + 1 " +
+           "WHERE i.id = :id AND i.versao = :versao")
+    int alterarStatus(@Param("id") Long id,
+                      @Param("versao") Long versao,
+                      @Param("novoStatus") Item.StatusItem novoStatus,
+                      @Param("agora") LocalDateTime agora);
+
+    /**
+     * Grava a edição do item apenas se ele ainda estiver na versão lida (compare-and-set), incrementando a versão.
+     * Retorna 0 quando outra transação alterou o item nesse meio tempo: diferente do saveAndFlush, o conflito não
+     * sai do repositório como exceção, que marcaria para rollback a transação de quem chamou.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.nomeProduto = :nomeProduto, i.quantidade = :quantidade, i.valor = :valor, " +
+           "i.unidade = :unidade, i.dataAtualizacao = :agora, i.versao = i.versao + 1 " +
+           "WHERE i.id = :id AND i.versao = :versao")
+    int atualizarDados(@Param("id") Long id,
+                       @Param("versao") Long versao,
+                       @Param("nomeProduto") String nomeProduto,
+                       @Param("quantidade") Integer quantidade,
+                       @Param("valor") BigDecimal valor,
+                       @Param("unidade") String unidade,
+                       @Param("agora") LocalDateTime agora);
+
+    /**
+     * Exclui o item apenas se ele ainda estiver na versão lida, para que o ajuste dos contadores da lista
+     * corresponda exatamente à linha removida (status e subtotal).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Item i WHERE i.id = :id AND i.versao = :versao")
+    int excluirSeVersao(@Param("id") Long id, @Param("versao") Long versao);
+
+    /**
+     * [status, quantidade de itens, soma de valor × quantidade] dos itens da lista, uma linha por status.
+     */
+    @Query("SELECT i.status, COUNT(i), COALESCE(SUM(i.valor * i.quantidade), 0) FROM Item i " +
+           "WHERE i.lista.id = :listaId GROUP BY i.status")
+    List<Object[]> agruparPorStatus(@Param("listaId") Long listaId);
+
+    /**
+     * Como agruparPorStatus, com a unidade na primeira coluna: [unidade, status, quantidade, soma].
+     */
+    @Query("SELECT i.unidade, i.status, COUNT(i), COALESCE(SUM(i.valor * i.quantidade), 0) FROM Item i " +
+           "WHERE i.lista.id = :listaId GROUP BY i.unidade, i.status ORDER BY i.unidade")
+    List<Object[]> agruparPorUnidadeEStatus(@Param("listaId") Long listaId);
+
+    /**
+     * Trava (SELECT ... FOR UPDATE) os itens da lista que estão no status informado e devolve
+     * [id, valor × quantidade] de cada um. A ordem por id evita deadlock entre operações em massa.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id, COALESCE(i.valor * i.quantidade, 0) FROM Item i " +
+           "WHERE i.lista.id = :listaId AND i.status = :status ORDER BY i.id")
+    List<Object[]> travarPorStatus(@Param("listaId") Long listaId, @Param("status") Item.StatusItem status);
+
+    /**
+     * Como travarPorStatus, restrito aos ids informados (ids de outras listas são ignorados).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id, COALESCE(i.valor * i.quantidade, 0) FROM Item i " +
+           "WHERE i.lista.id = :listaId AND i.status = :status AND i.id IN :ids ORDER BY i.id")
+    List<Object[]> travarPorIdsEStatus(@Param("listaId") Long listaId,
+                                       @Param("ids") Collection<Long> ids,
+                                       @Param("status") Item.StatusItem status);
+
+    /**
+     * Trava os itens informados da lista, qualquer que seja o status, e devolve os ids encontrados
+     * (ids de outras listas ou já excluídos ficam de fora).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i.id FROM Item i WHERE i.lista.id = :listaId AND i.id IN :ids ORDER BY i.id")
+    List<Long> travarPorIds(@Param("listaId") Long listaId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Troca o status de todos os itens da lista que estão em :statusAtual, em um único UPDATE sem
+     * parâmetros por item (índice lista_id, status).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :novoStatus, i.dataAtualizacao = :agora, i.versao = i.versao + 1 " +
+           "WHERE i.lista.id = :listaId AND i.status = :statusAtual")
+    int alterarStatusPorLista(@Param("listaId") Long listaId,
+                              @Param("statusAtual") Item.StatusItem statusAtual,
+                              @Param("novoStatus") Item.StatusItem novoStatus,
+                              @Param("agora") LocalDateTime agora);
+
+    /**
+     * Troca o status de vários itens da lista em um único UPDATE; um parâmetro por id, então os ids
+     * devem vir em blocos limitados.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Item i SET i.status = :novoStatus, i.dataAtualizacao = :agora, i.versao = i.versao + 1 " +
+           "WHERE i.lista.id = :listaId AND i.id IN :ids AND i.status = :statusAtual")
+    int alterarStatusEmMassa(@Param("listaId") Long listaId,
+                             @Param("ids") Collection<Long> ids,
+                             @Param("statusAtual") Item.StatusItem statusAtual,
+                             @Param("novoStatus") Item.StatusItem novoStatus,
+                             @Param("agora") LocalDateTime agora);
+
+    /**
+     * Exclui os itens informados da lista em um único DELETE.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Item i WHERE i.lista.id = :listaId AND i.id IN :ids")
+    int excluirPorIds(@Param("listaId") Long listaId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Exclui todos os itens da lista sem carregá-los.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Item i WHERE i.lista.id = :listaId")
+    int excluirPorLista(@Param("listaId") Long listaId);
+}
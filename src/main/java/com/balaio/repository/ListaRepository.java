@@ -1,22 +1,62 @@
 package com.balaio.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.balaio.dto.ListaGastoDTO;
+import com.balaio.dto.ListaResumoDTO;
+import com.balaio.dto.VersaoListaDTO;
 import com.balaio.model.Lista;
 import com.balaio.model.Usuario;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface ListaRepository extends JpaRepository<Lista, Long> {
-    
+
+    /**
+     * Subconsulta com os ids das listas acessíveis a :usuarioId (próprias UNION compartilhadas).
+     * Cada ramo usa o próprio índice (listas.proprietario_id e lista_colaboradores.usuario_id);
+     * um OR entre as duas condições levaria o banco a varrer a tabela listas inteira.
+     */
+    String IDS_LISTAS_ACESSIVEIS =
+            "SELECT lp.id FROM Lista lp WHERE lp.proprietario.id = :usuarioId " +
+            "UNION SELECT lc.id FROM Lista lc JOIN lc.colaboradores c WHERE c.id = :usuarioId";
+
+    /**
+     * Como IDS_LISTAS_ACESSIVEIS, mas com os ramos ligados por :proprias e :compartilhadas.
+     */
+    String IDS_LISTAS_FILTRADAS =
+            "SELECT lp.id FROM Lista lp WHERE :proprias = true AND lp.proprietario.id = :usuarioId " +
+            "UNION SELECT lc.id FROM Lista lc JOIN lc.colaboradores c " +
+            "WHERE :compartilhadas = true AND c.id = :usuarioId";
+
+    /**
+     * Atribuições dos contadores da lista recontados a partir dos itens.
+     */
+    String CONTADORES_RECALCULADOS =
+            "l.totalItens = (SELECT COUNT(i) FROM Item i WHERE i.lista.id = l.id), " +
+            "l.itensComprados = (SELECT COUNT(i) FROM Item i WHERE i.lista.id = l.id " +
+            "AND i.status = com.balaio.model.Item$StatusItem.COMPRADO), " +
+            "l.itensPendentes = (SELECT COUNT(i) FROM Item i WHERE i.lista.id = l.id " +
+            "AND i.status = com.balaio.model.Item$StatusItem.PENDENTE), " +
+            "l.totalGasto = (SELECT COALESCE(SUM(i.valor * i.quantidade), 0) FROM Item i WHERE i.lista.id = l.id " +
+            "AND i.status = com.balaio.model.Item$StatusItem.COMPRADO)";
+
     List<Lista> findByProprietario(Usuario proprietario);
     
-    @Query("SELECT l FROM Lista l WHERE l.proprietario = :usuario OR :usuario MEMBER OF l.colaboradores")
-    List<Lista> findListasAcessiveisPorUsuario(@Param("usuario") Usuario usuario);
+    @Query("SELECT l FROM Lista l WHERE l.id IN (" + IDS_LISTAS_ACESSIVEIS + ")")
+    List<Lista> findListasAcessiveisPorUsuario(@Param("usuarioId") Long usuarioId);
     
     @Query("SELECT l FROM Lista l WHERE l.proprietario.id = :usuarioId")
     List<Lista> findByProprietarioId(@Param("usuarioId") Long usuarioId);
@@ -24,6 +64,190 @@ public interface ListaRepository extends JpaRepository<Lista, Long> {
     @Query("SELECT l FROM Lista l JOIN l.colaboradores c WHERE c.id = :usuarioId")
     List<Lista> findListasCompartilhadasComUsuario(@Param("usuarioId") Long usuarioId);
 
+    // Páginas de listas por cursor (keyset). "proprias" e "compartilhadas" selecionam o filtro
+    // (ambos true = todas as listas acessíveis). O proprietário vem no mesmo SELECT; os colaboradores
+    // da página são carregados em seguida por carregarColaboradores.
+
+    @Query("SELECT l FROM Lista l JOIN FETCH l.proprietario " +
+           "WHERE l.id IN (" + IDS_LISTAS_FILTRADAS + ") " +
+           "ORDER BY l.dataAtualizacao DESC, l.id DESC")
+    List<Lista> buscarPaginaPorAtualizacao(@Param("usuarioId") Long usuarioId,
+                                           @Param("proprias") boolean proprias,
+                                           @Param("compartilhadas") boolean compartilhadas,
+                                           Limit limite);
+
+    @Query("SELECT l FROM Lista l JOIN FETCH l.proprietario " +
+           "WHERE l.id IN (" + IDS_LISTAS_FILTRADAS + ") " +
+           "AND (l.dataAtualizacao < :dataAtualizacao OR (l.dataAtualizacao = :dataAtualizacao AND l.id < :id)) " +
+           "ORDER BY l.dataAtualizacao DESC, l.id DESC")
+    List<Lista> buscarPaginaPorAtualizacaoApos(@Param("usuarioId") Long usuarioId,
+                                               @Param("proprias") boolean proprias,
+                                               @Param("compartilhadas") boolean compartilhadas,
+                                               @Param("dataAtualizacao") LocalDateTime dataAtualizacao,
+                                               @Param("id") Long id,
+                                               Limit limite);
+
+    @Query("SELECT l FROM Lista l JOIN FETCH l.proprietario " +
+           "WHERE l.id IN (" + IDS_LISTAS_FILTRADAS + ") " +
+           "ORDER BY l.titulo ASC, l.id ASC")
+    List<Lista> buscarPaginaPorTitulo(@Param("usuarioId") Long usuarioId,
+                                      @Param("proprias") boolean proprias,
+                                      @Param("compartilhadas") boolean compartilhadas,
+                                      Limit limite);
+
+    @Query("SELECT l FROM Lista l JOIN FETCH l.proprietario " +
+           "WHERE l.id IN (" + IDS_LISTAS_FILTRADAS + ") " +
+           "AND (l.titulo > :titulo OR (l.titulo = :titulo AND l.id > :id)) " +
+           "ORDER BY l.titulo ASC, l.id ASC")
+    List<Lista> buscarPaginaPorTituloApos(@Param("usuarioId") Long usuarioId,
+                                          @Param("proprias") boolean proprias,
+                                          @Param("compartilhadas") boolean compartilhadas,
+                                          @Param("titulo") String titulo,
+                                          @Param("id") Long id,
+                                          Limit limite);
+
+    /**
+     * Inicializa os colaboradores das listas informadas (já gerenciadas) em uma única consulta.
+     */
+    @Query("SELECT DISTINCT l FROM Lista l LEFT JOIN FETCH l.colaboradores WHERE l IN :listas")
+    List<Lista> carregarColaboradores(@Param("listas") List<Lista> listas);
+
+    /**
+     * Lista com proprietário e colaboradores em um único SELECT (detalhes da lista).
+     */
+    @Query("SELECT DISTINCT l FROM Lista l JOIN FETCH l.proprietario LEFT JOIN FETCH l.colaboradores " +
+           "WHERE l.id = :id")
+    Optional<Lista> buscarComProprietarioEColaboradores(@Param("id") Long id);
+
+    /**
+     * Papel do usuário na lista (PROPRIETARIO, COLABORADOR ou NENHUM) sem carregar a entidade:
+     * um EXISTS sobre listas.proprietario_id e outro sobre lista_colaboradores.
+     */
+    @Query(value = "SELECT CASE " +
+           "WHEN EXISTS (SELECT 1 FROM listas l WHERE l.id = :listaId AND l.proprietario_id = :usuarioId) THEN 'PROPRIETARIO' " +
+           "WHEN EXISTS (SELECT 1 FROM lista_colaboradores lc WHERE lc.lista_id = :listaId AND lc.usuario_id = :usuarioId) THEN 'COLABORADOR' " +
+           "ELSE 'NENHUM' END", nativeQuery = true)
+    String buscarPapel(@Param("listaId") Long listaId, @Param("usuarioId") Long usuarioId);
+
     @Query("SELECT COUNT(DISTINCT l) FROM Lista l JOIN l.colaboradores c WHERE l.proprietario.id = :ownerId AND c.id <> :ownerId")
     long countListasCompartilhadasPorProprietario(@Param("ownerId") Long ownerId);
-}
\ No newline at end of file
+
+    /**
+     * Gasto (SUM(valor × quantidade) dos itens COMPRADOS) e contagem de itens por lista,
+     * para todas as listas acessíveis ao usuário, em uma única consulta agrupada.
+     */
+    @Query("SELECT new com.balaio.dto.ListaGastoDTO(l.id, l.titulo, l.descricao, " +
+           "COALESCE(SUM(CASE WHEN i.status = com.balaio.model.Item$StatusItem.COMPRADO THEN i.valor * i.quantidade END), 0), " +
+           "COUNT(i), " +
+           "COALESCE(SUM(CASE WHEN i.status = com.balaio.model.Item$StatusItem.COMPRADO THEN 1 ELSE 0 END), 0)) " +
+           "FROM Lista l LEFT JOIN l.itens i " +
+           "WHERE l.id IN (" + IDS_LISTAS_ACESSIVEIS + ") " +
+           "GROUP BY l.id, l.titulo, l.descricao " +
+           "ORDER BY l.id")
+    List<ListaGastoDTO> resumirGastosPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    /**
+     * Resumo dos cartões de lista (total de itens, comprados, gasto e se o usuário é o proprietário)
+     * lido diretamente dos contadores desnormalizados de cada lista acessível ao usuário.
+     */
+    @Query("SELECT new com.balaio.dto.ListaResumoDTO(l.id, l.titulo, l.descricao, " +
+           "l.totalItens, l.itensComprados, " +
+           "CASE WHEN l.proprietario.id = :usuarioId THEN true ELSE false END, " +
+           "l.totalGasto) " +
+           "FROM Lista l " +
+           "WHERE l.id IN (" + IDS_LISTAS_ACESSIVEIS + ") " +
+           "ORDER BY l.id")
+    List<ListaResumoDTO> resumirListasPorUsuario(@Param("usuarioId") Long usuarioId);
+
+    /**
+     * Grava título e descrição apenas se a lista ainda estiver na versão lida (compare-and-set), como
+     * ItemRepository.atualizarDados: retorna 0 no conflito em vez de lançar exceção, que marcaria para
+     * rollback a transação de quem chamou.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Lista l SET l.titulo = :titulo, l.descricao = :descricao, l.dataAtualizacao = :agora, " +
+           "l.versao = l.versao + 1 WHERE l.id = :id AND l.versao = :versao")
+    int atualizarDados(@Param("id") Long id,
+                       @Param("versao") Long versao,
+                       @Param("titulo") String titulo,
+                       @Param("descricao") String descricao,
+                       @Param("agora") LocalDateTime agora);
+
+    /**
+     * Aplica incrementos (positivos ou negativos) aos contadores da lista em um único UPDATE,
+     * de forma que alterações concorrentes se somem em vez de se sobrescreverem. Também avança a
+     * revisão da lista, que invalida os ETags da lista e dos seus itens.
+     */
+    @Modifying
+    @Query("UPDATE Lista l SET l.totalItens = l.totalItens + :itens, " +
+           "l.itensComprados = l.itensComprados + :comprados, " +
+           "l.itensPendentes = l.itensPendentes + :pendentes, " +
+           "l.totalGasto = l.totalGasto + :gasto, " +
+           "l.dataAtualizacao = :agora, " +
+           "l.revisao = l.revisao + 1 " +
+           "WHERE l.id = :listaId")
+    int ajustarContadores(@Param("listaId") Long listaId,
+                          @Param("itens") long itens,
+                          @Param("comprados") long comprados,
+                          @Param("pendentes") long pendentes,
+                          @Param("gasto") BigDecimal gasto,
+                          @Param("agora") LocalDateTime agora);
+
+    /**
+     * Versão, revisão e data de atualização da lista, com a quantidade de colaboradores e a última
+     * atualização do proprietário e deles: o suficiente para responder a um GET condicional sem
+     * carregar a lista nem os itens.
+     */
+    @Query("SELECT new com.balaio.dto.VersaoListaDTO(l.versao, l.revisao, l.dataAtualizacao, COUNT(c), " +
+           "p.dataAtualizacao, MAX(c.dataAtualizacao)) " +
+           "FROM Lista l JOIN l.proprietario p LEFT JOIN l.colaboradores c WHERE l.id = :listaId " +
+           "GROUP BY l.id, l.versao, l.revisao, l.dataAtualizacao, p.dataAtualizacao")
+    Optional<VersaoListaDTO> buscarVersao(@Param("listaId") Long listaId);
+
+    /**
+     * Trava a linha da lista (SELECT ... FOR UPDATE) até o fim da transação. Espera quem já ajustou os
+     * contadores e ainda não fez commit; o comando seguinte, com um snapshot novo, vê os itens dessas
+     * transações. Em PostgreSQL (READ COMMITTED) um UPDATE que espera a trava relê a linha da lista,
+     * mas as subconsultas continuam no snapshot de antes da espera: a trava tem de vir em outro comando.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l.id FROM Lista l WHERE l.id = :listaId")
+    Optional<Long> travar(@Param("listaId") Long listaId);
+
+    /**
+     * Recalcula os contadores da lista a partir dos itens (usado na reconciliação); chamar depois de
+     * travar, na mesma transação.
+     */
+    @Modifying
+    @Query("UPDATE Lista l SET " + CONTADORES_RECALCULADOS + ", l.revisao = l.revisao + 1 WHERE l.id = :listaId")
+    int recalcularContadores(@Param("listaId") Long listaId);
+
+    /**
+     * Como recalcularContadores, registrando a alteração da lista (usado pelas alterações em massa dos itens).
+     */
+    @Modifying
+    @Query("UPDATE Lista l SET " + CONTADORES_RECALCULADOS + ", l.revisao = l.revisao + 1, " +
+           "l.dataAtualizacao = :agora WHERE l.id = :listaId")
+    int recalcularContadores(@Param("listaId") Long listaId, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Ids das listas cujos contadores divergem dos itens.
+     */
+    @Query("SELECT l.id FROM Lista l WHERE " +
+           "l.totalItens <> (SELECT COUNT(i) FROM Item i WHERE i.lista.id = l.id) " +
+           "OR l.itensComprados <> (SELECT COUNT(i) FROM Item i WHERE i.lista.id = l.id " +
+           "AND i.status = com.balaio.model.Item$StatusItem.COMPRADO) " +
+           "OR l.itensPendentes <> (SELECT COUNT(i) FROM Item i WHERE i.lista.id = l.id " +
+           "AND i.status = com.balaio.model.Item$StatusItem.PENDENTE) " +
+           "OR l.totalGasto <> (SELECT COALESCE(SUM(i.valor * i.quantidade), 0) FROM Item i WHERE i.lista.id = l.id " +
+           "AND i.status = com.balaio.model.Item$StatusItem.COMPRADO)")
+    List<Long> findIdsComContadoresDivergentes();
+
+    /**
+     * Exclui a lista sem carregá-la. O Hibernate remove antes as linhas de lista_colaboradores
+     * (coleção da própria entidade) com um DELETE em massa; os itens devem ter sido excluídos antes.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Lista l WHERE l.id = :listaId")
+    int excluirPorId(@Param("listaId") Long listaId);
+}
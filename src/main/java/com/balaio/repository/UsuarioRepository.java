@@ -9,11 +9,12 @@ import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
-public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario, Long>, UsuarioRepositoryCustom {
     
-    Optional<Usuario> findByEmail(String email);
+    // findByEmail: ver UsuarioRepositoryCustom (natural id com cache de segundo nível)
     
-    boolean existsByEmail(String email);
+    @Query("SELECT COUNT(u) > 0 FROM Usuario u WHERE lower(u.email) = lower(:email)")
+    boolean existsByEmail(@Param("email") String email);
     
     @Query("SELECT u FROM Usuario u WHERE u.email = :email")
     Optional<Usuario> findUsuarioByEmail(@Param("email") String email);
@@ -0,0 +1,14 @@
+package com.balaio.repository;
+
+import com.balaio.model.Usuario;
+
+import java.util.Optional;
+
+public interface UsuarioRepositoryCustom {
+
+    /**
+     * Busca por e-mail sem distinção de maiúsculas. Resolve pelo natural id (e-mail normalizado),
+     * servido pelo cache de segundo nível na maioria das requisições autenticadas.
+     */
+    Optional<Usuario> findByEmail(String email);
+}
@@ -0,0 +1,37 @@
+package com.balaio.repository;
+
+import com.balaio.model.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+class UsuarioRepositoryImpl implements UsuarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Usuario> findByEmail(String email) {
+        String normalizado = Usuario.normalizarEmail(email);
+        if (normalizado == null) {
+            return Optional.empty();
+        }
+
+        Optional<Usuario> usuario = entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Usuario.class)
+                .loadOptional(normalizado);
+        if (usuario.isPresent()) {
+            return usuario;
+        }
+
+        // Contas antigas cujo e-mail não pôde ser normalizado pela migração (colisão de caixa)
+        return entityManager.createQuery("SELECT u FROM Usuario u WHERE lower(u.email) = :email", Usuario.class)
+                .setParameter("email", normalizado)
+                .getResultStream()
+                .findFirst();
+    }
+}
@@ -0,0 +1,93 @@
+package com.balaio.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.balaio.event.ColaboradoresAlteradosEvent;
+import com.balaio.event.ListaExcluidaEvent;
+import com.balaio.event.UsuarioExcluidoEvent;
+import com.balaio.model.PapelLista;
+import com.balaio.repository.ListaRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Controle de acesso às listas com cache local de (listaId, usuarioId) → papel.
+ * O cache é limitado em tamanho e expira por TTL; além disso, é invalidado após o commit
+ * das operações que mudam o acesso (compartilhamento, remoção de colaborador, exclusão de
+ * lista ou de usuário). Acertos e falhas ficam disponíveis em /actuator/metrics/cache.gets.
+ * <p>
+ * A consulta de uma falha roda na thread que a pediu, fora do lock do mapa do cache: com threads
+ * virtuais, esperar pelo banco dentro do carregador de Cache.get (um bloco synchronized do
+ * ConcurrentHashMap) fixaria a thread virtual na thread portadora. Quem pede a mesma chave nesse
+ * meio tempo aguarda o mesmo carregamento.
+ */
+@Service
+public class AcessoListaService {
+
+    public static final String NOME_CACHE = "acessoLista";
+
+    private final ListaRepository listaRepository;
+
+    private final AsyncCache<ChaveAcesso, PapelLista> cache;
+
+    public AcessoListaService(ListaRepository listaRepository,
+                              @Value("${balaio.acesso.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                              @Value("${balaio.acesso.cache.ttl:PT5M}") Duration ttl,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.listaRepository = listaRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, NOME_CACHE));
+    }
+
+    public PapelLista buscarPapel(Long listaId, Long usuarioId) {
+        CompletableFuture<PapelLista> carregamento = new CompletableFuture<>();
+        CompletableFuture<PapelLista> papel = cache.get(new ChaveAcesso(listaId, usuarioId),
+                (chave, executor) -> carregamento);
+        if (papel == carregamento) {
+            // Falha de cache: esta thread consulta e completa a entrada (uma exceção a remove do cache)
+            try {
+                carregamento.complete(PapelLista.valueOf(listaRepository.buscarPapel(listaId, usuarioId)));
+            } catch (RuntimeException e) {
+                carregamento.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return papel.join();
+    }
+
+    public boolean temAcesso(Long listaId, Long usuarioId) {
+        return buscarPapel(listaId, usuarioId).temAcesso();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarColaboradores(ColaboradoresAlteradosEvent evento) {
+        cache.synchronous().invalidate(new ChaveAcesso(evento.getListaId(), evento.getUsuarioId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoExcluirLista(ListaExcluidaEvent evento) {
+        cache.asMap().keySet().removeIf(chave -> chave.listaId().equals(evento.getListaId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoExcluirUsuario(UsuarioExcluidoEvent evento) {
+        cache.asMap().keySet().removeIf(chave -> chave.usuarioId().equals(evento.getUsuarioId()));
+    }
+
+    private record ChaveAcesso(Long listaId, Long usuarioId) {
+    }
+}
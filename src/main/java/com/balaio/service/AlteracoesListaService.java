@@ -0,0 +1,381 @@
+package com.balaio.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.balaio.event.ColaboradoresAlteradosEvent;
+import com.balaio.event.ListaAlteradaEvent;
+import com.balaio.event.ListaExcluidaEvent;
+import com.balaio.model.PapelLista;
+import com.balaio.repository.ListaRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Assinaturas SSE das alterações de cada lista, mantidas em memória neste nó.
+ * O registro é limitado por lista e no total. A entrega não bloqueia quem grava: após o commit o
+ * evento só é colocado na fila de cada assinante da lista, e as threads de entrega esvaziam cada fila
+ * em ordem, uma tarefa por assinante. Um cliente lento não atrasa os demais: se a fila dele enche, ou
+ * se um envio passa de balaio.sse.timeout-envio, ele é descartado e a thread presa no envio deixa de
+ * contar para o pool (até o contêiner desistir da escrita). O navegador reconecta e, como pode ter
+ * perdido eventos, avisa que a lista precisa ser recarregada.
+ * Assinantes que falham, expiram ou perdem o acesso à lista são removidos.
+ */
+@Service
+public class AlteracoesListaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlteracoesListaService.class);
+
+    private final ListaRepository listaRepository;
+
+    private final int maximoPorLista;
+    private final int maximoTotal;
+    private final Duration timeout;
+    private final int capacidadeFila;
+    private final long timeoutEnvio;
+
+    private final Map<Long, Set<Assinante>> assinantes = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+
+    private final ThreadPoolExecutor entregas;
+    // Assinantes com um envio em andamento, inclusive os já descartados cujo envio ainda não retornou
+    private final Set<Assinante> enviando = ConcurrentHashMap.newKeySet();
+
+    public AlteracoesListaService(ListaRepository listaRepository,
+                                  @Value("${balaio.sse.assinantes-por-lista:50}") int maximoPorLista,
+                                  @Value("${balaio.sse.assinantes-maximo:2000}") int maximoTotal,
+                                  @Value("${balaio.sse.timeout:PT30M}") Duration timeout,
+                                  @Value("${balaio.sse.fila-por-assinante:100}") int capacidadeFila,
+                                  @Value("${balaio.sse.threads-entrega:4}") int threadsEntrega,
+                                  @Value("${balaio.sse.timeout-envio:PT10S}") Duration timeoutEnvio,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.listaRepository = listaRepository;
+        this.maximoPorLista = maximoPorLista;
+        this.maximoTotal = maximoTotal;
+        this.timeout = timeout;
+        this.capacidadeFila = capacidadeFila;
+        this.timeoutEnvio = timeoutEnvio.toNanos();
+        // Cada assinante tem no máximo uma tarefa pendente ou em execução, então a fila do executor
+        // fica limitada por balaio.sse.assinantes-maximo
+        AtomicInteger numero = new AtomicInteger();
+        this.entregas = new ThreadPoolExecutor(threadsEntrega, threadsEntrega, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "alteracoes-lista-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.entregas.allowCoreThreadTimeOut(true);
+        meterRegistry.ifAvailable(registry -> Gauge.builder("balaio.sse.assinantes", total, AtomicInteger::get)
+                .description("Conexões SSE abertas neste nó")
+                .register(registry));
+    }
+
+    /**
+     * Registra um assinante das alterações da lista. O acesso do usuário deve ter sido verificado antes.
+     *
+     * @throws IllegalStateException se o limite de conexões da lista ou do nó foi atingido
+     */
+    public SseEmitter assinar(Long listaId, Long usuarioId) {
+        return assinar(listaId, usuarioId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter assinar(Long listaId, Long usuarioId, SseEmitter emitter) {
+        Assinante assinante = new Assinante(listaId, usuarioId, emitter);
+
+        if (total.incrementAndGet() > maximoTotal) {
+            total.decrementAndGet();
+            throw new IllegalStateException("Limite de conexões em tempo real atingido");
+        }
+        boolean[] aceito = {false};
+        assinantes.compute(listaId, (id, conjunto) -> {
+            Set<Assinante> atual = conjunto != null ? conjunto : ConcurrentHashMap.newKeySet();
+            if (atual.size() < maximoPorLista) {
+                aceito[0] = atual.add(assinante);
+            }
+            return atual.isEmpty() ? null : atual;
+        });
+        if (!aceito[0]) {
+            total.decrementAndGet();
+            throw new IllegalStateException("Limite de conexões em tempo real desta lista atingido");
+        }
+
+        emitter.onCompletion(assinante::descartar);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> assinante.descartar());
+        return emitter;
+    }
+
+    public int contarAssinantes(Long listaId) {
+        Set<Assinante> conjunto = assinantes.get(listaId);
+        return conjunto != null ? conjunto.size() : 0;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarLista(ListaAlteradaEvent evento) {
+        enviar(evento.getListaId(), new Mensagem(evento.getTipo().getNomeEvento(), evento.getDados()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarColaboradores(ColaboradoresAlteradosEvent evento) {
+        Long listaId = evento.getListaId();
+        if (!assinantes.containsKey(listaId)) {
+            return;
+        }
+        // Consulta feita aqui, na thread de quem gravou: as threads de entrega só escrevem nas conexões
+        boolean removido = !PapelLista.valueOf(listaRepository.buscarPapel(listaId, evento.getUsuarioId()))
+                .temAcesso();
+        enviar(listaId, new Mensagem(ListaAlteradaEvent.Tipo.COLABORADORES.getNomeEvento(),
+                Map.of("usuarioId", evento.getUsuarioId())));
+        // Colaborador removido: encerra as conexões dele com esta lista depois do aviso
+        if (removido) {
+            encerrar(listaId, a -> a.usuarioId.equals(evento.getUsuarioId()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoExcluirLista(ListaExcluidaEvent evento) {
+        Long listaId = evento.getListaId();
+        enviar(listaId, new Mensagem(ListaAlteradaEvent.Tipo.LISTA_EXCLUIDA.getNomeEvento(), Map.of("id", listaId)));
+        encerrar(listaId, a -> true);
+    }
+
+    /**
+     * Comentário periódico: mantém a conexão viva em proxies e detecta clientes que já saíram.
+     * Entra na fila de cada assinante como os eventos; quem não consome a fila acaba descartado.
+     */
+    @Scheduled(fixedDelayString = "${balaio.sse.heartbeat:PT25S}")
+    public void manterConexoes() {
+        assinantes.values().forEach(conjunto -> conjunto.forEach(assinante -> assinante.enfileirar(Mensagem.PING)));
+    }
+
+    /**
+     * Envios que passaram de balaio.sse.timeout-envio: o assinante é descartado e o pool ganha uma thread
+     * no lugar da que está presa, devolvida quando o envio retornar. O SseEmitter não pode ser concluído
+     * daqui (o envio preso segura o monitor dele); a escrita termina no timeout do contêiner.
+     */
+    @Scheduled(fixedDelayString = "${balaio.sse.verificacao-envios:PT1S}")
+    public void verificarEnvios() {
+        long agora = System.nanoTime();
+        for (Assinante assinante : enviando) {
+            if (assinante.marcarTravado(agora)) {
+                logger.warn("Envio ao assinante da lista {} travado: conexão descartada", assinante.listaId);
+                assinante.descartar();
+                ajustarThreads(1);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrarTodas() {
+        entregas.shutdownNow();
+        assinantes.values().forEach(conjunto -> conjunto.forEach(assinante -> {
+            assinante.descartar();
+            assinante.emitter.complete();
+        }));
+    }
+
+    private void enviar(Long listaId, Mensagem mensagem) {
+        Set<Assinante> conjunto = assinantes.get(listaId);
+        if (conjunto != null) {
+            conjunto.forEach(assinante -> assinante.enfileirar(mensagem));
+        }
+    }
+
+    /**
+     * Retira os assinantes do registro na hora; a conexão é concluída pela entrega, depois das
+     * mensagens que já estavam na fila.
+     */
+    private void encerrar(Long listaId, Predicate<Assinante> filtro) {
+        Set<Assinante> conjunto = assinantes.get(listaId);
+        if (conjunto == null) {
+            return;
+        }
+        for (Assinante assinante : List.copyOf(conjunto)) {
+            if (filtro.test(assinante)) {
+                assinante.enfileirar(Mensagem.FIM);
+                remover(assinante);
+            }
+        }
+    }
+
+    private synchronized void ajustarThreads(int delta) {
+        // O máximo nunca pode ficar abaixo do núcleo: cresce antes, diminui depois
+        if (delta > 0) {
+            entregas.setMaximumPoolSize(entregas.getMaximumPoolSize() + delta);
+            entregas.setCorePoolSize(entregas.getCorePoolSize() + delta);
+        } else {
+            entregas.setCorePoolSize(entregas.getCorePoolSize() + delta);
+            entregas.setMaximumPoolSize(entregas.getMaximumPoolSize() + delta);
+        }
+    }
+
+    private void remover(Assinante assinante) {
+        assinantes.computeIfPresent(assinante.listaId, (id, conjunto) -> {
+            if (conjunto.remove(assinante)) {
+                total.decrementAndGet();
+            }
+            return conjunto.isEmpty() ? null : conjunto;
+        });
+    }
+
+    /**
+     * Item da fila de um assinante: evento nomeado, comentário de heartbeat ou fim da conexão.
+     */
+    private record Mensagem(String nome, Object dados) {
+
+        static final Mensagem PING = new Mensagem(null, "ping");
+        static final Mensagem FIM = new Mensagem(null, null);
+
+        // Um builder por envio: o SseEventBuilder acumula o texto e não pode ser reaproveitado
+        SseEmitter.SseEventBuilder evento() {
+            return nome != null
+                    ? SseEmitter.event().name(nome).data(dados, MediaType.APPLICATION_JSON)
+                    : SseEmitter.event().comment((String) dados);
+        }
+    }
+
+    /**
+     * Conexão de um usuário com uma lista e a fila do que ainda falta entregar a ela.
+     */
+    private final class Assinante {
+
+        private final Long listaId;
+        private final Long usuarioId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Mensagem> pendentes = new ArrayBlockingQueue<>(capacidadeFila);
+        private final AtomicBoolean agendado = new AtomicBoolean();
+        private volatile boolean descartado;
+        // Início do envio em andamento (0 sem envio) e se ele já foi dado como travado; protegidos pelo
+        // monitor do Assinante, que nunca é mantido durante o envio
+        private long envioDesde;
+        private boolean travado;
+
+        Assinante(Long listaId, Long usuarioId, SseEmitter emitter) {
+            this.listaId = listaId;
+            this.usuarioId = usuarioId;
+            this.emitter = emitter;
+        }
+
+        void enfileirar(Mensagem mensagem) {
+            if (descartado) {
+                return;
+            }
+            if (!pendentes.offer(mensagem)) {
+                // Cliente que não acompanha: sai ele, não o evento dos outros
+                logger.warn("Fila do assinante da lista {} cheia: conexão encerrada", listaId);
+                descartar();
+            }
+            agendar();
+        }
+
+        /**
+         * Tira o assinante do registro e esvazia a fila. Não toca no emitter: um envio bloqueado
+         * segura o monitor dele, e quem concluir a conexão é a tarefa de entrega.
+         */
+        void descartar() {
+            descartado = true;
+            pendentes.clear();
+            remover(this);
+        }
+
+        private void agendar() {
+            if (agendado.compareAndSet(false, true)) {
+                try {
+                    entregas.execute(this::entregar);
+                } catch (RejectedExecutionException e) {
+                    // Encerrando a aplicação
+                    agendado.set(false);
+                }
+            }
+        }
+
+        private void entregar() {
+            try {
+                Mensagem mensagem;
+                while (!descartado && (mensagem = pendentes.poll()) != null) {
+                    if (mensagem == Mensagem.FIM) {
+                        descartar();
+                        break;
+                    }
+                    if (!enviar(mensagem)) {
+                        // Conexão encerrada pelo cliente: não há o que concluir
+                        descartar();
+                        return;
+                    }
+                }
+                if (descartado) {
+                    emitter.complete();
+                }
+            } finally {
+                agendado.set(false);
+            }
+            // Mensagem que chegou entre o último poll e a liberação do agendamento
+            if (!descartado && !pendentes.isEmpty()) {
+                agendar();
+            }
+        }
+
+        private boolean enviar(Mensagem mensagem) {
+            synchronized (this) {
+                envioDesde = System.nanoTime();
+            }
+            enviando.add(this);
+            try {
+                emitter.send(mensagem.evento());
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                return false;
+            } finally {
+                enviando.remove(this);
+                boolean devolver;
+                synchronized (this) {
+                    envioDesde = 0;
+                    devolver = travado;
+                }
+                // Envio dado como travado: devolve a thread que o pool ganhou no lugar desta
+                if (devolver) {
+                    ajustarThreads(-1);
+                }
+            }
+        }
+
+        /**
+         * Marca o envio em andamento como travado se ele passou do timeout; true só na primeira vez.
+         */
+        synchronized boolean marcarTravado(long agora) {
+            if (envioDesde == 0 || travado || agora - envioDesde <= timeoutEnvio) {
+                return false;
+            }
+            travado = true;
+            return true;
+        }
+    }
+}
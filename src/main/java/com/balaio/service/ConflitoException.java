@@ -0,0 +1,14 @@
+package com.balaio.service;
+
+/**
+ * Edição concorrente: o registro foi alterado por outra requisição depois de lido.
+ * Nada foi gravado; o cliente deve reler o estado atual antes de tentar de novo.
+ */
+public class ConflitoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConflitoException(String mensagem) {
+        super(mensagem);
+    }
+}
@@ -0,0 +1,43 @@
+package com.balaio.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.balaio.repository.ListaRepository;
+
+/**
+ * Reconciliação dos contadores desnormalizados de Lista (total de itens, comprados, pendentes e gasto).
+ * Os contadores são mantidos incrementalmente por ItemService; este job encontra listas cujos
+ * contadores divergem dos itens (ex.: alterações feitas direto no banco) e os recalcula.
+ */
+@Service
+public class ContadoresListaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContadoresListaService.class);
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    @Scheduled(cron = "${balaio.contadores.reconciliacao.cron:0 0 4 * * *}")
+    @Transactional
+    public int reconciliar() {
+        List<Long> divergentes = listaRepository.findIdsComContadoresDivergentes();
+
+        for (Long listaId : divergentes) {
+            // Trava antes da recontagem: um ajuste concorrente termina primeiro e entra na contagem
+            listaRepository.travar(listaId);
+            listaRepository.recalcularContadores(listaId);
+        }
+
+        if (!divergentes.isEmpty()) {
+            logger.warn("Contadores corrigidos em {} lista(s): {}", divergentes.size(), divergentes);
+        }
+        return divergentes.size();
+    }
+}
@@ -1,41 +1,89 @@
 package com.balaio.service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.balaio.dto.AlteracoesItensDTO;
+import com.balaio.dto.CursorPaginacao;
+import com.balaio.dto.EstatisticasItensDTO;
+import com.balaio.dto.ItemLoteDTO;
+import com.balaio.dto.OperacaoSincronizacaoDTO;
+import com.balaio.dto.PaginaDTO;
+import com.balaio.dto.ResultadoLoteDTO;
+import com.balaio.dto.ResultadoSincronizacaoDTO;
+import com.balaio.event.ListaAlteradaEvent;
 import com.balaio.model.Item;
 import com.balaio.model.Lista;
+import com.balaio.repository.ItemExcluidoRepository;
 import com.balaio.repository.ItemRepository;
 import com.balaio.repository.ListaRepository;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
 @Service
 @Transactional
 public class ItemService {
 
+    private static final int MAX_TENTATIVAS = 3;
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 200;
+
+    public static final int MAX_ITENS_POR_LOTE = 500;
+
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private ItemExcluidoRepository itemExcluidoRepository;
+
     @Autowired
     private ListaRepository listaRepository;
 
     @Autowired
     private ListaService listaService;
 
-    public Item criarItem(String nomeProduto, Integer quantidade, BigDecimal valor, String unidade, Long listaId, Long usuarioId) {
-        Lista lista = listaRepository.findById(listaId)
-                .orElseThrow(() -> new RuntimeException("Lista não encontrada"));
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    // Janela relida a cada sincronização: cobre transações que gravaram antes da marca e só
+    // confirmaram depois dela, e a diferença de relógio entre os nós
+    @Value("${balaio.sincronizacao.margem:PT1M}")
+    private Duration margemSincronizacao;
+
+    @Value("${balaio.sincronizacao.retencao:P30D}")
+    private Duration retencaoExclusoes;
+
+    public Item criarItem(String nomeProduto, Integer quantidade, BigDecimal valor, String unidade, Long listaId, Long usuarioId) {
         // Verificar se o usuário tem acesso à lista
         if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
             throw new RuntimeException("Usuário não tem acesso a esta lista");
         }
 
+        // O acesso já garante que a lista existe: basta a referência para a chave estrangeira
+        Lista lista = listaRepository.getReferenceById(listaId);
+
         Item item = new Item();
         item.setNomeProduto(nomeProduto);
         item.setQuantidade(quantidade);
@@ -46,7 +94,75 @@ public class ItemService {
         item.setDataCriacao(LocalDateTime.now());
         item.setDataAtualizacao(LocalDateTime.now());
 
-        return itemRepository.save(item);
+        Item salvo = itemRepository.save(item);
+        listaRepository.ajustarContadores(listaId, 1, 0, 1, BigDecimal.ZERO, LocalDateTime.now());
+        eventPublisher.publishEvent(ListaAlteradaEvent.itemCriado(salvo));
+
+        return salvo;
+    }
+
+    /**
+     * Cria vários itens na lista de uma vez: o acesso é verificado uma única vez, todas as linhas são
+     * validadas antes de gravar, as válidas são inseridas em lotes JDBC e os contadores (e a data de
+     * atualização) da lista são ajustados com um único UPDATE.
+     *
+     * @return um resultado por linha, na ordem recebida; linhas inválidas não impedem a gravação das demais
+     */
+    public List<ResultadoLoteDTO> criarItens(Long listaId, List<ItemLoteDTO> linhas, Long usuarioId) {
+        if (linhas == null || linhas.isEmpty() || linhas.size() > MAX_ITENS_POR_LOTE) {
+            throw new RuntimeException("O lote deve ter entre 1 e " + MAX_ITENS_POR_LOTE + " itens");
+        }
+
+        // Verificar se o usuário tem acesso à lista
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
+            throw new RuntimeException("Usuário não tem acesso a esta lista");
+        }
+
+        Lista lista = listaRepository.getReferenceById(listaId);
+        LocalDateTime agora = LocalDateTime.now();
+
+        List<ResultadoLoteDTO> resultados = new ArrayList<>(linhas.size());
+        List<Item> novos = new ArrayList<>(linhas.size());
+        for (int i = 0; i < linhas.size(); i++) {
+            ItemLoteDTO linha = linhas.get(i);
+            String erro = validar(linha);
+            if (erro != null) {
+                resultados.add(ResultadoLoteDTO.falha(i, erro));
+                continue;
+            }
+
+            Item item = new Item();
+            item.setNomeProduto(linha.getNomeProduto());
+            item.setQuantidade(linha.getQuantidade());
+            item.setValor(linha.getValor());
+            item.setUnidade(linha.getUnidade());
+            item.setLista(lista);
+            item.setStatus(Item.StatusItem.PENDENTE);
+            item.setDataCriacao(agora);
+            item.setDataAtualizacao(agora);
+            novos.add(item);
+            resultados.add(ResultadoLoteDTO.criado(i, item));
+        }
+
+        if (!novos.isEmpty()) {
+            // Ids vêm da sequência em blocos: os INSERTs são agrupados no flush (hibernate.jdbc.batch_size)
+            itemRepository.saveAll(novos);
+            listaRepository.ajustarContadores(listaId, novos.size(), 0, novos.size(), BigDecimal.ZERO, agora);
+            eventPublisher.publishEvent(ListaAlteradaEvent.itensCriados(listaId, novos));
+        }
+
+        return resultados;
+    }
+
+    private String validar(ItemLoteDTO linha) {
+        if (linha == null) {
+            return "Item vazio";
+        }
+        return validator.validate(linha).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
     }
 
     public List<Item> listarItensDaLista(Long listaId, Long usuarioId) {
@@ -67,11 +183,67 @@ public class ItemService {
         return itemRepository.findByListaIdAndStatus(listaId, status);
     }
 
+    /**
+     * Lista os itens da lista em páginas de tamanho fixo, do mais recente para o mais antigo.
+     * A posição é dada pelo cursor da página anterior (nulo na primeira), então o custo de cada
+     * página não depende de quantos itens a lista já tem. Sem cursor e sem limite a resposta continua
+     * sendo a lista inteira, como antes da paginação.
+     *
+     * @param status filtro opcional; nulo lista todos os itens
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<Item> listarItensPaginados(Long listaId, Item.StatusItem status, String cursor,
+                                                Integer limite, Long usuarioId) {
+        // Verificar se o usuário tem acesso à lista
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
+            throw new RuntimeException("Usuário não tem acesso a esta lista");
+        }
+
+        boolean semCursor = cursor == null || cursor.isBlank();
+        if (semCursor && limite == null) {
+            return new PaginaDTO<>(status == null
+                    ? itemRepository.findByListaIdOrderByDataCriacaoDesc(listaId)
+                    : itemRepository.findByListaIdAndStatus(listaId, status), null);
+        }
+
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.min(Math.max(limite, 1), LIMITE_MAXIMO);
+        // Uma linha a mais indica se existe próxima página sem precisar de COUNT
+        Limit limiteConsulta = Limit.of(tamanho + 1);
+
+        List<Item> itens;
+        if (semCursor) {
+            itens = status == null
+                    ? itemRepository.buscarPrimeiraPagina(listaId, limiteConsulta)
+                    : itemRepository.buscarPrimeiraPaginaPorStatus(listaId, status, limiteConsulta);
+        } else {
+            LocalDateTime dataCriacao;
+            Long id;
+            try {
+                String[] chave = CursorPaginacao.decodificar(cursor, 2);
+                dataCriacao = LocalDateTime.parse(chave[0]);
+                id = Long.valueOf(chave[1]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new RuntimeException("Cursor inválido");
+            }
+            itens = status == null
+                    ? itemRepository.buscarPaginaApos(listaId, dataCriacao, id, limiteConsulta)
+                    : itemRepository.buscarPaginaPorStatusApos(listaId, status, dataCriacao, id, limiteConsulta);
+        }
+
+        if (itens.size() <= tamanho) {
+            return new PaginaDTO<>(itens, null);
+        }
+        List<Item> pagina = itens.subList(0, tamanho);
+        Item ultimo = pagina.get(tamanho - 1);
+        String proximoCursor = CursorPaginacao.codificar(ultimo.getDataCriacao().toString(), ultimo.getId().toString());
+        return new PaginaDTO<>(pagina, proximoCursor);
+    }
+
     public Optional<Item> buscarPorId(Long id) {
         return itemRepository.findById(id);
     }
 
-    public Item atualizarItem(Long id, String nomeProduto, Integer quantidade, BigDecimal valor, String unidade, Long usuarioId) {
+    public Item buscarPorId(Long id, Long usuarioId) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item não encontrado"));
 
@@ -80,16 +252,22 @@ public class ItemService {
             throw new RuntimeException("Usuário não tem acesso a esta lista");
         }
 
-        item.setNomeProduto(nomeProduto);
-        item.setQuantidade(quantidade);
-        item.setValor(valor);
-        item.setUnidade(unidade);
-        item.setDataAtualizacao(LocalDateTime.now());
+        return item;
+    }
 
-        return itemRepository.save(item);
+    public Item atualizarItem(Long id, String nomeProduto, Integer quantidade, BigDecimal valor, String unidade, Long usuarioId) {
+        return atualizarItem(id, nomeProduto, quantidade, valor, unidade, null, usuarioId);
     }
 
-    public Item marcarComoComprado(Long id, Long usuarioId) {
+    /**
+     * Edição com controle de concorrência otimista: se a versão esperada for informada e o item já estiver
+     * em outra versão, ou se outra transação alterar o item antes da gravação, nada é gravado e é lançada
+     * ConflitoException (o cliente relê o item e decide se reaplica a edição).
+     *
+     * @param versaoEsperada versão lida pelo cliente; nula aceita a versão atual
+     */
+    public Item atualizarItem(Long id, String nomeProduto, Integer quantidade, BigDecimal valor, String unidade,
+                              Long versaoEsperada, Long usuarioId) {
         Item item = itemRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Item não encontrado"));
 
@@ -98,25 +276,109 @@ public class ItemService {
             throw new RuntimeException("Usuário não tem acesso a esta lista");
         }
 
-        item.setStatus(Item.StatusItem.COMPRADO);
-        item.setDataAtualizacao(LocalDateTime.now());
+        if (versaoEsperada != null && !versaoEsperada.equals(item.getVersao())) {
+            throw new ConflitoException("O item foi alterado por outro usuário");
+        }
+
+        // Validado antes de gravar: o UPDATE abaixo não passa pela validação da entidade
+        String erro = validar(new ItemLoteDTO(nomeProduto, quantidade, valor, unidade));
+        if (erro != null) {
+            throw new RuntimeException(erro);
+        }
+
+        BigDecimal subtotalAnterior = subtotal(item);
+
+        // O UPDATE é condicionado à versão lida: o subtotal anterior ainda vale para o ajuste do gasto. Zero linhas
+        // é conflito, lançado daqui e não do repositório, então quem chama dentro de uma transação maior
+        // (sincronizar) segue com as demais operações
+        if (itemRepository.atualizarDados(id, item.getVersao(), nomeProduto, quantidade, valor, unidade,
+                LocalDateTime.now()) == 0) {
+            throw new ConflitoException("O item foi alterado por outro usuário");
+        }
+        // O UPDATE limpa o contexto de persistência: a releitura traz a versão gravada
+        Item salvo = itemRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Item não encontrado"));
 
-        return itemRepository.save(item);
+        // Só itens comprados entram no gasto da lista
+        BigDecimal diferencaGasto = salvo.getStatus() == Item.StatusItem.COMPRADO
+                ? subtotal(salvo).subtract(subtotalAnterior)
+                : BigDecimal.ZERO;
+        listaRepository.ajustarContadores(salvo.getLista().getId(), 0, 0, 0, diferencaGasto, LocalDateTime.now());
+        eventPublisher.publishEvent(ListaAlteradaEvent.itemAtualizado(salvo));
+
+        return salvo;
+    }
+
+    public Item marcarComoComprado(Long id, Long usuarioId) {
+        return alterarStatus(id, Item.StatusItem.COMPRADO, usuarioId);
     }
 
     public Item marcarComoPendente(Long id, Long usuarioId) {
-        Item item = itemRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Item não encontrado"));
+        return alterarStatus(id, Item.StatusItem.PENDENTE, usuarioId);
+    }
 
-        // Verificar se o usuário tem acesso à lista do item
-        if (!listaService.usuarioTemAcesso(item.getLista().getId(), usuarioId)) {
+    /**
+     * Marca todos os itens pendentes da lista como comprados ("fechar a compra").
+     *
+     * @return quantidade de itens alterados
+     */
+    public int marcarTodosComoComprados(Long listaId, Long usuarioId) {
+        return alterarStatusEmMassa(listaId, null, Item.StatusItem.COMPRADO, usuarioId);
+    }
+
+    /**
+     * Volta todos os itens comprados da lista para pendente (reutilizar a lista).
+     *
+     * @return quantidade de itens alterados
+     */
+    public int marcarTodosComoPendentes(Long listaId, Long usuarioId) {
+        return alterarStatusEmMassa(listaId, null, Item.StatusItem.PENDENTE, usuarioId);
+    }
+
+    /**
+     * Aplica o status aos itens informados da lista; itens que já estão no status ou que não pertencem
+     * à lista são ignorados.
+     *
+     * @return quantidade de itens alterados
+     */
+    public int marcarItens(Long listaId, Collection<Long> itensIds, Item.StatusItem novoStatus, Long usuarioId) {
+        if (itensIds == null || itensIds.isEmpty()) {
+            return 0;
+        }
+        if (novoStatus == null) {
+            throw new RuntimeException("Status é obrigatório");
+        }
+        return alterarStatusEmMassa(listaId, itensIds, novoStatus, usuarioId);
+    }
+
+    /**
+     * Exclui de uma vez todos os itens comprados da lista.
+     *
+     * @return quantidade de itens excluídos
+     */
+    public int excluirComprados(Long listaId, Long usuarioId) {
+        // Verificar se o usuário tem acesso à lista
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
             throw new RuntimeException("Usuário não tem acesso a esta lista");
         }
 
-        item.setStatus(Item.StatusItem.PENDENTE);
-        item.setDataAtualizacao(LocalDateTime.now());
+        // Trava os comprados pela lista e status (sem parâmetros por item) e ajusta os contadores pelo que foi
+        // travado. A lista não é travada antes: os demais caminhos gravam o item e depois a lista, e a ordem
+        // inversa aqui daria deadlock. Registro e exclusão levam os ids, então vão em blocos limitados.
+        ItensTravados travados = ItensTravados.de(itemRepository.travarPorStatus(listaId, Item.StatusItem.COMPRADO));
+        if (travados.ids().isEmpty()) {
+            return 0;
+        }
 
-        return itemRepository.save(item);
+        LocalDateTime agora = LocalDateTime.now();
+        int excluidos = 0;
+        for (List<Long> bloco : emBlocos(travados.ids())) {
+            itemExcluidoRepository.registrarPorIds(listaId, bloco, agora);
+            excluidos += itemRepository.excluirPorIds(listaId, bloco);
+            eventPublisher.publishEvent(ListaAlteradaEvent.itensExcluidos(listaId, bloco));
+        }
+        listaRepository.ajustarContadores(listaId, -excluidos, -excluidos, 0, travados.gasto().negate(), agora);
+        return excluidos;
     }
 
     public void excluirItem(Long id, Long usuarioId) {
@@ -124,11 +386,190 @@ public class ItemService {
                 .orElseThrow(() -> new RuntimeException("Item não encontrado"));
 
         // Verificar se o usuário tem acesso à lista do item
-        if (!listaService.usuarioTemAcesso(item.getLista().getId(), usuarioId)) {
+        Long listaId = item.getLista().getId();
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
+            throw new RuntimeException("Usuário não tem acesso a esta lista");
+        }
+
+        // A exclusão é condicionada à versão lida; se outra transação alterou o item
+        // nesse meio tempo, relê o item e tenta de novo.
+        for (int tentativa = 0; tentativa < MAX_TENTATIVAS; tentativa++) {
+            Item.StatusItem status = item.getStatus();
+            BigDecimal subtotal = subtotal(item);
+
+            if (itemRepository.excluirSeVersao(id, item.getVersao()) == 1) {
+                LocalDateTime agora = LocalDateTime.now();
+                itemExcluidoRepository.registrar(id, listaId, agora);
+                boolean comprado = status == Item.StatusItem.COMPRADO;
+                listaRepository.ajustarContadores(listaId, -1,
+                        comprado ? -1 : 0,
+                        comprado ? 0 : -1,
+                        comprado ? subtotal.negate() : BigDecimal.ZERO,
+                        agora);
+                eventPublisher.publishEvent(ListaAlteradaEvent.itemExcluido(listaId, id));
+                return;
+            }
+
+            item = itemRepository.findById(id).orElse(null);
+            if (item == null) {
+                // Já excluído por outra requisição
+                return;
+            }
+        }
+
+        throw new ConflitoException("Não foi possível excluir o item, tente novamente");
+    }
+
+    /**
+     * Itens criados ou alterados e ids dos excluídos desde a marca devolvida na sincronização anterior,
+     * para o aplicativo atualizar sua cópia da lista sem baixá-la inteira. Sem marca, ou com uma marca
+     * mais antiga que a retenção das exclusões, devolve a lista completa.
+     * Itens da janela de margem antes da marca podem vir de novo; o cliente aplica pelo id e pela versão.
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesItensDTO buscarAlteracoes(Long listaId, String marca, Long usuarioId) {
+        // Verificar se o usuário tem acesso à lista
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
+            throw new RuntimeException("Usuário não tem acesso a esta lista");
+        }
+
+        // Lido antes das consultas: o que for gravado durante elas entra na próxima sincronização
+        LocalDateTime agora = LocalDateTime.now();
+        String proximaMarca = CursorPaginacao.codificar(agora.toString());
+
+        LocalDateTime desde = null;
+        if (marca != null && !marca.isBlank()) {
+            try {
+                desde = LocalDateTime.parse(CursorPaginacao.decodificar(marca, 1)[0]);
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new RuntimeException("Marca de sincronização inválida");
+            }
+        }
+
+        if (desde == null || desde.isBefore(agora.minus(retencaoExclusoes))) {
+            return new AlteracoesItensDTO(itemRepository.findByListaIdOrderByDataCriacaoDesc(listaId), List.of(),
+                    proximaMarca, true);
+        }
+
+        LocalDateTime inicio = desde.minus(margemSincronizacao);
+        return new AlteracoesItensDTO(itemRepository.buscarAlteradosDesde(listaId, inicio),
+                itemExcluidoRepository.buscarIdsExcluidosDesde(listaId, inicio), proximaMarca, false);
+    }
+
+    /**
+     * Aplica, em ordem e em uma única transação, as operações feitas no aplicativo sem conexão.
+     * Os itens referenciados são travados antes, em ordem de id, então a verificação de versão de cada
+     * edição vale até o commit. Uma operação que não pode ser aplicada (conflito, item já excluído,
+     * dados inválidos) não impede as demais: cada uma recebe seu resultado.
+     *
+     * @return um resultado por operação, na ordem recebida
+     */
+    public List<ResultadoSincronizacaoDTO> sincronizar(Long listaId, List<OperacaoSincronizacaoDTO> operacoes,
+                                                       Long usuarioId) {
+        if (operacoes == null || operacoes.isEmpty() || operacoes.size() > MAX_ITENS_POR_LOTE) {
+            throw new RuntimeException("A sincronização deve ter entre 1 e " + MAX_ITENS_POR_LOTE + " operações");
+        }
+
+        // Verificar se o usuário tem acesso à lista
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
             throw new RuntimeException("Usuário não tem acesso a esta lista");
         }
 
-        itemRepository.delete(item);
+        Set<Long> ids = operacoes.stream()
+                .filter(Objects::nonNull)
+                .map(OperacaoSincronizacaoDTO::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> existentes = ids.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(itemRepository.travarPorIds(listaId, ids));
+
+        List<ResultadoSincronizacaoDTO> resultados = new ArrayList<>(operacoes.size());
+        for (int i = 0; i < operacoes.size(); i++) {
+            resultados.add(aplicar(i, operacoes.get(i), listaId, existentes, usuarioId));
+        }
+        return resultados;
+    }
+
+    private ResultadoSincronizacaoDTO aplicar(int indice, OperacaoSincronizacaoDTO operacao, Long listaId,
+                                              Set<Long> existentes, Long usuarioId) {
+        if (operacao == null || operacao.getTipo() == null) {
+            return new ResultadoSincronizacaoDTO(indice, ResultadoSincronizacaoDTO.Situacao.ERRO, null,
+                    "Operação inválida");
+        }
+        OperacaoSincronizacaoDTO.Tipo tipo = operacao.getTipo();
+        Long itemId = operacao.getItemId();
+
+        // Excluído por outro usuário, por uma operação anterior do lote, ou de outra lista
+        if (tipo != OperacaoSincronizacaoDTO.Tipo.CRIAR && !existentes.contains(itemId)) {
+            return new ResultadoSincronizacaoDTO(indice, tipo == OperacaoSincronizacaoDTO.Tipo.EXCLUIR
+                    ? ResultadoSincronizacaoDTO.Situacao.APLICADA
+                    : ResultadoSincronizacaoDTO.Situacao.EXCLUIDO, null, null);
+        }
+
+        // Validado antes de gravar: uma violação detectada só no flush desfaria o lote inteiro
+        String erro = switch (tipo) {
+            case CRIAR, ATUALIZAR -> validar(operacao.getItem());
+            case STATUS -> operacao.getStatus() == null ? "Status é obrigatório" : null;
+            case EXCLUIR -> null;
+        };
+        if (erro != null) {
+            return new ResultadoSincronizacaoDTO(indice, ResultadoSincronizacaoDTO.Situacao.ERRO, null, erro);
+        }
+
+        ItemLoteDTO dados = operacao.getItem();
+        try {
+            Item item = switch (tipo) {
+                case CRIAR -> criarItem(dados.getNomeProduto(), dados.getQuantidade(), dados.getValor(),
+                        dados.getUnidade(), listaId, usuarioId);
+                case ATUALIZAR -> atualizarItem(itemId, dados.getNomeProduto(), dados.getQuantidade(),
+                        dados.getValor(), dados.getUnidade(), operacao.getVersao(), usuarioId);
+                case STATUS -> alterarStatus(itemId, operacao.getStatus(), usuarioId);
+                case EXCLUIR -> {
+                    excluirItem(itemId, usuarioId);
+                    existentes.remove(itemId);
+                    yield null;
+                }
+            };
+            return new ResultadoSincronizacaoDTO(indice, ResultadoSincronizacaoDTO.Situacao.APLICADA, item, null);
+        } catch (ConflitoException e) {
+            return new ResultadoSincronizacaoDTO(indice, ResultadoSincronizacaoDTO.Situacao.CONFLITO,
+                    itemRepository.findById(itemId).orElse(null), e.getMessage());
+        }
+    }
+
+    /**
+     * Contagens por status e gastos (comprado e estimado) da lista em uma única consulta agrupada,
+     * opcionalmente detalhadas por unidade.
+     */
+    @Transactional(readOnly = true)
+    public EstatisticasItensDTO calcularEstatisticas(Long listaId, boolean porUnidade, Long usuarioId) {
+        // Verificar se o usuário tem acesso à lista
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
+            throw new RuntimeException("Usuário não tem acesso a esta lista");
+        }
+
+        EstatisticasItensDTO estatisticas = new EstatisticasItensDTO(null, porUnidade);
+        if (!porUnidade) {
+            for (Object[] linha : itemRepository.agruparPorStatus(listaId)) {
+                estatisticas.somar((Item.StatusItem) linha[0], (Long) linha[1], (BigDecimal) linha[2]);
+            }
+            return estatisticas;
+        }
+
+        // Linhas ordenadas por unidade: cada unidade é acumulada até a próxima aparecer
+        EstatisticasItensDTO unidadeAtual = null;
+        for (Object[] linha : itemRepository.agruparPorUnidadeEStatus(listaId)) {
+            String unidade = (String) linha[0];
+            if (unidadeAtual == null || !Objects.equals(unidadeAtual.getUnidade(), unidade)) {
+                unidadeAtual = new EstatisticasItensDTO(unidade, false);
+                estatisticas.getPorUnidade().add(unidadeAtual);
+            }
+            Item.StatusItem status = (Item.StatusItem) linha[1];
+            unidadeAtual.somar(status, (Long) linha[2], (BigDecimal) linha[3]);
+            estatisticas.somar(status, (Long) linha[2], (BigDecimal) linha[3]);
+        }
+        return estatisticas;
     }
 
     public long contarItensPorStatus(Long listaId, Item.StatusItem status, Long usuarioId) {
@@ -139,4 +580,132 @@ public class ItemService {
 
         return itemRepository.countByListaIdAndStatus(listaId, status);
     }
-}
\ No newline at end of file
+
+    /**
+     * Transição de status idempotente e sem travas: o UPDATE é condicionado à versão lida, então o ajuste dos
+     * contadores da lista usa o subtotal exato da linha alterada. Se outra transação alterou o item nesse
+     * meio tempo, relê e tenta de novo; se o item já está no status pedido, não há nada a fazer.
+     */
+    private Item alterarStatus(Long id, Item.StatusItem novoStatus, Long usuarioId) {
+        Item item = itemRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Item não encontrado"));
+
+        // Verificar se o usuário tem acesso à lista do item
+        Long listaId = item.getLista().getId();
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
+            throw new RuntimeException("Usuário não tem acesso a esta lista");
+        }
+
+        for (int tentativa = 0; tentativa < MAX_TENTATIVAS; tentativa++) {
+            if (item.getStatus() == novoStatus) {
+                return item;
+            }
+
+            BigDecimal subtotal = subtotal(item);
+            LocalDateTime agora = LocalDateTime.now();
+
+            if (itemRepository.alterarStatus(id, item.getVersao(), novoStatus, agora) == 1) {
+                boolean comprado = novoStatus == Item.StatusItem.COMPRADO;
+                listaRepository.ajustarContadores(listaId, 0,
+                        comprado ? 1 : -1,
+                        comprado ? -1 : 1,
+                        comprado ? subtotal : subtotal.negate(),
+                        agora);
+                eventPublisher.publishEvent(ListaAlteradaEvent.itemStatus(listaId, id, novoStatus,
+                        item.getVersao() + 1));
+            }
+
+            // O UPDATE limpa o contexto de persistência: a releitura traz o estado atual do banco
+            item = itemRepository.findById(id)
+                    .orElseThrow(() -> new RuntimeException("Item não encontrado"));
+        }
+
+        if (item.getStatus() == novoStatus) {
+            return item;
+        }
+        throw new ConflitoException("O item está sendo alterado por outro usuário, tente novamente");
+    }
+
+    private int alterarStatusEmMassa(Long listaId, Collection<Long> itensIds, Item.StatusItem novoStatus,
+                                     Long usuarioId) {
+        // Verificar se o usuário tem acesso à lista
+        if (!listaService.usuarioTemAcesso(listaId, usuarioId)) {
+            throw new RuntimeException("Usuário não tem acesso a esta lista");
+        }
+
+        Item.StatusItem statusAtual = novoStatus == Item.StatusItem.COMPRADO
+                ? Item.StatusItem.PENDENTE
+                : Item.StatusItem.COMPRADO;
+        LocalDateTime agora = LocalDateTime.now();
+
+        if (itensIds == null) {
+            // Lista inteira: um UPDATE por (lista, status), sem ler os ids. Depois trava a lista (mesma ordem
+            // dos demais caminhos: itens, depois lista) e reconta; a recontagem inclui exatamente as linhas
+            // alteradas aqui e o que outras transações já ajustaram.
+            int alterados = itemRepository.alterarStatusPorLista(listaId, statusAtual, novoStatus, agora);
+            if (alterados > 0) {
+                listaRepository.travar(listaId);
+                listaRepository.recalcularContadores(listaId, agora);
+                eventPublisher.publishEvent(ListaAlteradaEvent.todosStatus(listaId, novoStatus));
+            }
+            return alterados;
+        }
+
+        // Ids informados: trava as linhas que vão mudar, para que o ajuste dos contadores corresponda
+        // exatamente a elas mesmo com alternâncias e inclusões concorrentes na mesma lista.
+        int alterados = 0;
+        for (List<Long> bloco : emBlocos(itensIds)) {
+            ItensTravados travados = ItensTravados.de(itemRepository.travarPorIdsEStatus(listaId, bloco, statusAtual));
+            if (travados.ids().isEmpty()) {
+                continue;
+            }
+
+            int noBloco = itemRepository.alterarStatusEmMassa(listaId, travados.ids(), statusAtual, novoStatus, agora);
+            boolean comprado = novoStatus == Item.StatusItem.COMPRADO;
+            listaRepository.ajustarContadores(listaId, 0,
+                    comprado ? noBloco : -noBloco,
+                    comprado ? -noBloco : noBloco,
+                    comprado ? travados.gasto() : travados.gasto().negate(),
+                    agora);
+            eventPublisher.publishEvent(ListaAlteradaEvent.itensStatus(listaId, travados.ids(), novoStatus));
+            alterados += noBloco;
+        }
+        return alterados;
+    }
+
+    /**
+     * Ids em ordem crescente, em blocos de até MAX_ITENS_POR_LOTE: cada comando leva um parâmetro por id
+     * (o PostgreSQL aceita no máximo 32767) e as travas são tomadas sempre na mesma ordem.
+     */
+    private static List<List<Long>> emBlocos(Collection<Long> ids) {
+        List<Long> ordenados = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        List<List<Long>> blocos = new ArrayList<>();
+        for (int inicio = 0; inicio < ordenados.size(); inicio += MAX_ITENS_POR_LOTE) {
+            blocos.add(ordenados.subList(inicio, Math.min(inicio + MAX_ITENS_POR_LOTE, ordenados.size())));
+        }
+        return blocos;
+    }
+
+    private BigDecimal subtotal(Item item) {
+        if (item.getValor() == null || item.getQuantidade() == null) {
+            return BigDecimal.ZERO;
+        }
+        return item.getValor().multiply(BigDecimal.valueOf(item.getQuantidade()));
+    }
+
+    /**
+     * Ids e soma dos subtotais das linhas [id, valor × quantidade] travadas por ItemRepository.travarPor*.
+     */
+    private record ItensTravados(List<Long> ids, BigDecimal gasto) {
+
+        static ItensTravados de(List<Object[]> linhas) {
+            List<Long> ids = new ArrayList<>(linhas.size());
+            BigDecimal gasto = BigDecimal.ZERO;
+            for (Object[] linha : linhas) {
+                ids.add((Long) linha[0]);
+                gasto = gasto.add((BigDecimal) linha[1]);
+            }
+            return new ItensTravados(ids, gasto);
+        }
+    }
+}
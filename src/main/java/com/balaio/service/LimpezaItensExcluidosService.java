@@ -0,0 +1,40 @@
+package com.balaio.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.balaio.repository.ItemExcluidoRepository;
+
+/**
+ * Remove os registros de itens excluídos mais antigos que a retenção da sincronização: um cliente
+ * com marca anterior a ela recebe a lista inteira (ItemService.buscarAlteracoes), então não precisa deles.
+ */
+@Service
+public class LimpezaItensExcluidosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimpezaItensExcluidosService.class);
+
+    @Autowired
+    private ItemExcluidoRepository itemExcluidoRepository;
+
+    @Value("${balaio.sincronizacao.retencao:P30D}")
+    private Duration retencao;
+
+    @Scheduled(cron = "${balaio.sincronizacao.limpeza.cron:0 30 4 * * *}")
+    @Transactional
+    public int excluirAntigos() {
+        int excluidos = itemExcluidoRepository.excluirAnterioresA(LocalDateTime.now().minus(retencao));
+        if (excluidos > 0) {
+            logger.debug("{} registro(s) de itens excluídos removido(s)", excluidos);
+        }
+        return excluidos;
+    }
+}
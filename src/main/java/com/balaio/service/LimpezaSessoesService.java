@@ -0,0 +1,51 @@
+package com.balaio.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Remove as sessões HTTP expiradas da tabela SPRING_SESSION (modo balaio.sessao.jdbc.habilitada).
+ * Exclui em lotes, cada um em sua própria transação, para não segurar locks nem gerar um DELETE
+ * gigante depois de um período sem limpeza. Os atributos saem junto (ON DELETE CASCADE).
+ */
+@Service
+@ConditionalOnProperty(name = "balaio.sessao.jdbc.habilitada", havingValue = "true")
+public class LimpezaSessoesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimpezaSessoesService.class);
+
+    private static final String EXCLUIR_LOTE_EXPIRADO =
+            "DELETE FROM SPRING_SESSION WHERE PRIMARY_ID IN "
+            + "(SELECT PRIMARY_ID FROM SPRING_SESSION WHERE EXPIRY_TIME < ? LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int tamanhoLote;
+
+    public LimpezaSessoesService(JdbcTemplate jdbcTemplate,
+                                 @Value("${balaio.sessao.limpeza.lote:500}") int tamanhoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(cron = "${balaio.sessao.limpeza.cron:0 * * * * *}")
+    public int excluirExpiradas() {
+        long agora = System.currentTimeMillis();
+        int total = 0;
+        int excluidas;
+        do {
+            excluidas = jdbcTemplate.update(EXCLUIR_LOTE_EXPIRADO, agora, tamanhoLote);
+            total += excluidas;
+        } while (excluidas == tamanhoLote);
+
+        if (total > 0) {
+            logger.debug("{} sessão(ões) expirada(s) removida(s)", total);
+        }
+        return total;
+    }
+}
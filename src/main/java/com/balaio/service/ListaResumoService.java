@@ -0,0 +1,41 @@
+package com.balaio.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.balaio.dto.ListaResumoDTO;
+import com.balaio.repository.ListaRepository;
+
+/**
+ * Consulta dos resumos de lista exibidos na página inicial e em "Minhas Listas".
+ * Uma única consulta por usuário, independente da quantidade de listas e itens.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ListaResumoService {
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    public List<ListaResumoDTO> listarResumos(Long usuarioId) {
+        return listaRepository.resumirListasPorUsuario(usuarioId);
+    }
+
+    public long totalItens(List<ListaResumoDTO> resumos) {
+        return resumos.stream().mapToLong(ListaResumoDTO::getTotalItens).sum();
+    }
+
+    public long totalComprados(List<ListaResumoDTO> resumos) {
+        return resumos.stream().mapToLong(ListaResumoDTO::getTotalComprados).sum();
+    }
+
+    public BigDecimal totalGasto(List<ListaResumoDTO> resumos) {
+        return resumos.stream()
+                .map(ListaResumoDTO::getTotalGasto)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -2,16 +2,27 @@ package com.balaio.service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.balaio.dto.CursorPaginacao;
 import com.balaio.dto.DashboardDTO;
+import com.balaio.dto.ListaDetalheDTO;
 import com.balaio.dto.ListaGastoDTO;
+import com.balaio.dto.PaginaDTO;
+import com.balaio.dto.VersaoListaDTO;
+import com.balaio.event.ColaboradoresAlteradosEvent;
+import com.balaio.event.ListaAlteradaEvent;
+import com.balaio.event.ListaExcluidaEvent;
 import com.balaio.model.Item;
 import com.balaio.model.Lista;
 import com.balaio.model.Usuario;
@@ -19,10 +30,42 @@ import com.balaio.repository.ItemRepository;
 import com.balaio.repository.ListaRepository;
 import com.balaio.repository.UsuarioRepository;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
 @Service
 @Transactional
 public class ListaService {
 
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+
+    /** Quais listas acessíveis entram na listagem paginada. */
+    public enum FiltroListas {
+        TODAS, MINHAS, COMPARTILHADAS;
+
+        public static FiltroListas de(String valor) {
+            return valor == null || valor.isBlank() ? TODAS : converter(FiltroListas.class, valor, "Filtro inválido: ");
+        }
+    }
+
+    /** Ordenação da listagem paginada: mais recentes primeiro ou por título. */
+    public enum OrdenacaoListas {
+        ATUALIZACAO, TITULO;
+
+        public static OrdenacaoListas de(String valor) {
+            return valor == null || valor.isBlank() ? ATUALIZACAO : converter(OrdenacaoListas.class, valor, "Ordenação inválida: ");
+        }
+    }
+
+    private static <E extends Enum<E>> E converter(Class<E> tipo, String valor, String mensagemErro) {
+        try {
+            return Enum.valueOf(tipo, valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException(mensagemErro + valor);
+        }
+    }
+
     @Autowired
     private ListaRepository listaRepository;
 
@@ -32,6 +75,15 @@ public class ListaService {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private AcessoListaService acessoListaService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Lista criarLista(String titulo, String descricao, Long proprietarioId) {
         Usuario proprietario = usuarioRepository.findById(proprietarioId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -47,10 +99,11 @@ public class ListaService {
     }
 
     public List<Lista> listarListasDoUsuario(Long usuarioId) {
-        Usuario usuario = usuarioRepository.findById(usuarioId)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+        if (!usuarioRepository.existsById(usuarioId)) {
+            throw new RuntimeException("Usuário não encontrado");
+        }
 
-        return listaRepository.findListasAcessiveisPorUsuario(usuario);
+        return listaRepository.findListasAcessiveisPorUsuario(usuarioId);
     }
 
     public List<Lista> listarListasProprietario(Long usuarioId) {
@@ -61,25 +114,158 @@ public class ListaService {
         return listaRepository.findListasCompartilhadasComUsuario(usuarioId);
     }
 
+    /**
+     * Listas acessíveis ao usuário em páginas de tamanho fixo, com cursor opaco da última lista entregue.
+     * Cada página custa duas consultas (listas com proprietário e colaboradores da página),
+     * independente de quantas listas o usuário tem. Sem cursor e sem limite vêm todas as listas, na
+     * mesma ordem, como antes da paginação.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<Lista> listarListasPaginadas(Long usuarioId, FiltroListas filtro, OrdenacaoListas ordenacao,
+                                                  String cursor, Integer limite) {
+        boolean primeiraPagina = cursor == null || cursor.isBlank();
+        boolean todas = primeiraPagina && limite == null;
+        int tamanho = limite == null ? LIMITE_PADRAO : Math.min(Math.max(limite, 1), LIMITE_MAXIMO);
+        // Uma linha a mais indica se existe próxima página sem precisar de COUNT
+        Limit limiteConsulta = todas ? Limit.unlimited() : Limit.of(tamanho + 1);
+        boolean proprias = filtro != FiltroListas.COMPARTILHADAS;
+        boolean compartilhadas = filtro != FiltroListas.MINHAS;
+
+        List<Lista> listas;
+        try {
+            String[] chave = primeiraPagina ? null : CursorPaginacao.decodificar(cursor, 2);
+            if (ordenacao == OrdenacaoListas.TITULO) {
+                listas = primeiraPagina
+                        ? listaRepository.buscarPaginaPorTitulo(usuarioId, proprias, compartilhadas, limiteConsulta)
+                        : listaRepository.buscarPaginaPorTituloApos(usuarioId, proprias, compartilhadas,
+                                chave[0], Long.valueOf(chave[1]), limiteConsulta);
+            } else {
+                listas = primeiraPagina
+                        ? listaRepository.buscarPaginaPorAtualizacao(usuarioId, proprias, compartilhadas, limiteConsulta)
+                        : listaRepository.buscarPaginaPorAtualizacaoApos(usuarioId, proprias, compartilhadas,
+                                LocalDateTime.parse(chave[0]), Long.valueOf(chave[1]), limiteConsulta);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Cursor inválido");
+        }
+
+        String proximoCursor = null;
+        if (!todas && listas.size() > tamanho) {
+            listas = listas.subList(0, tamanho);
+            Lista ultima = listas.get(tamanho - 1);
+            String ordem = ordenacao == OrdenacaoListas.TITULO
+                    ? ultima.getTitulo()
+                    : ultima.getDataAtualizacao().toString();
+            proximoCursor = CursorPaginacao.codificar(ordem, ultima.getId().toString());
+        }
+
+        if (!listas.isEmpty()) {
+            listaRepository.carregarColaboradores(listas);
+        }
+        return new PaginaDTO<>(listas, proximoCursor);
+    }
+
     public Optional<Lista> buscarPorId(Long id) {
         return listaRepository.findById(id);
     }
 
+    /**
+     * Validador HTTP (ETag) da lista, se o usuário tiver acesso a ela: a verificação
+     * de acesso vem do cache e o restante é uma leitura pela chave primária.
+     */
+    @Transactional(readOnly = true)
+    public Optional<VersaoListaDTO> buscarVersao(Long listaId, Long usuarioId) {
+        if (!usuarioTemAcesso(listaId, usuarioId)) {
+            return Optional.empty();
+        }
+        return listaRepository.buscarVersao(listaId);
+    }
+
+    /**
+     * Validadores HTTP da lista sem verificar o acesso; vazio se a lista não existir.
+     */
+    @Transactional(readOnly = true)
+    public Optional<VersaoListaDTO> buscarVersao(Long listaId) {
+        return listaRepository.buscarVersao(listaId);
+    }
+
+    /**
+     * Lista com proprietário e colaboradores inicializados, em uma única consulta.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Lista> buscarComColaboradores(Long id) {
+        return listaRepository.buscarComProprietarioEColaboradores(id);
+    }
+
+    /**
+     * Lista, proprietário, colaboradores e itens da página de detalhes em duas consultas. O acesso é
+     * verificado sobre a lista já carregada, sem consulta extra.
+     */
+    @Transactional(readOnly = true)
+    public ListaDetalheDTO buscarDetalhe(Long listaId, Long usuarioId) {
+        Lista lista = listaRepository.buscarComProprietarioEColaboradores(listaId)
+                .orElseThrow(() -> new RuntimeException("Lista não encontrada"));
+
+        if (!usuarioTemAcesso(lista, usuarioId)) {
+            throw new RuntimeException("Usuário não tem acesso a esta lista");
+        }
+
+        // Os itens referenciam a lista já presente no contexto de persistência
+        List<Item> itens = itemRepository.findByListaIdOrderByDataCriacaoDesc(listaId);
+        return new ListaDetalheDTO(lista, itens);
+    }
+
     public Lista atualizarLista(Long id, String titulo, String descricao, Long usuarioId) {
+        return atualizarLista(id, titulo, descricao, null, usuarioId);
+    }
+
+    /**
+     * Edição com controle de concorrência otimista, como ItemService.atualizarItem: versão divergente ou
+     * alteração concorrente antes da gravação resultam em ConflitoException, sem gravar nada.
+     *
+     * @param versaoEsperada versão lida pelo cliente; nula aceita a versão atual
+     */
+    public Lista atualizarLista(Long id, String titulo, String descricao, Long versaoEsperada, Long usuarioId) {
         Lista lista = listaRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Lista não encontrada"));
 
         // Verificar se o usuário tem permissão para editar
-        if (!lista.getProprietario().getId().equals(usuarioId) &&
-            !lista.getColaboradores().stream().anyMatch(u -> u.getId().equals(usuarioId))) {
+        if (!usuarioTemAcesso(id, usuarioId)) {
             throw new RuntimeException("Usuário não tem permissão para editar esta lista");
         }
 
-        lista.setTitulo(titulo);
-        lista.setDescricao(descricao);
-        lista.setDataAtualizacao(LocalDateTime.now());
+        if (versaoEsperada != null && !versaoEsperada.equals(lista.getVersao())) {
+            throw new ConflitoException("A lista foi alterada por outro usuário");
+        }
 
-        return listaRepository.save(lista);
+        // Validado antes de gravar: o UPDATE abaixo não passa pela validação da entidade
+        String erro = validar(titulo, descricao);
+        if (erro != null) {
+            throw new RuntimeException(erro);
+        }
+
+        // Compare-and-set pela versão lida: o conflito é lançado daqui, não do repositório, então não marca
+        // para rollback a transação de quem chama
+        if (listaRepository.atualizarDados(id, lista.getVersao(), titulo, descricao, LocalDateTime.now()) == 0) {
+            throw new ConflitoException("A lista foi alterada por outro usuário");
+        }
+        // O UPDATE limpa o contexto de persistência: a releitura traz a versão gravada
+        Lista salva = listaRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Lista não encontrada"));
+        eventPublisher.publishEvent(ListaAlteradaEvent.listaAtualizada(salva));
+        return salva;
+    }
+
+    /**
+     * Primeira mensagem de validação de título e descrição (restrições da entidade Lista), ou nulo se válidos.
+     */
+    private String validar(String titulo, String descricao) {
+        return Stream.concat(validator.validateValue(Lista.class, "titulo", titulo).stream(),
+                        validator.validateValue(Lista.class, "descricao", descricao).stream())
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .findFirst()
+                .orElse(null);
     }
 
     public void excluirLista(Long id, Long usuarioId) {
@@ -91,7 +277,11 @@ public class ListaService {
             throw new RuntimeException("Apenas o proprietário pode excluir a lista");
         }
 
-        listaRepository.delete(lista);
+        // Exclusão por DELETEs em massa: o custo não depende da quantidade de itens da lista
+        // (o cascade de Lista.itens carregaria e excluiria item por item).
+        itemRepository.excluirPorLista(id);
+        listaRepository.excluirPorId(id);
+        eventPublisher.publishEvent(new ListaExcluidaEvent(id));
     }
 
     public Lista compartilharLista(Long listaId, String emailColaborador, Long proprietarioId) {
@@ -125,7 +315,9 @@ public class ListaService {
         lista.getColaboradores().add(colaborador);
         lista.setDataAtualizacao(LocalDateTime.now());
 
-        return listaRepository.save(lista);
+        Lista salva = listaRepository.save(lista);
+        eventPublisher.publishEvent(new ColaboradoresAlteradosEvent(listaId, colaborador.getId()));
+        return salva;
     }
 
     public Lista removerColaborador(Long listaId, Long colaboradorId, Long proprietarioId) {
@@ -143,7 +335,9 @@ public class ListaService {
         lista.getColaboradores().remove(colaborador);
         lista.setDataAtualizacao(LocalDateTime.now());
 
-        return listaRepository.save(lista);
+        Lista salva = listaRepository.save(lista);
+        eventPublisher.publishEvent(new ColaboradoresAlteradosEvent(listaId, colaborador.getId()));
+        return salva;
     }
 
     public Lista removerColaboradorPorEmail(Long listaId, String emailColaborador, Long proprietarioId) {
@@ -165,16 +359,22 @@ public class ListaService {
         lista.getColaboradores().remove(colaborador);
         lista.setDataAtualizacao(LocalDateTime.now());
 
-        return listaRepository.save(lista);
+        Lista salva = listaRepository.save(lista);
+        eventPublisher.publishEvent(new ColaboradoresAlteradosEvent(listaId, colaborador.getId()));
+        return salva;
     }
 
 
     public boolean usuarioTemAcesso(Long listaId, Long usuarioId) {
-        Lista lista = listaRepository.findById(listaId)
-                .orElseThrow(() -> new RuntimeException("Lista não encontrada"));
+        return acessoListaService.temAcesso(listaId, usuarioId);
+    }
 
-        return lista.getProprietario().getId().equals(usuarioId) ||
-               lista.getColaboradores().stream().anyMatch(u -> u.getId().equals(usuarioId));
+    /**
+     * Verificação de acesso sobre uma lista com proprietário e colaboradores já carregados.
+     */
+    public boolean usuarioTemAcesso(Lista lista, Long usuarioId) {
+        return lista.getProprietario().getId().equals(usuarioId)
+                || lista.getColaboradores().stream().anyMatch(colaborador -> colaborador.getId().equals(usuarioId));
     }
 
     public long contarListasCompartilhadasPorProprietario(Long proprietarioId) {
@@ -192,20 +392,7 @@ public class ListaService {
      * CA1 - Calcular valor total de uma lista: SUM(valor × quantidade) apenas itens COMPRADOS
      */
     public BigDecimal calcularTotalGastoPorLista(Long listaId) {
-        Lista lista = listaRepository.findById(listaId)
-                .orElseThrow(() -> new RuntimeException("Lista não encontrada"));
-
-        List<Item> itensComprados = itemRepository.findByListaIdAndStatus(listaId, Item.StatusItem.COMPRADO);
-        
-        BigDecimal total = BigDecimal.ZERO;
-        for (Item item : itensComprados) {
-            if (item.getValor() != null && item.getQuantidade() != null) {
-                BigDecimal valorItem = item.getValor().multiply(new BigDecimal(item.getQuantidade()));
-                total = total.add(valorItem);
-            }
-        }
-        
-        return total;
+        return itemRepository.somarGastoPorLista(listaId);
     }
 
     /**
@@ -213,65 +400,36 @@ public class ListaService {
      * CA2 - Considerar apenas itens com status COMPRADO
      */
     public BigDecimal calcularTotalGastoGeral(Long usuarioId) {
-        List<Lista> listas = listarListasDoUsuario(usuarioId);
-        
-        BigDecimal totalGeral = BigDecimal.ZERO;
-        for (Lista lista : listas) {
-            BigDecimal totalLista = calcularTotalGastoPorLista(lista.getId());
-            totalGeral = totalGeral.add(totalLista);
-        }
-        
-        return totalGeral;
+        return itemRepository.somarGastoPorUsuario(usuarioId);
     }
 
     /**
-     * Gerar dados completos para o dashboard
+     * Gerar dados completos para o dashboard.
+     * Contagens e gastos vêm agregados do banco (uma linha por lista), sem carregar itens.
      */
     public DashboardDTO gerarDashboard(Long usuarioId) {
         DashboardDTO dashboard = new DashboardDTO();
-        
-        // Buscar todas as listas do usuário
-        List<Lista> listas = listarListasDoUsuario(usuarioId);
-        
+
+        List<ListaGastoDTO> listasComGastos = listaRepository.resumirGastosPorUsuario(usuarioId);
+
         // CA - Quantidade de Listas
-        dashboard.setQuantidadeListas(listas.size());
-        
-        // Calcular gastos por lista
-        List<ListaGastoDTO> listasComGastos = new ArrayList<>();
+        dashboard.setQuantidadeListas(listasComGastos.size());
+
         BigDecimal totalGeralGasto = BigDecimal.ZERO;
         int totalItensGeral = 0;
         int totalItensCompradosGeral = 0;
-        
-        for (Lista lista : listas) {
-            ListaGastoDTO listaGasto = new ListaGastoDTO();
-            listaGasto.setListaId(lista.getId());
-            listaGasto.setTitulo(lista.getTitulo());
-            listaGasto.setDescricao(lista.getDescricao());
-            
-            // CA1 - Calcular total gasto da lista
-            BigDecimal totalLista = calcularTotalGastoPorLista(lista.getId());
-            listaGasto.setTotalGasto(totalLista);
-            
-            // Contar itens
-            List<Item> todosItens = itemRepository.findByListaId(lista.getId());
-            List<Item> itensComprados = itemRepository.findByListaIdAndStatus(lista.getId(), Item.StatusItem.COMPRADO);
-            
-            listaGasto.setQuantidadeItens(todosItens.size());
-            listaGasto.setQuantidadeItensComprados(itensComprados.size());
-            
-            listasComGastos.add(listaGasto);
-            
-            // Acumular para totais gerais
-            totalGeralGasto = totalGeralGasto.add(totalLista);
-            totalItensGeral += todosItens.size();
-            totalItensCompradosGeral += itensComprados.size();
+
+        for (ListaGastoDTO listaGasto : listasComGastos) {
+            totalGeralGasto = totalGeralGasto.add(listaGasto.getTotalGasto());
+            totalItensGeral += listaGasto.getQuantidadeItens();
+            totalItensCompradosGeral += listaGasto.getQuantidadeItensComprados();
         }
-        
+
         dashboard.setListasComGastos(listasComGastos);
         dashboard.setTotalGastoGeral(totalGeralGasto);
         dashboard.setTotalItens(totalItensGeral);
         dashboard.setTotalItensComprados(totalItensCompradosGeral);
-        
+
         return dashboard;
     }
 }
@@ -5,12 +5,14 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.balaio.dto.AlterarSenhaDTO;
 import com.balaio.dto.UsuarioCadastroDTO;
+import com.balaio.event.UsuarioExcluidoEvent;
 import com.balaio.model.Usuario;
 import com.balaio.repository.UsuarioRepository;
 
@@ -24,6 +26,9 @@ public class UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Usuario cadastrarUsuario(UsuarioCadastroDTO dto) {
         // CA4 e CA7 - Verificar se o email já está cadastrado
         if (usuarioRepository.existsByEmail(dto.getEmail())) {
@@ -117,5 +122,6 @@ public class UsuarioService {
             throw new RuntimeException("Usuário não encontrado");
         }
         usuarioRepository.deleteById(id);
+        eventPublisher.publishEvent(new UsuarioExcluidoEvent(id));
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+-- Esquema inicial, equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- IF NOT EXISTS: em bancos já criados pelo Hibernate esta versão não altera nada.
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome_completo    VARCHAR(255) NOT NULL,
+    email            VARCHAR(255) NOT NULL UNIQUE,
+    senha            VARCHAR(255) NOT NULL,
+    data_criacao     TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6)
+);
+
+CREATE TABLE IF NOT EXISTS listas (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    titulo           VARCHAR(255) NOT NULL,
+    descricao        VARCHAR(255),
+    data_criacao     TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    proprietario_id  BIGINT NOT NULL REFERENCES usuarios (id),
+    total_itens      BIGINT DEFAULT 0 NOT NULL,
+    itens_comprados  BIGINT DEFAULT 0 NOT NULL,
+    itens_pendentes  BIGINT DEFAULT 0 NOT NULL,
+    total_gasto      NUMERIC(14, 2) DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS lista_colaboradores (
+    lista_id   BIGINT NOT NULL REFERENCES listas (id),
+    usuario_id BIGINT NOT NULL REFERENCES usuarios (id)
+);
+
+CREATE TABLE IF NOT EXISTS itens (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome_produto     VARCHAR(255) NOT NULL,
+    quantidade       INTEGER NOT NULL,
+    valor            NUMERIC(10, 2),
+    unidade          VARCHAR(10),
+    status           VARCHAR(255) NOT NULL CHECK (status IN ('PENDENTE', 'COMPRADO')),
+    data_criacao     TIMESTAMP(6),
+    data_atualizacao TIMESTAMP(6),
+    lista_id         BIGINT NOT NULL REFERENCES listas (id)
+);
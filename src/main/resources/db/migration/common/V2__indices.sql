@@ -0,0 +1,29 @@
+-- Índices das consultas de ItemRepository e ListaRepository.
+
+-- Itens da lista (FK, listagem paginada, contagens e somas por status)
+CREATE INDEX IF NOT EXISTS idx_itens_lista_criacao ON itens (lista_id, data_criacao, id);
+CREATE INDEX IF NOT EXISTS idx_itens_lista_status_criacao ON itens (lista_id, status, data_criacao, id);
+
+-- Listas do proprietário, paginadas por atualização ou título
+CREATE INDEX IF NOT EXISTS idx_listas_proprietario_atualizacao ON listas (proprietario_id, data_atualizacao, id);
+CREATE INDEX IF NOT EXISTS idx_listas_proprietario_titulo ON listas (proprietario_id, titulo, id);
+
+-- Listas compartilhadas com o usuário e verificação de acesso (usuario_id, lista_id);
+-- remoção em cascata a partir da lista (lista_id)
+CREATE INDEX IF NOT EXISTS idx_lista_colaboradores_usuario ON lista_colaboradores (usuario_id, lista_id);
+CREATE INDEX IF NOT EXISTS idx_lista_colaboradores_lista ON lista_colaboradores (lista_id);
+
+-- Contadores desnormalizados. Em bancos criados pelo Hibernate antes deles a tabela listas já existia
+-- e o CREATE TABLE IF NOT EXISTS da V1 não a alterou: as colunas entram aqui, e o UPDATE preenche
+-- todas as listas a partir dos itens
+ALTER TABLE listas ADD COLUMN IF NOT EXISTS total_itens BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE listas ADD COLUMN IF NOT EXISTS itens_comprados BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE listas ADD COLUMN IF NOT EXISTS itens_pendentes BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE listas ADD COLUMN IF NOT EXISTS total_gasto NUMERIC(14, 2) DEFAULT 0 NOT NULL;
+
+UPDATE listas l SET
+    total_itens     = (SELECT COUNT(*) FROM itens i WHERE i.lista_id = l.id),
+    itens_comprados = (SELECT COUNT(*) FROM itens i WHERE i.lista_id = l.id AND i.status = 'COMPRADO'),
+    itens_pendentes = (SELECT COUNT(*) FROM itens i WHERE i.lista_id = l.id AND i.status = 'PENDENTE'),
+    total_gasto     = (SELECT COALESCE(SUM(i.valor * i.quantidade), 0) FROM itens i
+                       WHERE i.lista_id = l.id AND i.status = 'COMPRADO');
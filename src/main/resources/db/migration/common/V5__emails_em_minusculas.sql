@@ -0,0 +1,5 @@
+-- E-mails passam a ser gravados em minúsculas (natural id de Usuario, busca exata e cacheável).
+-- Contas que colidiriam com outra ao normalizar ficam como estão e são encontradas pela busca com lower().
+UPDATE usuarios u SET email = lower(email)
+WHERE email <> lower(email)
+  AND NOT EXISTS (SELECT 1 FROM usuarios o WHERE o.id <> u.id AND lower(o.email) = lower(u.email));
@@ -0,0 +1,4 @@
+-- Controle de concorrência otimista (@Version) de itens e listas: edições simultâneas do mesmo
+-- registro não se sobrescrevem; a segunda recebe conflito e relê o estado atual.
+ALTER TABLE itens ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE listas ADD COLUMN IF NOT EXISTS versao BIGINT DEFAULT 0 NOT NULL;
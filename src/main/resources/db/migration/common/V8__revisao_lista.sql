@@ -0,0 +1,3 @@
+-- Revisão do conteúdo da lista (itens e contadores), avançada a cada ajuste de contadores.
+-- Junto com a versão otimista, forma o ETag de GET /api/listas/{id} e dos itens da lista.
+ALTER TABLE listas ADD COLUMN IF NOT EXISTS revisao BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,14 @@
+-- Sincronização incremental dos itens (GET /api/listas/{listaId}/itens/alteracoes): os itens alterados
+-- desde a marca do cliente saem pela data de atualização e os excluídos pelos registros abaixo.
+CREATE INDEX IF NOT EXISTS idx_itens_lista_atualizacao ON itens (lista_id, data_atualizacao);
+
+-- Item excluído: id do item (a sequência não reaproveita ids), lista e momento da exclusão.
+-- Saem junto com a lista (ON DELETE CASCADE) e, após o prazo de retenção, pelo job de limpeza.
+CREATE TABLE IF NOT EXISTS itens_excluidos (
+    id            BIGINT PRIMARY KEY,
+    lista_id      BIGINT NOT NULL REFERENCES listas (id) ON DELETE CASCADE,
+    data_exclusao TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_itens_excluidos_lista_exclusao ON itens_excluidos (lista_id, data_exclusao);
+CREATE INDEX IF NOT EXISTS idx_itens_excluidos_exclusao ON itens_excluidos (data_exclusao);
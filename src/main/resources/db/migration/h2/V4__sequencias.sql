@@ -0,0 +1,4 @@
+-- Identificadores por sequência com incremento 50 (allocationSize das entidades); ver postgresql/V4.
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS listas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS itens_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- Busca de usuário por e-mail sem distinção de maiúsculas (UsuarioRepository.findByEmail/existsByEmail)
+CREATE INDEX IF NOT EXISTS idx_usuarios_email_lower ON usuarios (lower(email));
@@ -0,0 +1,12 @@
+-- Identificadores por sequência com incremento 50 (allocationSize das entidades): o Hibernate reserva
+-- blocos de 50 ids por chamada e pode agrupar os INSERTs em lotes JDBC, o que IDENTITY impede.
+-- Cada sequência começa acima do maior id existente.
+
+CREATE SEQUENCE IF NOT EXISTS usuarios_seq INCREMENT BY 50;
+SELECT setval('usuarios_seq', COALESCE((SELECT MAX(id) FROM usuarios), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS listas_seq INCREMENT BY 50;
+SELECT setval('listas_seq', COALESCE((SELECT MAX(id) FROM listas), 0) + 50, false);
+
+CREATE SEQUENCE IF NOT EXISTS itens_seq INCREMENT BY 50;
+SELECT setval('itens_seq', COALESCE((SELECT MAX(id) FROM itens), 0) + 50, false);
@@ -0,0 +1,150 @@
+package com.balaio.config;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+
+import com.balaio.BalaioApplication;
+import com.balaio.model.Usuario;
+import com.balaio.repository.UsuarioRepository;
+import com.balaio.service.LimpezaSessoesService;
+
+/**
+ * Duas instâncias da aplicação (dois contextos com Tomcat próprio) sobre o mesmo banco,
+ * como dois nós atrás de um balanceador.
+ */
+@DisplayName("Testes de Sessão no Banco - Dois nós com a mesma tabela de sessões")
+class SessaoJdbcClusterTest {
+
+    private static final String EMAIL = "cluster@email.com";
+    private static final String SENHA = "Senha123";
+
+    private static ConfigurableApplicationContext noA;
+    private static ConfigurableApplicationContext noB;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeAll
+    static void iniciarNos() {
+        noA = iniciarNo();
+        noB = iniciarNo();
+
+        PasswordEncoder passwordEncoder = noA.getBean(PasswordEncoder.class);
+        noA.getBean(UsuarioRepository.class)
+                .save(new Usuario("Usuário Cluster", EMAIL, passwordEncoder.encode(SENHA)));
+    }
+
+    @AfterAll
+    static void encerrarNos() {
+        noB.close();
+        noA.close();
+    }
+
+    private static ConfigurableApplicationContext iniciarNo() {
+        // Argumentos de linha de comando: precedem o application-test.properties
+        return new SpringApplicationBuilder(BalaioApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:sessoes;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "--spring.autoconfigure.exclude=",
+                        "--server.port=0",
+                        "--balaio.sessao.jdbc.habilitada=true",
+                        "--balaio.sessao.limpeza.cron=-",
+                        "--balaio.sessao.limpeza.lote=2",
+                        "--spring.main.banner-mode=off");
+    }
+
+    @Test
+    @DisplayName("TC076 - Sessão criada em um nó deve valer no outro e o limite de sessões deve ser do cluster")
+    void sessaoDeveSerCompartilhadaEntreNos() throws Exception {
+        String sessaoA = login(noA);
+
+        HttpResponse<String> perfilNoB = get(noB, "/api/usuarios/perfil", sessaoA);
+        assertEquals(200, perfilNoB.statusCode());
+        assertTrue(perfilNoB.body().contains(EMAIL));
+
+        // maximumSessions(1): o segundo login, em outro nó, expira a sessão aberta no primeiro
+        String sessaoB = login(noB);
+        assertFalse(get(noA, "/api/usuarios/perfil", sessaoA).body().contains(EMAIL));
+        assertTrue(get(noA, "/api/usuarios/perfil", sessaoB).body().contains(EMAIL));
+
+        // Atributos comprimidos: contexto de segurança e UsuarioSessao bem abaixo de 1 KB cada
+        Integer maiorAtributo = noB.getBean(JdbcTemplate.class).queryForObject(
+                "SELECT MAX(LENGTH(ATTRIBUTE_BYTES)) FROM SPRING_SESSION_ATTRIBUTES", Integer.class);
+        assertTrue(maiorAtributo < 1024, "Maior atributo de sessão: " + maiorAtributo + " bytes");
+    }
+
+    @Test
+    @DisplayName("TC077 - Limpeza deve excluir em lotes só as sessões expiradas")
+    void limpezaDeveExcluirSessoesExpiradasEmLotes() {
+        JdbcIndexedSessionRepository repositorio = noA.getBean(JdbcIndexedSessionRepository.class);
+        JdbcTemplate jdbcTemplate = noA.getBean(JdbcTemplate.class);
+        for (int i = 0; i < 5; i++) {
+            criarSessao(repositorio, Instant.now().minus(Duration.ofHours(2)));
+        }
+        String ativa = criarSessao(repositorio, Instant.now());
+
+        // Lote de 2: três DELETEs para as cinco expiradas
+        assertEquals(5, noB.getBean(LimpezaSessoesService.class).excluirExpiradas());
+        assertEquals(0, noB.getBean(LimpezaSessoesService.class).excluirExpiradas());
+
+        assertNotNull(repositorio.findById(ativa));
+        Integer orfaos = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM SPRING_SESSION_ATTRIBUTES a "
+                + "WHERE NOT EXISTS (SELECT 1 FROM SPRING_SESSION s WHERE s.PRIMARY_ID = a.SESSION_PRIMARY_ID)",
+                Integer.class);
+        assertEquals(0, orfaos);
+    }
+
+    private static <S extends Session> String criarSessao(SessionRepository<S> repositorio, Instant ultimoAcesso) {
+        S sessao = repositorio.createSession();
+        sessao.setLastAccessedTime(ultimoAcesso);
+        sessao.setAttribute(UsuarioSessao.ATRIBUTO, new UsuarioSessao(1L, EMAIL, "Usuário Cluster"));
+        repositorio.save(sessao);
+        return sessao.getId();
+    }
+
+    private String login(ConfigurableApplicationContext no) throws Exception {
+        String formulario = "email=" + URLEncoder.encode(EMAIL, StandardCharsets.UTF_8) + "&senha=" + SENHA;
+        HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(uri(no, "/balaio/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formulario))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(302, resposta.statusCode());
+        assertTrue(resposta.headers().firstValue("Location").orElseThrow().endsWith("/balaio"));
+        String cookie = resposta.headers().firstValue("Set-Cookie").orElseThrow();
+        return cookie.substring(0, cookie.indexOf(';'));
+    }
+
+    private HttpResponse<String> get(ConfigurableApplicationContext no, String caminho, String cookie)
+            throws Exception {
+        return http.send(HttpRequest.newBuilder(uri(no, caminho)).header("Cookie", cookie).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static URI uri(ConfigurableApplicationContext no, String caminho) {
+        int porta = ((ServletWebServerApplicationContext) no).getWebServer().getPort();
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+}
@@ -0,0 +1,246 @@
+package com.balaio.config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.balaio.BalaioApplication;
+import com.balaio.dto.ItemLoteDTO;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+import com.balaio.repository.UsuarioRepository;
+import com.balaio.service.ItemService;
+import com.balaio.service.ListaService;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Mesma carga HTTP (clientes simultâneos lendo os itens de uma lista) contra um nó com threads de
+ * plataforma e outro com threads virtuais, com o mesmo pool de conexões. O H2 em memória não bloqueia:
+ * cada comando JDBC recebe uma latência fixa, como a ida e volta até um banco na rede.
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DisplayName("Benchmark - Threads de plataforma x threads virtuais")
+class ThreadsVirtuaisBenchmarkTest {
+
+    private static final int CLIENTES = 400;
+    private static final int POOL = 50;
+    private static final Duration LATENCIA_BANCO = Duration.ofMillis(5);
+    private static final Duration AQUECIMENTO = Duration.ofSeconds(3);
+    private static final Duration MEDICAO = Duration.ofSeconds(10);
+
+    private static final String EMAIL = "carga@email.com";
+    private static final String SENHA = "Senha123";
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    @DisplayName("Deve comparar vazão e latência com threads de plataforma e virtuais")
+    void deveCompararThreadsDePlataformaEVirtuais() throws Exception {
+        Resultado plataforma = medir(false);
+        Resultado virtuais = medir(true);
+
+        System.out.printf("%n%d clientes, pool de %d conexões, %d ms por comando JDBC, %d s de medição%n",
+                CLIENTES, POOL, LATENCIA_BANCO.toMillis(), MEDICAO.toSeconds());
+        System.out.printf("%-12s %10s %10s %10s %8s %16s%n",
+                "threads", "req/s", "p50 (ms)", "p99 (ms)", "erros", "threads SO (pico)");
+        imprimir("plataforma", plataforma);
+        imprimir("virtuais", virtuais);
+        System.out.printf("vazão: %.2fx%n%n", virtuais.porSegundo() / plataforma.porSegundo());
+
+        // Erros (esperas além de balaio.db.espera-maxima) entram na tabela: dependem da máquina
+        assertFalse(plataforma.latencias.isEmpty());
+        assertFalse(virtuais.latencias.isEmpty());
+    }
+
+    private Resultado medir(boolean threadsVirtuais) throws Exception {
+        try (ConfigurableApplicationContext no = iniciarNo(threadsVirtuais)) {
+            Long listaId = preparar(no);
+            String cookie = login(no);
+            URI itens = uri(no, "/api/listas/" + listaId + "/itens?limite=20");
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+
+            long inicioMedicao = System.nanoTime() + AQUECIMENTO.toNanos();
+            long fim = inicioMedicao + MEDICAO.toNanos();
+            AtomicInteger erros = new AtomicInteger();
+            List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+
+            try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> tarefas = new ArrayList<>();
+                for (int i = 0; i < CLIENTES; i++) {
+                    tarefas.add(clientes.submit(() -> {
+                        List<Long> minhas = new ArrayList<>();
+                        HttpRequest requisicao = HttpRequest.newBuilder(itens).header("Cookie", cookie).GET().build();
+                        long agora;
+                        while ((agora = System.nanoTime()) < fim) {
+                            HttpResponse<Void> resposta = http.send(requisicao, HttpResponse.BodyHandlers.discarding());
+                            if (agora < inicioMedicao) {
+                                continue;
+                            }
+                            if (resposta.statusCode() == 200) {
+                                minhas.add(System.nanoTime() - agora);
+                            } else {
+                                erros.incrementAndGet();
+                            }
+                        }
+                        latencias.addAll(minhas);
+                        return null;
+                    }));
+                }
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+            }
+
+            List<Long> ordenadas = new ArrayList<>(latencias);
+            Collections.sort(ordenadas);
+            return new Resultado(ordenadas, erros.get(), threads.getPeakThreadCount());
+        }
+    }
+
+    private static ConfigurableApplicationContext iniciarNo(boolean threadsVirtuais) {
+        String banco = threadsVirtuais ? "carga-virtuais" : "carga-plataforma";
+        return new SpringApplicationBuilder(BalaioApplication.class)
+                .profiles("test")
+                .initializers(contexto -> contexto.getBeanFactory().addBeanPostProcessor(latenciaNoBanco()))
+                .run("--spring.datasource.url=jdbc:h2:mem:" + banco + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "--spring.autoconfigure.exclude=",
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL,
+                        // O DataSource com latência não é mais o HikariDataSource: o limite vai explícito
+                        "--balaio.db.concorrencia-maxima=" + POOL,
+                        "--spring.main.banner-mode=off");
+    }
+
+    private static Long preparar(ConfigurableApplicationContext no) {
+        PasswordEncoder passwordEncoder = no.getBean(PasswordEncoder.class);
+        Usuario usuario = no.getBean(UsuarioRepository.class)
+                .save(new Usuario("Usuário Carga", EMAIL, passwordEncoder.encode(SENHA)));
+        Lista lista = no.getBean(ListaService.class).criarLista("Lista da carga", null, usuario.getId());
+
+        List<ItemLoteDTO> linhas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            linhas.add(new ItemLoteDTO("Item " + i, 1, BigDecimal.ONE, "un"));
+        }
+        no.getBean(ItemService.class).criarItens(lista.getId(), linhas, usuario.getId());
+        return lista.getId();
+    }
+
+    private String login(ConfigurableApplicationContext no) throws Exception {
+        String formulario = "email=" + URLEncoder.encode(EMAIL, StandardCharsets.UTF_8) + "&senha=" + SENHA;
+        HttpResponse<String> resposta = http.send(HttpRequest.newBuilder(uri(no, "/balaio/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(formulario))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        String cookie = resposta.headers().firstValue("Set-Cookie").orElseThrow();
+        return cookie.substring(0, cookie.indexOf(';'));
+    }
+
+    private static URI uri(ConfigurableApplicationContext no, String caminho) {
+        int porta = ((ServletWebServerApplicationContext) no).getWebServer().getPort();
+        return URI.create("http://localhost:" + porta + caminho);
+    }
+
+    private static void imprimir(String modo, Resultado resultado) {
+        System.out.printf("%-12s %10.0f %10.1f %10.1f %8d %16d%n", modo, resultado.porSegundo(),
+                resultado.percentil(0.50), resultado.percentil(0.99), resultado.erros, resultado.picoThreads);
+    }
+
+    private static BeanPostProcessor latenciaNoBanco() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof HikariDataSource hikari ? new LatenciaDataSource(hikari) : bean;
+            }
+        };
+    }
+
+    /**
+     * Espera LATENCIA_BANCO antes de cada execute* dos comandos JDBC.
+     */
+    private static class LatenciaDataSource extends DelegatingDataSource {
+
+        LatenciaDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return comLatencia(super.getConnection(), Connection.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T comLatencia(T alvo, Class<T> tipo) {
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo},
+                    (proxy, metodo, argumentos) -> {
+                        if (metodo.getName().startsWith("execute")) {
+                            Thread.sleep(LATENCIA_BANCO);
+                        }
+                        Object retorno;
+                        try {
+                            retorno = metodo.invoke(alvo, argumentos);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        Class<?> tipoRetorno = metodo.getReturnType();
+                        if (tipoRetorno == Statement.class || tipoRetorno == PreparedStatement.class
+                                || tipoRetorno == CallableStatement.class) {
+                            return comLatencia(retorno, (Class<Object>) tipoRetorno);
+                        }
+                        return retorno;
+                    });
+        }
+    }
+
+    private record Resultado(List<Long> latencias, int erros, int picoThreads) {
+
+        double porSegundo() {
+            return latencias.size() / (double) MEDICAO.toSeconds();
+        }
+
+        double percentil(double p) {
+            if (latencias.isEmpty()) {
+                return 0;
+            }
+            return latencias.get((int) Math.min(latencias.size() - 1, Math.floor(p * latencias.size()))) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.balaio.config;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.h2.jdbc.JdbcConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+import com.balaio.repository.UsuarioRepository;
+import com.balaio.service.AcessoListaService;
+import com.balaio.service.ConflitoException;
+import com.balaio.service.ItemService;
+import com.balaio.service.ListaService;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtuais;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.autoconfigure.exclude=",
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4",
+        // Folga para as 200 transações enfileiradas em máquinas lentas; o Hikari esperaria 60s
+        "spring.datasource.hikari.connection-timeout=60000",
+        "balaio.db.espera-maxima=PT10S"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Modo de threads virtuais")
+class ThreadsVirtuaisTest {
+
+    private static final int TAREFAS = 200;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ListaService listaService;
+
+    @Autowired
+    private AcessoListaService acessoListaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Usuario usuario;
+    private Lista lista;
+
+    @BeforeEach
+    void setUp() {
+        String email = "virtual" + System.nanoTime() + "@email.com";
+        usuario = usuarioRepository.save(new Usuario("Usuário Virtual", email, "senha-codificada"));
+        lista = listaService.criarLista("Lista virtual", null, usuario.getId());
+    }
+
+    @Test
+    @DisplayName("TC088 - Com threads virtuais, o acesso ao banco deve ficar limitado ao tamanho do pool")
+    void acessoAoBancoDeveSerLimitadoAoPool() throws Exception {
+        LimiteConexoesDataSource limitado = assertInstanceOf(LimiteConexoesDataSource.class, dataSource);
+        assertEquals(4, limitado.getLimite());
+
+        List<Connection> abertas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            abertas.add(dataSource.getConnection());
+        }
+        // Quinta conexão: falha após balaio.db.espera-maxima, não após o connectionTimeout do Hikari
+        long inicio = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertTrue(Duration.ofNanos(System.nanoTime() - inicio).compareTo(Duration.ofSeconds(30)) < 0);
+
+        // close() repetido devolve a permissão uma vez só
+        abertas.get(0).close();
+        abertas.get(0).close();
+        assertEquals(3, limitado.getEmUso());
+        try (Connection conexao = dataSource.getConnection()) {
+            assertEquals(4, limitado.getEmUso());
+            // Identidade do proxy, não da conexão do pool
+            assertEquals(conexao, conexao);
+            assertEquals(System.identityHashCode(conexao), conexao.hashCode());
+            assertNotEquals(conexao, abertas.get(1));
+            assertSame(conexao, conexao.unwrap(Connection.class));
+            assertTrue(conexao.isWrapperFor(ConnectionProxy.class));
+            assertInstanceOf(JdbcConnection.class, conexao.unwrap(JdbcConnection.class));
+            assertInstanceOf(JdbcConnection.class,
+                    DataSourceUtils.getTargetConnection(conexao).unwrap(JdbcConnection.class));
+        }
+        for (Connection conexao : abertas) {
+            conexao.close();
+        }
+        assertEquals(0, limitado.getEmUso());
+
+        // Uma thread virtual por tarefa: todas são atendidas, sem passar do limite de conexões
+        AtomicInteger maximoEmUso = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Item>> tarefas = new ArrayList<>();
+            for (int i = 0; i < TAREFAS; i++) {
+                String nome = "Item " + i;
+                tarefas.add(executor.submit(() -> {
+                    Item item = itemService.criarItem(nome, 1, BigDecimal.ONE, null, lista.getId(), usuario.getId());
+                    maximoEmUso.accumulateAndGet(limitado.getEmUso(), Math::max);
+                    return item;
+                }));
+            }
+            for (Future<Item> tarefa : tarefas) {
+                tarefa.get();
+            }
+        }
+        assertTrue(maximoEmUso.get() <= 4, "Conexões em uso: " + maximoEmUso.get());
+        assertEquals(TAREFAS, itemService.contarItensPorStatus(lista.getId(), Item.StatusItem.PENDENTE,
+                usuario.getId()));
+    }
+
+    @Test
+    @DisplayName("TC089 - Operações em threads virtuais não devem fixar a thread por causa do código da aplicação")
+    void operacoesNaoDevemFixarThreadVirtual() throws Exception {
+        List<Usuario> colaboradores = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Usuario colaborador = usuarioRepository.save(new Usuario("Colaborador " + i,
+                    "colabvirtual" + i + "-" + System.nanoTime() + "@email.com", "senha-codificada"));
+            listaService.compartilharLista(lista.getId(), colaborador.getEmail(), usuario.getId());
+            colaboradores.add(colaborador);
+        }
+        Item disputado = itemService.criarItem("Disputado", 1, BigDecimal.TEN, null, lista.getId(), usuario.getId());
+        String hash = passwordEncoder.encode("Senha123");
+
+        List<RecordedEvent> fixacoes = new ArrayList<>();
+        try (RecordingStream gravacao = new RecordingStream()) {
+            gravacao.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            gravacao.onEvent("jdk.VirtualThreadPinned", evento -> {
+                synchronized (fixacoes) {
+                    fixacoes.add(evento);
+                }
+            });
+            gravacao.startAsync();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> tarefas = new ArrayList<>();
+                for (int i = 0; i < TAREFAS; i++) {
+                    Usuario colaborador = colaboradores.get(i % colaboradores.size());
+                    int indice = i;
+                    tarefas.add(executor.submit(() -> {
+                        // Verificação de acesso fora de transação: falha de cache consulta o banco
+                        acessoListaService.temAcesso(lista.getId() + indice % 3, colaborador.getId());
+                        Item item = itemService.criarItem("Item " + indice, 1, null, null, lista.getId(),
+                                colaborador.getId());
+                        itemService.marcarComoComprado(item.getId(), colaborador.getId());
+                        // Alternâncias concorrentes do mesmo item (conflito é um resultado esperado)
+                        try {
+                            if (indice % 2 == 0) {
+                                itemService.marcarComoComprado(disputado.getId(), colaborador.getId());
+                            } else {
+                                itemService.marcarComoPendente(disputado.getId(), colaborador.getId());
+                            }
+                        } catch (ConflitoException e) {
+                            // outro colaborador venceu as tentativas
+                        }
+                        itemService.listarItensPaginados(lista.getId(), null, null, 20, colaborador.getId());
+                        if (indice % 20 == 0) {
+                            passwordEncoder.matches("Senha123", hash);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> tarefa : tarefas) {
+                    tarefa.get();
+                }
+            }
+
+            // Falha de cache com o banco saturado: a consulta espera por uma conexão
+            Usuario novoColaborador = usuarioRepository.save(new Usuario("Colaborador Tardio",
+                    "tardio" + System.nanoTime() + "@email.com", "senha-codificada"));
+            List<Connection> ocupadas = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                ocupadas.add(dataSource.getConnection());
+            }
+            Thread espera = Thread.ofVirtual()
+                    .start(() -> acessoListaService.temAcesso(lista.getId(), novoColaborador.getId()));
+            Thread.sleep(100);
+            for (Connection conexao : ocupadas) {
+                conexao.close();
+            }
+            espera.join();
+
+            // Controle: um sleep dentro de synchronized precisa ser detectado
+            Object monitor = new Object();
+            Thread.ofVirtual().name("controle-fixacao").start(() -> {
+                synchronized (monitor) {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+
+            // stop() entrega os eventos ainda em buffer antes de retornar
+            gravacao.stop();
+        }
+
+        List<RecordedEvent> controle = fixacoes.stream()
+                .filter(evento -> "controle-fixacao".equals(evento.getThread().getJavaName()))
+                .toList();
+        assertFalse(controle.isEmpty(), "A gravação JFR não detectou a fixação de controle");
+
+        List<String> daAplicacao = new ArrayList<>();
+        // Fixação dentro de driver ou biblioteca: não é corrigível aqui, só acompanha a falha
+        List<String> foraDaAplicacao = new ArrayList<>();
+        for (RecordedEvent evento : fixacoes) {
+            if (controle.contains(evento)) {
+                continue;
+            }
+            (originadaNaAplicacao(evento) ? daAplicacao : foraDaAplicacao).add(pilha(evento));
+        }
+        assertTrue(daAplicacao.isEmpty(), "Threads virtuais fixadas pelo código da aplicação:\n"
+                + String.join("\n", daAplicacao) + "\nFixadas fora da aplicação:\n"
+                + String.join("\n", foraDaAplicacao));
+    }
+
+    /**
+     * A fixação é da aplicação quando, entre o ponto de espera e o primeiro quadro com.balaio,
+     * só há quadros do JDK: o monitor que prende a thread foi tomado pelo nosso código (ou por
+     * uma estrutura do JDK chamada por ele), não por um driver ou biblioteca.
+     */
+    private static boolean originadaNaAplicacao(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return false;
+        }
+        for (RecordedFrame quadro : evento.getStackTrace().getFrames()) {
+            String classe = quadro.getMethod().getType().getName();
+            if (classe.startsWith("com.balaio.")) {
+                return true;
+            }
+            if (!classe.startsWith("java.") && !classe.startsWith("jdk.") && !classe.startsWith("sun.")) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String pilha(RecordedEvent evento) {
+        if (evento.getStackTrace() == null) {
+            return "  (sem pilha)";
+        }
+        StringBuilder pilha = new StringBuilder();
+        for (RecordedFrame quadro : evento.getStackTrace().getFrames()) {
+            pilha.append("  ").append(quadro.getMethod().getType().getName()).append('.')
+                    .append(quadro.getMethod().getName()).append(':').append(quadro.getLineNumber()).append('\n');
+        }
+        return pilha.toString();
+    }
+}
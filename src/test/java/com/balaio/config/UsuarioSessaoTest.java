@@ -0,0 +1,57 @@
+package com.balaio.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import com.balaio.model.Usuario;
+
+@DisplayName("Testes da Sessão - Tamanho do usuário logado")
+class UsuarioSessaoTest {
+
+    private static final int LIMITE_USUARIO_SESSAO = 384;
+    private static final int LIMITE_SESSAO_COMPLETA = 2048;
+
+    @Test
+    @DisplayName("TC074 - Dados do usuário na sessão devem ser serializáveis e pequenos")
+    void usuarioSessaoDeveSerPequeno() throws Exception {
+        Usuario usuario = new Usuario("João Silva", "joao@example.com", "$2a$10$hashDaSenhaCodificadaComBcrypt123456");
+        usuario.setId(1L);
+
+        UsuarioSessao sessao = UsuarioSessao.de(usuario);
+        int bytesUsuarioSessao = serializar(sessao);
+        assertTrue(bytesUsuarioSessao <= LIMITE_USUARIO_SESSAO,
+                "UsuarioSessao ocupa " + bytesUsuarioSessao + " bytes");
+
+        // O contexto do Spring Security também vai para a sessão: a senha é descartada após o login
+        UsuarioAutenticado principal = new UsuarioAutenticado(usuario);
+        UsernamePasswordAuthenticationToken autenticacao = UsernamePasswordAuthenticationToken.authenticated(
+                principal, usuario.getSenha(), principal.getAuthorities());
+        autenticacao.eraseCredentials();
+        assertNull(principal.getPassword());
+        int bytesSessao = bytesUsuarioSessao + serializar(new SecurityContextImpl(autenticacao));
+        assertTrue(bytesSessao <= LIMITE_SESSAO_COMPLETA, "Sessão ocupa " + bytesSessao + " bytes");
+
+        // A entidade, que antes ia para a sessão, nem é serializável
+        assertThrows(NotSerializableException.class, () -> serializar(usuario));
+        assertEquals("joao@example.com", sessao.getEmail());
+    }
+
+    private static int serializar(Object objeto) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream saida = new ObjectOutputStream(bytes)) {
+            saida.writeObject(objeto);
+        }
+        return bytes.size();
+    }
+}
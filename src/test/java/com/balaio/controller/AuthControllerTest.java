@@ -1,8 +1,11 @@
 package com.balaio.controller;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,6 +26,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.balaio.config.UsuarioSessao;
 import com.balaio.model.Usuario;
 import com.balaio.service.UsuarioService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -86,6 +90,27 @@ class AuthControllerTest {
         verify(passwordEncoder).matches("Senha123", usuario.getSenha());
     }
 
+    @Test
+    @DisplayName("TC075 - Login deve guardar na sessão só os dados de identificação do usuário")
+    void loginDeveGuardarSessaoEnxuta() throws Exception {
+        String loginJson = "{\"email\":\"joao@example.com\",\"senha\":\"Senha123\"}";
+
+        when(usuarioService.buscarPorEmail("joao@example.com")).thenReturn(Optional.of(usuario));
+        when(passwordEncoder.matches("Senha123", usuario.getSenha())).thenReturn(true);
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(loginJson)
+                .session(session))
+                .andExpect(status().isOk());
+
+        UsuarioSessao guardado = (UsuarioSessao) session.getAttribute(UsuarioSessao.ATRIBUTO);
+        assertEquals(1L, guardado.getId());
+        assertEquals("joao@example.com", guardado.getEmail());
+        assertEquals("João Silva", guardado.getNomeCompleto());
+        assertEquals(List.of(UsuarioSessao.ATRIBUTO), Collections.list(session.getAttributeNames()));
+    }
+
     @Test
     @DisplayName("CA5 - Deve retornar erro genérico quando email não existe")
     void deveRetornarErroQuandoEmailNaoExiste() throws Exception {
@@ -170,9 +195,7 @@ class AuthControllerTest {
     @DisplayName("CA5, CA6 - Deve fazer logout com sucesso")
     void deveFazerLogoutComSucesso() throws Exception {
         // Arrange
-        session.setAttribute("usuarioLogado", usuario);
-        session.setAttribute("usuarioId", usuario.getId());
-        session.setAttribute("usuarioEmail", usuario.getEmail());
+        session.setAttribute(UsuarioSessao.ATRIBUTO, UsuarioSessao.de(usuario));
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/logout")
@@ -186,7 +209,7 @@ class AuthControllerTest {
     @DisplayName("CA3 - Deve verificar sessão ativa")
     void deveVerificarSessaoAtiva() throws Exception {
         // Arrange
-        session.setAttribute("usuarioLogado", usuario);
+        session.setAttribute(UsuarioSessao.ATRIBUTO, UsuarioSessao.de(usuario));
 
         // Act & Assert
         mockMvc.perform(post("/api/auth/verificar-sessao")
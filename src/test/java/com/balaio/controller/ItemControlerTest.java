@@ -1,28 +1,50 @@
 package com.balaio.controller;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.balaio.config.UsuarioAutenticado;
+import com.balaio.dto.EstatisticasItensDTO;
+import com.balaio.dto.OperacaoSincronizacaoDTO;
+import com.balaio.dto.PaginaDTO;
+import com.balaio.dto.ResultadoLoteDTO;
+import com.balaio.dto.ResultadoSincronizacaoDTO;
+import com.balaio.dto.VersaoListaDTO;
 import com.balaio.model.Item;
 import com.balaio.model.Lista;
 import com.balaio.model.Usuario;
+import com.balaio.service.ConflitoException;
 import com.balaio.service.ItemService;
+import com.balaio.service.ListaService;
 import com.balaio.service.UsuarioService;
 
 @WebMvcTest(ItemController.class)
@@ -36,6 +58,9 @@ class ItemControllerTest {
     @MockBean
     private ItemService itemService;
 
+    @MockBean
+    private ListaService listaService;
+
     @MockBean
     private UsuarioService usuarioService;
 
@@ -64,8 +89,9 @@ class ItemControllerTest {
         when(usuarioService.buscarPorEmail("joao@example.com"))
                 .thenReturn(Optional.of(usuario));
 
-        when(itemService.listarItensDaLista(10L, 1L))
-                .thenReturn(List.of(item));
+        when(listaService.buscarVersao(10L, 1L)).thenReturn(Optional.of(new VersaoListaDTO(0L, 0L, null, 0, null, null)));
+        when(itemService.listarItensPaginados(10L, null, null, null, 1L))
+                .thenReturn(new PaginaDTO<>(List.of(item), null));
 
         // Act & Assert
         mockMvc.perform(get("/api/listas/{listaId}/itens", 10L)
@@ -76,8 +102,223 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].nomeProduto").value("Arroz"))
                 .andExpect(jsonPath("$[0].status").value("PENDENTE"))
-                .andExpect(jsonPath("$[0].lista.id").value(10));
+                .andExpect(jsonPath("$[0].lista.id").value(10))
+                .andExpect(header().doesNotExist(PaginaDTO.HEADER_PROXIMO_CURSOR));
+
+        verify(itemService).listarItensPaginados(10L, null, null, null, 1L);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@example.com")
+    @DisplayName("TC053 - Deve devolver o cursor da próxima página no cabeçalho")
+    void deveDevolverCursorDaProximaPagina() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+
+        Lista lista = new Lista();
+        lista.setId(10L);
+
+        Item item = new Item();
+        item.setId(7L);
+        item.setNomeProduto("Feijão");
+        item.setQuantidade(1);
+        item.setStatus(Item.StatusItem.PENDENTE);
+        item.setLista(lista);
+
+        when(usuarioService.buscarPorEmail("joao@example.com"))
+                .thenReturn(Optional.of(usuario));
+        when(listaService.buscarVersao(10L, 1L)).thenReturn(Optional.of(new VersaoListaDTO(0L, 0L, null, 0, null, null)));
+        when(itemService.listarItensPaginados(10L, Item.StatusItem.PENDENTE, "abc", 1, 1L))
+                .thenReturn(new PaginaDTO<>(List.of(item), "def"));
+
+        mockMvc.perform(get("/api/listas/{listaId}/itens/pendentes", 10L)
+                .param("cursor", "abc")
+                .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(header().string(PaginaDTO.HEADER_PROXIMO_CURSOR, "def"));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@example.com")
+    @DisplayName("TC061 - Deve devolver o resultado de cada linha do cadastro em lote")
+    void deveDevolverResultadoPorLinhaNoLote() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+
+        Lista lista = new Lista();
+        lista.setId(10L);
+
+        Item item = new Item();
+        item.setId(3L);
+        item.setNomeProduto("Arroz");
+        item.setQuantidade(2);
+        item.setStatus(Item.StatusItem.PENDENTE);
+        item.setLista(lista);
+
+        when(usuarioService.buscarPorEmail("joao@example.com"))
+                .thenReturn(Optional.of(usuario));
+        when(itemService.criarItens(eq(10L), anyList(), eq(1L)))
+                .thenReturn(List.of(ResultadoLoteDTO.criado(0, item),
+                        ResultadoLoteDTO.falha(1, "Nome do produto é obrigatório")));
+
+        String json = """
+            [
+              {"nomeProduto": "Arroz", "quantidade": 2, "unidade": "kg"},
+              {"nomeProduto": "", "quantidade": 1}
+            ]
+        """;
+
+        mockMvc.perform(post("/api/listas/{listaId}/itens/lote", 10L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.criados").value(1))
+                .andExpect(jsonPath("$.falhas").value(1))
+                .andExpect(jsonPath("$.resultados[0].sucesso").value(true))
+                .andExpect(jsonPath("$.resultados[0].item.id").value(3))
+                .andExpect(jsonPath("$.resultados[1].indice").value(1))
+                .andExpect(jsonPath("$.resultados[1].erro").value("Nome do produto é obrigatório"));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@example.com")
+    @DisplayName("TC072 - Deve devolver as estatísticas da lista com detalhamento por unidade")
+    void deveDevolverEstatisticasPorUnidade() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+
+        EstatisticasItensDTO estatisticas = new EstatisticasItensDTO(null, true);
+        EstatisticasItensDTO quilos = new EstatisticasItensDTO("kg", false);
+        quilos.somar(Item.StatusItem.COMPRADO, 2, new BigDecimal("21.00"));
+        quilos.somar(Item.StatusItem.PENDENTE, 1, new BigDecimal("8.00"));
+        estatisticas.getPorUnidade().add(quilos);
+        estatisticas.somar(Item.StatusItem.COMPRADO, 2, new BigDecimal("21.00"));
+        estatisticas.somar(Item.StatusItem.PENDENTE, 1, new BigDecimal("8.00"));
+
+        when(usuarioService.buscarPorEmail("joao@example.com"))
+                .thenReturn(Optional.of(usuario));
+        when(itemService.calcularEstatisticas(10L, true, 1L)).thenReturn(estatisticas);
+
+        mockMvc.perform(get("/api/listas/{listaId}/itens/estatisticas", 10L)
+                .param("porUnidade", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.comprados").value(2))
+                .andExpect(jsonPath("$.gastoComprado").value(21.00))
+                .andExpect(jsonPath("$.gastoEstimado").value(29.00))
+                .andExpect(jsonPath("$.unidade").doesNotExist())
+                .andExpect(jsonPath("$.porUnidade[0].unidade").value("kg"))
+                .andExpect(jsonPath("$.porUnidade[0].pendentes").value(1));
+
+        verify(itemService).calcularEstatisticas(10L, true, 1L);
+    }
+
+    @Test
+    @DisplayName("TC073 - Deve identificar o usuário pelo principal autenticado sem consultar usuários")
+    void deveIdentificarUsuarioPeloPrincipal() throws Exception {
+        UsuarioAutenticado principal = new UsuarioAutenticado(1L, "joao@example.com", "João Silva", null);
+        TestSecurityContextHolder.setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+        when(itemService.marcarTodosComoComprados(10L, 1L)).thenReturn(4);
+
+        mockMvc.perform(put("/api/listas/{listaId}/itens/marcar-todos-comprados", 10L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.alterados").value(4));
+
+        verify(itemService).marcarTodosComoComprados(10L, 1L);
+        verifyNoInteractions(usuarioService);
+    }
+
+    @Test
+    @DisplayName("TC079 - Edição com versão desatualizada deve responder 409 com o estado atual do item")
+    void edicaoComVersaoDesatualizadaDeveResponderConflito() throws Exception {
+        UsuarioAutenticado principal = new UsuarioAutenticado(1L, "joao@example.com", "João Silva", null);
+        TestSecurityContextHolder.setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+
+        Lista lista = new Lista();
+        lista.setId(10L);
+        lista.setTitulo("Lista de Compras");
+
+        Item atual = new Item();
+        atual.setId(5L);
+        atual.setNomeProduto("Arroz");
+        atual.setQuantidade(3);
+        atual.setStatus(Item.StatusItem.COMPRADO);
+        atual.setVersao(4L);
+        atual.setLista(lista);
+
+        when(itemService.atualizarItem(5L, "Arroz", 2, null, null, 3L, 1L))
+                .thenThrow(new ConflitoException("O item foi alterado por outro usuário"));
+        when(itemService.buscarPorId(5L)).thenReturn(Optional.of(atual));
+
+        mockMvc.perform(put("/api/listas/{listaId}/itens/{itemId}", 10L, 5L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "nomeProduto": "Arroz", "quantidade": 2, "versao": 3 }
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.erro").value("O item foi alterado por outro usuário"))
+                .andExpect(jsonPath("$.item.quantidade").value(3))
+                .andExpect(jsonPath("$.item.status").value("COMPRADO"))
+                .andExpect(jsonPath("$.item.versao").value(4));
+    }
+
+    @Test
+    @DisplayName("TC081 - Deve responder 304 sem consultar os itens quando a lista não mudou")
+    void deveResponderNaoModificadaSemConsultarItens() throws Exception {
+        UsuarioAutenticado principal = new UsuarioAutenticado(1L, "joao@example.com", "João Silva", null);
+        TestSecurityContextHolder.setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+        when(listaService.buscarVersao(10L, 1L)).thenReturn(Optional.of(new VersaoListaDTO(1L, 42L, null, 0, null, null)));
+
+        mockMvc.perform(get("/api/listas/{listaId}/itens/comprados", 10L).header("If-None-Match", "\"1.42.0.0\""))
+                .andExpect(status().isNotModified());
+        verify(itemService, never()).listarItensPaginados(anyLong(), any(), any(), any(), anyLong());
+
+        // Sem acesso: nem os validadores são revelados
+        mockMvc.perform(get("/api/listas/{listaId}/itens", 11L).header("If-None-Match", "\"1.42.0.0\""))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    @DisplayName("TC087 - Deve aplicar as operações offline e devolver o resultado de cada uma")
+    void deveAplicarOperacoesOffline() throws Exception {
+        UsuarioAutenticado principal = new UsuarioAutenticado(1L, "joao@example.com", "João Silva", null);
+        TestSecurityContextHolder.setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+
+        Item criado = new Item();
+        criado.setId(7L);
+        criado.setNomeProduto("Pão");
+        criado.setQuantidade(6);
+        criado.setStatus(Item.StatusItem.PENDENTE);
+        criado.setVersao(0L);
+
+        when(itemService.sincronizar(eq(10L), anyList(), eq(1L))).thenReturn(List.of(
+                new ResultadoSincronizacaoDTO(0, ResultadoSincronizacaoDTO.Situacao.APLICADA, criado, null),
+                new ResultadoSincronizacaoDTO(1, ResultadoSincronizacaoDTO.Situacao.EXCLUIDO, null, null)));
+
+        mockMvc.perform(post("/api/listas/{listaId}/itens/sincronizacao", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  { "tipo": "CRIAR", "item": { "nomeProduto": "Pão", "quantidade": 6 } },
+                                  { "tipo": "STATUS", "itemId": 3, "status": "COMPRADO" }
+                                ]
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aplicadas").value(1))
+                .andExpect(jsonPath("$.resultados[0].situacao").value("APLICADA"))
+                .andExpect(jsonPath("$.resultados[0].item.id").value(7))
+                .andExpect(jsonPath("$.resultados[1].situacao").value("EXCLUIDO"));
 
-        verify(itemService).listarItensDaLista(10L, 1L);
+        verify(itemService).sincronizar(eq(10L), argThat((List<OperacaoSincronizacaoDTO> operacoes) ->
+                operacoes.get(0).getItem().getNomeProduto().equals("Pão")
+                        && operacoes.get(1).getTipo() == OperacaoSincronizacaoDTO.Tipo.STATUS
+                        && operacoes.get(1).getStatus() == Item.StatusItem.COMPRADO), eq(1L));
     }
 }
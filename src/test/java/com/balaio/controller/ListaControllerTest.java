@@ -7,8 +7,11 @@ import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,12 +25,18 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.balaio.dto.PaginaDTO;
+import com.balaio.dto.VersaoListaDTO;
 import com.balaio.model.Lista;
 import com.balaio.model.Usuario;
+import com.balaio.service.AlteracoesListaService;
 import com.balaio.service.ListaService;
+import com.balaio.service.ListaService.FiltroListas;
+import com.balaio.service.ListaService.OrdenacaoListas;
 import com.balaio.service.UsuarioService;
 
 @WebMvcTest(ListaController.class)
@@ -41,6 +50,9 @@ class ListaControllerTest {
     @MockBean
     private ListaService listaService;
 
+    @MockBean
+    private AlteracoesListaService alteracoesListaService;
+
     @MockBean
     private UsuarioService usuarioService;
 
@@ -72,15 +84,109 @@ class ListaControllerTest {
     @WithMockUser(username = "joao@email.com")
     @DisplayName("TC036 - Deve listar listas do usuário")
     void deveListarListas() throws Exception {
-        when(listaService.listarListasDoUsuario(1L))
-                .thenReturn(List.of(lista));
+        when(listaService.listarListasPaginadas(1L, FiltroListas.TODAS, OrdenacaoListas.ATUALIZACAO, null, null))
+                .thenReturn(new PaginaDTO<>(List.of(lista), null));
 
         mockMvc.perform(get("/api/listas"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].titulo").value("Lista de Compras"));
+                .andExpect(jsonPath("$[0].titulo").value("Lista de Compras"))
+                .andExpect(header().doesNotExist(PaginaDTO.HEADER_PROXIMO_CURSOR));
+
+        verify(listaService).listarListasPaginadas(1L, FiltroListas.TODAS, OrdenacaoListas.ATUALIZACAO, null, null);
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("TC055 - Deve repassar filtro, ordenação e cursor e devolver o próximo cursor")
+    void deveListarListasPaginadasComFiltroEOrdenacao() throws Exception {
+        when(listaService.listarListasPaginadas(1L, FiltroListas.COMPARTILHADAS, OrdenacaoListas.TITULO, "abc", 10))
+                .thenReturn(new PaginaDTO<>(List.of(lista), "def"));
+
+        mockMvc.perform(get("/api/listas/compartilhadas")
+                .param("ordenacao", "titulo")
+                .param("cursor", "abc")
+                .param("limite", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(header().string(PaginaDTO.HEADER_PROXIMO_CURSOR, "def"));
+
+        mockMvc.perform(get("/api/listas").param("ordenacao", "preco"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("Ordenação inválida: preco"));
+    }
+
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("TC069 - Deve detalhar a lista carregada com colaboradores e negar acesso a quem não participa")
+    void deveDetalharListaComColaboradores() throws Exception {
+        lista.setColaboradores(List.of());
+        when(listaService.buscarVersao(1L)).thenReturn(Optional.of(new VersaoListaDTO(0L, 0L, null, 0, null, null)));
+        when(listaService.usuarioTemAcesso(1L, 1L)).thenReturn(true);
+        when(listaService.buscarComColaboradores(1L)).thenReturn(Optional.of(lista));
+
+        mockMvc.perform(get("/api/listas/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.titulo").value("Lista de Compras"))
+                .andExpect(jsonPath("$.proprietario.id").value(1))
+                .andExpect(jsonPath("$.colaboradores").isEmpty());
+
+        when(listaService.buscarVersao(2L)).thenReturn(Optional.of(new VersaoListaDTO(0L, 0L, null, 0, null, null)));
+        when(listaService.usuarioTemAcesso(2L, 1L)).thenReturn(false);
+        mockMvc.perform(get("/api/listas/2"))
+                .andExpect(status().isForbidden())
+                .andExpect(header().doesNotExist("ETag"));
+        verify(listaService, never()).buscarComColaboradores(2L);
+
+        // Lista inexistente: 400, como antes do GET condicional
+        when(listaService.buscarVersao(3L)).thenReturn(Optional.empty());
+        mockMvc.perform(get("/api/listas/3"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.erro").value("Lista não encontrada"));
+    }
 
-        verify(listaService).listarListasDoUsuario(1L);
+    @Test
+    @WithMockUser(username = "joao@email.com")
+    @DisplayName("TC080 - Deve responder 304 sem carregar a lista quando o cliente já tem a versão atual")
+    void deveResponderNaoModificadaComEtagAtual() throws Exception {
+        lista.setColaboradores(List.of());
+        LocalDateTime atualizacao = LocalDateTime.of(2024, 5, 1, 10, 0);
+        LocalDateTime proprietario = LocalDateTime.of(2024, 4, 1, 10, 0);
+        when(listaService.buscarVersao(1L)).thenReturn(Optional.of(
+                new VersaoListaDTO(2L, 7L, atualizacao, 0, proprietario, null)));
+        when(listaService.usuarioTemAcesso(1L, 1L)).thenReturn(true);
+        when(listaService.buscarComColaboradores(1L)).thenReturn(Optional.of(lista));
+
+        String etag = mockMvc.perform(get("/api/listas/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/listas/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+        verify(listaService, times(1)).buscarComColaboradores(1L);
+
+        // Só o ETag vale: If-Modified-Since (resolução de um segundo) não gera 304
+        mockMvc.perform(get("/api/listas/1").header("If-Modified-Since", "Wed, 01 Jan 2031 00:00:00 GMT"))
+                .andExpect(status().isOk());
+
+        // Item alterado: a revisão avançou e o ETag antigo não vale mais
+        when(listaService.buscarVersao(1L)).thenReturn(Optional.of(
+                new VersaoListaDTO(2L, 8L, atualizacao, 0, proprietario, null)));
+        String aposItem = mockMvc.perform(get("/api/listas/1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(etag, aposItem);
+
+        // Proprietário renomeado: a lista não mudou, mas o corpo sim
+        when(listaService.buscarVersao(1L)).thenReturn(Optional.of(
+                new VersaoListaDTO(2L, 8L, atualizacao, 0, proprietario.plusDays(60), null)));
+        mockMvc.perform(get("/api/listas/1").header("If-None-Match", aposItem))
+                .andExpect(status().isOk());
+        verify(listaService, times(4)).buscarComColaboradores(1L);
     }
 
     // ========= INCLUSÃO =========
@@ -122,7 +228,7 @@ class ListaControllerTest {
             }
         """;
 
-        when(listaService.atualizarLista(anyLong(), any(), any(), anyLong()))
+        when(listaService.atualizarLista(anyLong(), any(), any(), any(), anyLong()))
                 .thenReturn(lista);
 
         mockMvc.perform(put("/api/listas/1")
@@ -131,7 +237,7 @@ class ListaControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.mensagem").value("Lista atualizada com sucesso"));
 
-        verify(listaService).atualizarLista(anyLong(), any(), any(), anyLong());
+        verify(listaService).atualizarLista(anyLong(), any(), any(), any(), anyLong());
     }
 
     // ========= REMOÇÃO =========
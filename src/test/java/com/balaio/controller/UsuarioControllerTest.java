@@ -202,6 +202,7 @@ class UsuarioControllerTest {
     void deveObterPerfilUsuario() throws Exception {
         // Arrange
         when(usuarioService.buscarPorEmail("joao@example.com")).thenReturn(Optional.of(usuario));
+        when(usuarioService.buscarPorId(1L)).thenReturn(Optional.of(usuario));
 
         // Act & Assert
         mockMvc.perform(get("/api/usuarios/perfil"))
@@ -0,0 +1,120 @@
+package com.balaio.repository;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+import com.balaio.service.ItemService;
+import com.balaio.service.ListaService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.autoconfigure.exclude="
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Cache de segundo nível")
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    @Autowired
+    private ListaService listaService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("TC066 - Deve servir usuário por id e por e-mail sem consultar o banco")
+    void deveServirUsuarioDoCache() {
+        String email = "Cache" + System.nanoTime() + "@Email.com";
+        Usuario usuario = usuarioRepository.save(new Usuario("Usuário Cache", email, "senha-codificada"));
+        assertEquals(email.toLowerCase(), usuario.getEmail());
+
+        usuarioRepository.findById(usuario.getId());
+        usuarioRepository.findByEmail(email);
+        estatisticas.clear();
+
+        assertEquals(usuario.getId(), usuarioRepository.findById(usuario.getId()).orElseThrow().getId());
+        assertEquals(usuario.getId(), usuarioRepository.findByEmail(email.toUpperCase()).orElseThrow().getId());
+
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertTrue(estatisticas.getNaturalIdCacheHitCount() >= 1);
+        assertTrue(estatisticas.getDomainDataRegionStatistics(Usuario.REGIAO_CACHE).getHitCount() >= 2);
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", Usuario.REGIAO_CACHE).tag("result", "hit")
+                .functionCounter().count() >= 2);
+        assertTrue(usuarioRepository.findByEmail("inexistente" + System.nanoTime() + "@email.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("TC067 - Alterar itens de uma lista não deve descartar o cache usado pelas demais")
+    void alteracaoDeItemNaoDeveDescartarCacheDasDemaisListas() {
+        long sufixo = System.nanoTime();
+        Usuario donoA = usuarioRepository.save(new Usuario("Dono A", "donoa" + sufixo + "@email.com",
+                "senha-codificada"));
+        Usuario donoB = usuarioRepository.save(new Usuario("Dono B", "donob" + sufixo + "@email.com",
+                "senha-codificada"));
+        Lista listaA = listaService.criarLista("Lista A", null, donoA.getId());
+        Lista listaB = listaService.criarLista("Lista B", null, donoB.getId());
+        Item arroz = itemService.criarItem("Arroz", 2, new BigDecimal("5.00"), "kg", listaA.getId(), donoA.getId());
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        Runnable lerListaB = () -> transacao.executeWithoutResult(status -> {
+            Lista carregada = listaRepository.findById(listaB.getId()).orElseThrow();
+            assertEquals("Dono B", carregada.getProprietario().getNomeCompleto());
+        });
+        lerListaB.run();
+        assertFalse(entityManagerFactory.getCache().contains(Lista.class, listaB.getId()));
+
+        // UPDATE em massa dos contadores da lista A
+        itemService.marcarComoComprado(arroz.getId(), donoA.getId());
+        estatisticas.clear();
+
+        lerListaB.run();
+        // Só o SELECT da lista: o proprietário continua vindo do cache
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertTrue(estatisticas.getDomainDataRegionStatistics(Usuario.REGIAO_CACHE).getHitCount() >= 1);
+
+        // Lista fora do cache: os contadores lidos são sempre os do banco
+        Lista atualizada = listaRepository.findById(listaA.getId()).orElseThrow();
+        assertEquals(1, atualizada.getItensComprados());
+        assertEquals(0, new BigDecimal("10.00").compareTo(atualizada.getTotalGasto()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.balaio.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Guarda o SQL gerado pelo Hibernate para que os testes possam inspecionar o plano de execução.
+ */
+public class ConsultasCapturadas implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final List<String> CONSULTAS = new ArrayList<>();
+
+    @Override
+    public synchronized String inspect(String sql) {
+        CONSULTAS.add(sql);
+        return sql;
+    }
+
+    public static synchronized void limpar() {
+        CONSULTAS.clear();
+    }
+
+    public static synchronized List<String> todas() {
+        return new ArrayList<>(CONSULTAS);
+    }
+}
@@ -0,0 +1,106 @@
+package com.balaio.repository;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+
+/**
+ * Inserção de 10 mil itens com um comando JDBC por linha (comportamento de IDENTITY, que desliga os lotes)
+ * e com lotes de 50 (ids por sequência). Executar com: mvn test -Pbenchmark
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Benchmark - Inserção de itens em lote")
+class InsercaoItensBenchmarkTest {
+
+    private static final int ITENS = 10_000;
+    private static final int AQUECIMENTO = 2;
+    private static final int RODADAS = 5;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    @DisplayName("Deve comparar 10 mil inserções sem lote e com lotes de 50")
+    void deveCompararInsercaoSemLoteEComLote() {
+        Usuario usuario = em.persist(new Usuario("Atacadista", "atacado@email.com", "senha-codificada"));
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            inserir(usuario, 1);
+            inserir(usuario, 50);
+        }
+
+        Resultado semLote = medir(usuario, 1);
+        Resultado comLote = medir(usuario, 50);
+
+        System.out.printf("%n%-18s %12s %16s%n", "modo", "ms (média)", "statements JDBC");
+        System.out.printf("%-18s %12.1f %16d%n", "sem lote (1)", semLote.millis, semLote.statements);
+        System.out.printf("%-18s %12.1f %16d%n", "lote de 50", comLote.millis, comLote.statements);
+        System.out.printf("ganho: %.1fx%n%n", semLote.millis / comLote.millis);
+    }
+
+    private Resultado medir(Usuario usuario, int tamanhoLote) {
+        Statistics estatisticas = sessao().getSessionFactory().getStatistics();
+        long totalNanos = 0;
+        long statements = 0;
+        for (int i = 0; i < RODADAS; i++) {
+            estatisticas.clear();
+            totalNanos += inserir(usuario, tamanhoLote);
+            statements = estatisticas.getPrepareStatementCount();
+        }
+        return new Resultado(totalNanos / 1_000_000.0 / RODADAS, statements);
+    }
+
+    private long inserir(Usuario usuario, int tamanhoLote) {
+        Session sessao = sessao();
+        sessao.setJdbcBatchSize(tamanhoLote);
+        Lista lista = em.persist(new Lista("Atacado " + System.nanoTime(), null, usuario));
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITENS; i++) {
+            Item item = new Item("Produto " + i, 1 + i % 5, "un", lista);
+            item.setValor(new BigDecimal("3.99"));
+            em.persist(item);
+            if ((i + 1) % 500 == 0) {
+                em.flush();
+                em.clear();
+                lista = em.getEntityManager().getReference(Lista.class, lista.getId());
+            }
+        }
+        em.flush();
+        long duracao = System.nanoTime() - inicio;
+
+        em.clear();
+        assertEquals(ITENS, itemRepository.findByListaId(lista.getId()).size());
+        em.clear();
+        return duracao;
+    }
+
+    private Session sessao() {
+        return em.getEntityManager().unwrap(Session.class);
+    }
+
+    private record Resultado(double millis, long statements) {
+    }
+}
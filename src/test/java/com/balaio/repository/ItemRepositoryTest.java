@@ -0,0 +1,129 @@
+package com.balaio.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Testes do Repositório de Item - Gastos calculados no banco")
+class ItemRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Usuario joao;
+    private Usuario maria;
+    private Usuario pedro;
+    private Lista mercado;
+    private Lista feira;
+
+    @BeforeEach
+    void setUp() {
+        joao = em.persist(new Usuario("João Silva", "joao@email.com", "senha-codificada"));
+        maria = em.persist(new Usuario("Maria Santos", "maria@email.com", "senha-codificada"));
+        pedro = em.persist(new Usuario("Pedro Lima", "pedro@email.com", "senha-codificada"));
+
+        mercado = new Lista("Mercado", null, joao);
+        mercado.setColaboradores(new ArrayList<>(List.of(maria)));
+        mercado = em.persist(mercado);
+        persistirItem(mercado, 2, "10.50", Item.StatusItem.COMPRADO);
+        persistirItem(mercado, 3, "7.00", Item.StatusItem.COMPRADO);
+        persistirItem(mercado, 1, "15.00", Item.StatusItem.PENDENTE);
+        persistirItem(mercado, 1, null, Item.StatusItem.COMPRADO);
+
+        feira = em.persist(new Lista("Feira", null, maria));
+        persistirItem(feira, 4, "2.25", Item.StatusItem.COMPRADO);
+
+        em.flush();
+        em.clear();
+    }
+
+    private void persistirItem(Lista lista, int quantidade, String valor, Item.StatusItem status) {
+        Item item = new Item("Produto", quantidade, null, lista);
+        item.setValor(valor != null ? new BigDecimal(valor) : null);
+        item.setStatus(status);
+        em.persist(item);
+    }
+
+    @Test
+    @DisplayName("TC044 - Deve somar gasto dos itens comprados de uma lista")
+    void deveSomarGastoPorLista() {
+        assertEquals(0, new BigDecimal("42.00").compareTo(itemRepository.somarGastoPorLista(mercado.getId())));
+        assertEquals(0, new BigDecimal("9.00").compareTo(itemRepository.somarGastoPorLista(feira.getId())));
+    }
+
+    @Test
+    @DisplayName("TC045 - Deve somar gasto de listas próprias e compartilhadas do usuário")
+    void deveSomarGastoPorUsuario() {
+        assertEquals(0, new BigDecimal("42.00").compareTo(itemRepository.somarGastoPorUsuario(joao.getId())));
+        assertEquals(0, new BigDecimal("51.00").compareTo(itemRepository.somarGastoPorUsuario(maria.getId())));
+        assertEquals(0, BigDecimal.ZERO.compareTo(itemRepository.somarGastoPorUsuario(pedro.getId())));
+    }
+
+    @Test
+    @DisplayName("TC054 - Deve percorrer os itens por chave (dataCriacao, id) sem repetir nem pular linhas")
+    void devePaginarPorChave() {
+        // Vários itens com a mesma dataCriacao: o id desempata a ordem
+        Lista grande = em.persist(new Lista("Atacado", null, joao));
+        LocalDateTime mesmoInstante = LocalDateTime.of(2024, 5, 1, 10, 0);
+        for (int i = 0; i < 7; i++) {
+            Item item = em.persist(new Item("Produto " + i, 1, null, grande));
+            // data_criacao não é atualizável pela entidade: grava direto na tabela
+            em.getEntityManager()
+                    .createNativeQuery("UPDATE itens SET data_criacao = ?1 WHERE id = ?2")
+                    .setParameter(1, i < 4 ? mesmoInstante : mesmoInstante.plusMinutes(i))
+                    .setParameter(2, item.getId())
+                    .executeUpdate();
+        }
+        em.flush();
+        em.clear();
+
+        List<Item> esperado = itemRepository.findByListaId(grande.getId()).stream()
+                .sorted((a, b) -> {
+                    int porData = b.getDataCriacao().compareTo(a.getDataCriacao());
+                    return porData != 0 ? porData : b.getId().compareTo(a.getId());
+                })
+                .toList();
+
+        List<Item> percorrido = new ArrayList<>(itemRepository.buscarPrimeiraPagina(grande.getId(), Limit.of(3)));
+        assertEquals(3, percorrido.size());
+        while (true) {
+            Item ultimo = percorrido.get(percorrido.size() - 1);
+            List<Item> pagina = itemRepository.buscarPaginaApos(grande.getId(), ultimo.getDataCriacao(),
+                    ultimo.getId(), Limit.of(3));
+            if (pagina.isEmpty()) {
+                break;
+            }
+            assertTrue(pagina.size() <= 3);
+            percorrido.addAll(pagina);
+        }
+
+        assertEquals(7, percorrido.size());
+        assertEquals(esperado.get(6).getDataCriacao(), mesmoInstante);
+        assertEquals(esperado.stream().map(Item::getId).toList(), percorrido.stream().map(Item::getId).toList());
+
+        List<Item> pendentes = itemRepository.buscarPrimeiraPaginaPorStatus(mercado.getId(),
+                Item.StatusItem.PENDENTE, Limit.of(10));
+        assertEquals(1, pendentes.size());
+    }
+}
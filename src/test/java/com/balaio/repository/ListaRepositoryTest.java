@@ -0,0 +1,207 @@
+package com.balaio.repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.balaio.dto.ListaGastoDTO;
+import com.balaio.dto.ListaResumoDTO;
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Testes do Repositório de Lista - Consultas agregadas")
+class ListaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Usuario joao;
+    private Usuario maria;
+    private Lista mercado;
+    private Lista feira;
+
+    @BeforeEach
+    void setUp() {
+        joao = em.persist(new Usuario("João Silva", "joao@email.com", "senha-codificada"));
+        maria = em.persist(new Usuario("Maria Santos", "maria@email.com", "senha-codificada"));
+        Usuario pedro = em.persist(new Usuario("Pedro Lima", "pedro@email.com", "senha-codificada"));
+
+        mercado = new Lista("Mercado", "Compras do mês", joao);
+        mercado.setColaboradores(new ArrayList<>(List.of(maria)));
+        mercado = em.persist(mercado);
+        persistirItem(mercado, "Arroz", 2, "10.50", Item.StatusItem.COMPRADO);
+        persistirItem(mercado, "Feijão", 3, "7.00", Item.StatusItem.COMPRADO);
+        persistirItem(mercado, "Café", 1, "15.00", Item.StatusItem.PENDENTE);
+        persistirItem(mercado, "Sal", 1, null, Item.StatusItem.COMPRADO);
+
+        feira = em.persist(new Lista("Feira", null, maria));
+
+        Lista outra = em.persist(new Lista("Farmácia", null, pedro));
+        persistirItem(outra, "Dipirona", 1, "9.90", Item.StatusItem.COMPRADO);
+
+        em.flush();
+        em.clear();
+    }
+
+    private void persistirItem(Lista lista, String nome, int quantidade, String valor, Item.StatusItem status) {
+        Item item = new Item(nome, quantidade, null, lista);
+        item.setValor(valor != null ? new BigDecimal(valor) : null);
+        item.setStatus(status);
+        em.persist(item);
+    }
+
+    @Test
+    @DisplayName("TC040 - Deve agregar gasto e contagens das listas próprias")
+    void deveAgregarGastosDasListasProprias() {
+        List<ListaGastoDTO> resumo = listaRepository.resumirGastosPorUsuario(joao.getId());
+
+        assertEquals(1, resumo.size());
+        ListaGastoDTO linha = resumo.get(0);
+        assertEquals(mercado.getId(), linha.getListaId());
+        assertEquals(0, new BigDecimal("42.00").compareTo(linha.getTotalGasto()));
+        assertEquals(4, linha.getQuantidadeItens());
+        assertEquals(3, linha.getQuantidadeItensComprados());
+    }
+
+    @Test
+    @DisplayName("TC041 - Deve incluir listas compartilhadas e listas sem itens")
+    void deveIncluirListasCompartilhadasESemItens() {
+        List<ListaGastoDTO> resumo = listaRepository.resumirGastosPorUsuario(maria.getId());
+
+        assertEquals(2, resumo.size());
+        assertEquals(mercado.getId(), resumo.get(0).getListaId());
+        assertEquals(feira.getId(), resumo.get(1).getListaId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(resumo.get(1).getTotalGasto()));
+        assertEquals(0, resumo.get(1).getQuantidadeItens());
+        assertEquals(0, resumo.get(1).getQuantidadeItensComprados());
+    }
+
+    @Test
+    @DisplayName("TC043 - Deve resumir listas indicando propriedade, progresso e gasto")
+    void deveResumirListasDoUsuario() {
+        listaRepository.recalcularContadores(mercado.getId());
+
+        List<ListaResumoDTO> resumo = listaRepository.resumirListasPorUsuario(maria.getId());
+
+        assertEquals(2, resumo.size());
+        ListaResumoDTO compartilhada = resumo.get(0);
+        assertEquals(mercado.getId(), compartilhada.getId());
+        assertFalse(compartilhada.isProprietario());
+        assertEquals(4, compartilhada.getTotalItens());
+        assertEquals(3, compartilhada.getTotalComprados());
+        assertEquals(0, new BigDecimal("42.00").compareTo(compartilhada.getTotalGasto()));
+
+        ListaResumoDTO propria = resumo.get(1);
+        assertEquals(feira.getId(), propria.getId());
+        assertTrue(propria.isProprietario());
+        assertEquals(0, propria.getTotalItens());
+    }
+
+    @Test
+    @DisplayName("TC046 - Deve detectar e corrigir contadores divergentes")
+    void deveDetectarECorrigirContadoresDivergentes() {
+        // Itens foram inseridos direto pelo EntityManager: contadores de "Mercado" e "Farmácia" estão zerados
+        List<Long> divergentes = listaRepository.findIdsComContadoresDivergentes();
+        assertEquals(2, divergentes.size());
+        assertTrue(divergentes.contains(mercado.getId()));
+        assertFalse(divergentes.contains(feira.getId()));
+
+        divergentes.forEach(listaRepository::recalcularContadores);
+        em.clear();
+
+        assertTrue(listaRepository.findIdsComContadoresDivergentes().isEmpty());
+        Lista recalculada = listaRepository.findById(mercado.getId()).orElseThrow();
+        assertEquals(4, recalculada.getTotalItens());
+        assertEquals(3, recalculada.getItensComprados());
+        assertEquals(1, recalculada.getItensPendentes());
+        assertEquals(0, new BigDecimal("42.00").compareTo(recalculada.getTotalGasto()));
+    }
+
+    @Test
+    @DisplayName("TC049 - Deve identificar o papel do usuário na lista sem carregá-la")
+    void deveIdentificarPapelComExists() {
+        assertEquals("PROPRIETARIO", listaRepository.buscarPapel(mercado.getId(), joao.getId()));
+        assertEquals("COLABORADOR", listaRepository.buscarPapel(mercado.getId(), maria.getId()));
+        assertEquals("PROPRIETARIO", listaRepository.buscarPapel(feira.getId(), maria.getId()));
+        assertEquals("NENHUM", listaRepository.buscarPapel(feira.getId(), joao.getId()));
+        assertEquals("NENHUM", listaRepository.buscarPapel(-1L, joao.getId()));
+    }
+
+    @Test
+    @DisplayName("TC056 - Deve paginar listas por título aplicando o filtro de propriedade")
+    void devePaginarListasPorTitulo() {
+        em.persist(new Lista("Açougue", null, maria));
+        em.persist(new Lista("Feira", null, maria));
+        em.flush();
+        em.clear();
+
+        // Todas as listas de Maria em ordem de título, duas por página: Açougue, Feira, Feira, Mercado
+        List<Lista> primeira = listaRepository.buscarPaginaPorTitulo(maria.getId(), true, true, Limit.of(2));
+        assertEquals(List.of("Açougue", "Feira"), primeira.stream().map(Lista::getTitulo).toList());
+        assertTrue(Hibernate.isInitialized(primeira.get(0).getProprietario()));
+
+        Lista ultima = primeira.get(1);
+        List<Lista> segunda = listaRepository.buscarPaginaPorTituloApos(maria.getId(), true, true,
+                ultima.getTitulo(), ultima.getId(), Limit.of(2));
+        assertEquals(List.of("Feira", "Mercado"), segunda.stream().map(Lista::getTitulo).toList());
+        assertTrue(segunda.get(0).getId() > ultima.getId());
+
+        List<Lista> compartilhadas = listaRepository.buscarPaginaPorTitulo(maria.getId(), false, true, Limit.of(10));
+        assertEquals(List.of(mercado.getId()), compartilhadas.stream().map(Lista::getId).toList());
+
+        List<Lista> minhas = listaRepository.buscarPaginaPorAtualizacao(maria.getId(), true, false, Limit.of(10));
+        assertEquals(3, minhas.size());
+        assertTrue(minhas.stream().noneMatch(l -> l.getId().equals(mercado.getId())));
+
+        // Sem limite (listagem sem cursor e sem limite): todas as listas acessíveis
+        assertEquals(4, listaRepository.buscarPaginaPorTitulo(maria.getId(), true, true, Limit.unlimited()).size());
+
+        listaRepository.carregarColaboradores(compartilhadas);
+        assertTrue(Hibernate.isInitialized(compartilhadas.get(0).getColaboradores()));
+        assertEquals(1, compartilhadas.get(0).getColaboradores().size());
+    }
+
+    @Test
+    @DisplayName("TC065 - Deve excluir a lista com itens e colaboradores por DELETEs em massa")
+    void deveExcluirListaEmMassa() {
+        Lista carregada = listaRepository.findById(mercado.getId()).orElseThrow();
+
+        assertEquals(4, itemRepository.excluirPorLista(mercado.getId()));
+        assertEquals(1, listaRepository.excluirPorId(mercado.getId()));
+
+        // Os DELETEs limpam o contexto de persistência: nada de entidades obsoletas
+        assertFalse(em.getEntityManager().contains(carregada));
+        assertTrue(listaRepository.findById(mercado.getId()).isEmpty());
+        assertTrue(itemRepository.findByListaId(mercado.getId()).isEmpty());
+        assertEquals(List.of(feira.getId()), listaRepository.findListasAcessiveisPorUsuario(maria.getId())
+                .stream().map(Lista::getId).toList());
+        assertEquals(1, itemRepository.count());
+        Number vinculos = (Number) em.getEntityManager()
+                .createNativeQuery("SELECT COUNT(*) FROM lista_colaboradores WHERE lista_id = ?1")
+                .setParameter(1, mercado.getId())
+                .getSingleResult();
+        assertEquals(0, vinculos.intValue());
+    }
+}
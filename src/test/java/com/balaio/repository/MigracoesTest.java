@@ -0,0 +1,68 @@
+package com.balaio.repository;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DisplayName("Testes das Migrações - Bancos criados pelo Hibernate")
+class MigracoesTest {
+
+    // Tabelas como o Hibernate as criava com ddl-auto=update, antes das migrações
+    private static final String[] ESQUEMA_HIBERNATE = {
+            "CREATE TABLE usuarios (id BIGINT GENERATED BY DEFAULT AS IDENTITY, data_atualizacao TIMESTAMP(6), "
+                    + "data_criacao TIMESTAMP(6), email VARCHAR(255) NOT NULL UNIQUE, "
+                    + "nome_completo VARCHAR(255) NOT NULL, senha VARCHAR(255) NOT NULL, PRIMARY KEY (id))",
+            "CREATE TABLE listas (id BIGINT GENERATED BY DEFAULT AS IDENTITY, data_atualizacao TIMESTAMP(6), "
+                    + "data_criacao TIMESTAMP(6), descricao VARCHAR(255), titulo VARCHAR(255) NOT NULL, "
+                    + "proprietario_id BIGINT NOT NULL REFERENCES usuarios (id), PRIMARY KEY (id))",
+            "CREATE TABLE lista_colaboradores (lista_id BIGINT NOT NULL REFERENCES listas (id), "
+                    + "usuario_id BIGINT NOT NULL REFERENCES usuarios (id))",
+            "CREATE TABLE itens (id BIGINT GENERATED BY DEFAULT AS IDENTITY, data_atualizacao TIMESTAMP(6), "
+                    + "data_criacao TIMESTAMP(6), nome_produto VARCHAR(255) NOT NULL, quantidade INTEGER NOT NULL, "
+                    + "status VARCHAR(255) NOT NULL CHECK (status IN ('PENDENTE', 'COMPRADO')), "
+                    + "unidade VARCHAR(10), valor NUMERIC(10, 2), lista_id BIGINT NOT NULL REFERENCES listas (id), "
+                    + "PRIMARY KEY (id))"
+    };
+
+    @Test
+    @DisplayName("TC093 - Migrações devem completar o esquema criado pelo Hibernate e preencher os contadores")
+    void migracoesDevemCompletarEsquemaDoHibernate() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:hibernate" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        jdbc.batchUpdate(ESQUEMA_HIBERNATE);
+        jdbc.update("INSERT INTO usuarios (id, nome_completo, email, senha) VALUES (1, 'João', 'Joao@Email.com', 'x')");
+        jdbc.update("INSERT INTO listas (id, titulo, proprietario_id) VALUES (1, 'Mercado', 1)");
+        jdbc.update("INSERT INTO itens (nome_produto, quantidade, status, valor, lista_id) VALUES "
+                + "('Arroz', 2, 'COMPRADO', 10.50, 1), ('Sal', 1, 'COMPRADO', NULL, 1), ('Café', 1, 'PENDENTE', 15.00, 1)");
+
+        // Mesma configuração de application.properties, com {vendor} = h2
+        MigrateResult resultado = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+
+        assertTrue(resultado.success);
+        Map<String, Object> lista = jdbc.queryForMap("SELECT * FROM listas WHERE id = 1");
+        assertEquals(3L, ((Number) lista.get("TOTAL_ITENS")).longValue());
+        assertEquals(2L, ((Number) lista.get("ITENS_COMPRADOS")).longValue());
+        assertEquals(1L, ((Number) lista.get("ITENS_PENDENTES")).longValue());
+        assertEquals(0, new BigDecimal("21.00").compareTo((BigDecimal) lista.get("TOTAL_GASTO")));
+        assertEquals(0L, ((Number) lista.get("VERSAO")).longValue());
+        assertEquals(0L, ((Number) lista.get("REVISAO")).longValue());
+        assertEquals("joao@email.com", jdbc.queryForObject("SELECT email FROM usuarios WHERE id = 1", String.class));
+    }
+}
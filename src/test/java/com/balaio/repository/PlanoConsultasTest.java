@@ -0,0 +1,171 @@
+package com.balaio.repository;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+
+/**
+ * Roda EXPLAIN (H2) sobre o SQL gerado por cada consulta de ItemRepository, ItemExcluidoRepository
+ * e ListaRepository e verifica que nenhuma tabela é lida por varredura completa.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.balaio.repository.ConsultasCapturadas")
+@ActiveProfiles("test")
+@DisplayName("Testes do Plano de Execução - Consultas dos repositórios usam índices")
+class PlanoConsultasTest {
+
+    // "/* PUBLIC.ITENS.tableScan */" ou um índice percorrido inteiro, sem condição: "/* PUBLIC.PRIMARY_KEY_8 */"
+    private static final Pattern VARREDURA = Pattern.compile("/\\* PUBLIC\\.[A-Z0-9_]+(\\.tableScan)? \\*/");
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemExcluidoRepository itemExcluidoRepository;
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("TC058 - Consultas de ItemRepository, ItemExcluidoRepository e ListaRepository devem usar índice")
+    void consultasDevemUsarIndice() throws SQLException {
+        Lista lista = listaRepository.getReferenceById(1L);
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        LocalDateTime agora = LocalDateTime.now();
+
+        Map<String, Runnable> consultas = new LinkedHashMap<>();
+        consultas.put("ItemRepository.findByLista", () -> itemRepository.findByLista(lista));
+        consultas.put("ItemRepository.findByListaId", () -> itemRepository.findByListaId(1L));
+        consultas.put("ItemRepository.findByListaIdAndStatus",
+                () -> itemRepository.findByListaIdAndStatus(1L, Item.StatusItem.COMPRADO));
+        consultas.put("ItemRepository.findByListaIdOrderByDataCriacaoDesc",
+                () -> itemRepository.findByListaIdOrderByDataCriacaoDesc(1L));
+        consultas.put("ItemRepository.countByListaIdAndStatus",
+                () -> itemRepository.countByListaIdAndStatus(1L, Item.StatusItem.COMPRADO));
+        consultas.put("ItemRepository.buscarPrimeiraPagina",
+                () -> itemRepository.buscarPrimeiraPagina(1L, Limit.of(10)));
+        consultas.put("ItemRepository.buscarPaginaApos",
+                () -> itemRepository.buscarPaginaApos(1L, agora, 1L, Limit.of(10)));
+        consultas.put("ItemRepository.buscarPrimeiraPaginaPorStatus",
+                () -> itemRepository.buscarPrimeiraPaginaPorStatus(1L, Item.StatusItem.PENDENTE, Limit.of(10)));
+        consultas.put("ItemRepository.buscarPaginaPorStatusApos",
+                () -> itemRepository.buscarPaginaPorStatusApos(1L, Item.StatusItem.PENDENTE, agora, 1L, Limit.of(10)));
+        consultas.put("ItemRepository.buscarAlteradosDesde", () -> itemRepository.buscarAlteradosDesde(1L, agora));
+        consultas.put("ItemRepository.somarGastoPorLista", () -> itemRepository.somarGastoPorLista(1L));
+        consultas.put("ItemRepository.somarGastoPorUsuario", () -> itemRepository.somarGastoPorUsuario(1L));
+        consultas.put("ItemRepository.alterarStatus",
+                () -> itemRepository.alterarStatus(1L, 0L, Item.StatusItem.COMPRADO, agora));
+        consultas.put("ItemRepository.atualizarDados",
+                () -> itemRepository.atualizarDados(1L, 0L, "Arroz", 1, null, null, agora));
+        consultas.put("ItemRepository.agruparPorStatus", () -> itemRepository.agruparPorStatus(1L));
+        consultas.put("ItemRepository.agruparPorUnidadeEStatus", () -> itemRepository.agruparPorUnidadeEStatus(1L));
+        consultas.put("ItemRepository.travarPorStatus",
+                () -> itemRepository.travarPorStatus(1L, Item.StatusItem.PENDENTE));
+        consultas.put("ItemRepository.travarPorIdsEStatus",
+                () -> itemRepository.travarPorIdsEStatus(1L, List.of(1L, 2L), Item.StatusItem.PENDENTE));
+        consultas.put("ItemRepository.travarPorIds", () -> itemRepository.travarPorIds(1L, List.of(1L, 2L)));
+        consultas.put("ItemRepository.alterarStatusEmMassa", () -> itemRepository.alterarStatusEmMassa(1L,
+                List.of(1L, 2L), Item.StatusItem.PENDENTE, Item.StatusItem.COMPRADO, agora));
+        consultas.put("ItemRepository.alterarStatusPorLista", () -> itemRepository.alterarStatusPorLista(1L,
+                Item.StatusItem.PENDENTE, Item.StatusItem.COMPRADO, agora));
+        consultas.put("ItemRepository.excluirPorIds", () -> itemRepository.excluirPorIds(1L, List.of(1L, 2L)));
+        consultas.put("ItemRepository.excluirPorLista", () -> itemRepository.excluirPorLista(1L));
+        consultas.put("ItemRepository.excluirSeVersao", () -> itemRepository.excluirSeVersao(1L, 0L));
+
+        consultas.put("ItemExcluidoRepository.registrarPorIds",
+                () -> itemExcluidoRepository.registrarPorIds(1L, List.of(1L, 2L), agora));
+        consultas.put("ItemExcluidoRepository.buscarIdsExcluidosDesde",
+                () -> itemExcluidoRepository.buscarIdsExcluidosDesde(1L, agora));
+        consultas.put("ItemExcluidoRepository.excluirAnterioresA",
+                () -> itemExcluidoRepository.excluirAnterioresA(agora));
+
+        consultas.put("ListaRepository.findByProprietario", () -> listaRepository.findByProprietario(usuario));
+        consultas.put("ListaRepository.findListasAcessiveisPorUsuario",
+                () -> listaRepository.findListasAcessiveisPorUsuario(1L));
+        consultas.put("ListaRepository.findByProprietarioId", () -> listaRepository.findByProprietarioId(1L));
+        consultas.put("ListaRepository.findListasCompartilhadasComUsuario",
+                () -> listaRepository.findListasCompartilhadasComUsuario(1L));
+        consultas.put("ListaRepository.buscarPaginaPorAtualizacao",
+                () -> listaRepository.buscarPaginaPorAtualizacao(1L, true, true, Limit.of(10)));
+        consultas.put("ListaRepository.buscarPaginaPorAtualizacaoApos",
+                () -> listaRepository.buscarPaginaPorAtualizacaoApos(1L, true, true, agora, 1L, Limit.of(10)));
+        consultas.put("ListaRepository.buscarPaginaPorTitulo",
+                () -> listaRepository.buscarPaginaPorTitulo(1L, true, true, Limit.of(10)));
+        consultas.put("ListaRepository.buscarPaginaPorTituloApos",
+                () -> listaRepository.buscarPaginaPorTituloApos(1L, true, true, "Mercado", 1L, Limit.of(10)));
+        consultas.put("ListaRepository.carregarColaboradores",
+                () -> listaRepository.carregarColaboradores(List.of(lista)));
+        consultas.put("ListaRepository.buscarComProprietarioEColaboradores",
+                () -> listaRepository.buscarComProprietarioEColaboradores(1L));
+        consultas.put("ListaRepository.buscarPapel", () -> listaRepository.buscarPapel(1L, 1L));
+        consultas.put("ListaRepository.countListasCompartilhadasPorProprietario",
+                () -> listaRepository.countListasCompartilhadasPorProprietario(1L));
+        consultas.put("ListaRepository.resumirGastosPorUsuario", () -> listaRepository.resumirGastosPorUsuario(1L));
+        consultas.put("ListaRepository.resumirListasPorUsuario", () -> listaRepository.resumirListasPorUsuario(1L));
+        consultas.put("ListaRepository.atualizarDados",
+                () -> listaRepository.atualizarDados(1L, 0L, "Mercado", null, agora));
+        consultas.put("ListaRepository.ajustarContadores",
+                () -> listaRepository.ajustarContadores(1L, 1, 0, 1, BigDecimal.ZERO, agora));
+        consultas.put("ListaRepository.excluirPorId", () -> listaRepository.excluirPorId(1L));
+        consultas.put("ListaRepository.travar", () -> listaRepository.travar(1L));
+        consultas.put("ListaRepository.recalcularContadores", () -> listaRepository.recalcularContadores(1L));
+        consultas.put("ListaRepository.recalcularContadores(agora)",
+                () -> listaRepository.recalcularContadores(1L, agora));
+        // Fora da verificação: findIdsComContadoresDivergentes percorre todas as listas por definição
+        // (reconciliação noturna dos contadores).
+
+        for (Map.Entry<String, Runnable> consulta : consultas.entrySet()) {
+            ConsultasCapturadas.limpar();
+            consulta.getValue().run();
+            List<String> sqls = ConsultasCapturadas.todas();
+            assertFalse(sqls.isEmpty(), consulta.getKey() + " não gerou comando SQL");
+
+            // Um DELETE em massa de Lista também limpa a tabela de junção: cada comando é verificado
+            for (String sql : sqls) {
+                String plano = explicar(sql);
+                assertFalse(VARREDURA.matcher(plano).find(),
+                        consulta.getKey() + " não usa índice:\n" + plano);
+            }
+        }
+    }
+
+    private String explicar(String sql) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement explain = conexao.prepareStatement("EXPLAIN " + sql)) {
+            // O plano não depende dos valores: basta preencher os parâmetros
+            int parametros = explain.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parametros; i++) {
+                explain.setObject(i, null);
+            }
+            try (ResultSet resultado = explain.executeQuery()) {
+                resultado.next();
+                return resultado.getString(1);
+            }
+        }
+    }
+}
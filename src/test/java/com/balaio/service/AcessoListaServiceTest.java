@@ -0,0 +1,111 @@
+package com.balaio.service;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import com.balaio.event.ColaboradoresAlteradosEvent;
+import com.balaio.event.ListaExcluidaEvent;
+import com.balaio.event.UsuarioExcluidoEvent;
+import com.balaio.model.PapelLista;
+import com.balaio.repository.ListaRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Testes Unitários - AcessoListaService (cache de acesso)")
+class AcessoListaServiceTest {
+
+    @Mock
+    private ListaRepository listaRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private AcessoListaService acessoListaService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", meterRegistry);
+        acessoListaService = new AcessoListaService(listaRepository, 100, Duration.ofMinutes(5),
+                beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    private double contagem(String resultado) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", AcessoListaService.NOME_CACHE)
+                .tag("result", resultado)
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    @DisplayName("TC050 - Deve consultar o banco uma única vez para o mesmo par lista/usuário")
+    void deveUsarCacheParaConsultasRepetidas() {
+        when(listaRepository.buscarPapel(1L, 2L)).thenReturn("COLABORADOR");
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(acessoListaService.temAcesso(1L, 2L));
+        }
+
+        assertEquals(PapelLista.COLABORADOR, acessoListaService.buscarPapel(1L, 2L));
+        verify(listaRepository, times(1)).buscarPapel(1L, 2L);
+        assertEquals(1.0, contagem("miss"));
+        assertEquals(4.0, contagem("hit"));
+    }
+
+    @Test
+    @DisplayName("TC051 - Deve invalidar o par afetado ao alterar colaboradores")
+    void deveInvalidarAoAlterarColaboradores() {
+        when(listaRepository.buscarPapel(1L, 2L)).thenReturn("NENHUM", "COLABORADOR");
+        when(listaRepository.buscarPapel(1L, 3L)).thenReturn("NENHUM");
+
+        assertFalse(acessoListaService.temAcesso(1L, 2L));
+        assertFalse(acessoListaService.temAcesso(1L, 3L));
+
+        acessoListaService.aoAlterarColaboradores(new ColaboradoresAlteradosEvent(1L, 2L));
+
+        assertTrue(acessoListaService.temAcesso(1L, 2L));
+        assertFalse(acessoListaService.temAcesso(1L, 3L));
+        verify(listaRepository, times(2)).buscarPapel(1L, 2L);
+        verify(listaRepository, times(1)).buscarPapel(1L, 3L);
+    }
+
+    @Test
+    @DisplayName("TC052 - Deve invalidar todas as entradas da lista ou do usuário excluído")
+    void deveInvalidarAoExcluirListaOuUsuario() {
+        when(listaRepository.buscarPapel(1L, 2L)).thenReturn("PROPRIETARIO");
+        when(listaRepository.buscarPapel(1L, 3L)).thenReturn("COLABORADOR");
+        when(listaRepository.buscarPapel(5L, 3L)).thenReturn("PROPRIETARIO");
+
+        acessoListaService.temAcesso(1L, 2L);
+        acessoListaService.temAcesso(1L, 3L);
+        acessoListaService.temAcesso(5L, 3L);
+
+        acessoListaService.aoExcluirLista(new ListaExcluidaEvent(1L));
+        acessoListaService.temAcesso(1L, 2L);
+        acessoListaService.temAcesso(1L, 3L);
+        acessoListaService.temAcesso(5L, 3L);
+
+        acessoListaService.aoExcluirUsuario(new UsuarioExcluidoEvent(3L));
+        acessoListaService.temAcesso(5L, 3L);
+
+        verify(listaRepository, times(2)).buscarPapel(1L, 2L);
+        verify(listaRepository, times(2)).buscarPapel(1L, 3L);
+        verify(listaRepository, times(2)).buscarPapel(5L, 3L);
+    }
+}
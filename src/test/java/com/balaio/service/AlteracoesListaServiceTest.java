@@ -0,0 +1,269 @@
+package com.balaio.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.balaio.config.UsuarioAutenticado;
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+import com.balaio.repository.UsuarioRepository;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.autoconfigure.exclude=",
+        "balaio.sse.assinantes-por-lista=2",
+        "balaio.sse.fila-por-assinante=5",
+        "balaio.sse.threads-entrega=2",
+        "balaio.sse.timeout-envio=PT1S",
+        "balaio.sse.verificacao-envios=PT0.1S"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Alterações da lista em tempo real")
+class AlteracoesListaServiceTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AlteracoesListaService alteracoesListaService;
+
+    @Autowired
+    private ListaService listaService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private Usuario dono;
+    private Usuario colaborador;
+    private Lista lista;
+
+    @BeforeEach
+    void setUp() {
+        long sufixo = System.nanoTime();
+        dono = usuarioRepository.save(new Usuario("Dono Eventos", "donoev" + sufixo + "@email.com",
+                "senha-codificada"));
+        colaborador = usuarioRepository.save(new Usuario("Colaborador Eventos", "colabev" + sufixo + "@email.com",
+                "senha-codificada"));
+        lista = listaService.criarLista("Lista ao vivo", null, dono.getId());
+        listaService.compartilharLista(lista.getId(), colaborador.getEmail(), dono.getId());
+    }
+
+    private MvcResult assinar(Usuario usuario) throws Exception {
+        return assinar(lista, usuario);
+    }
+
+    private MvcResult assinar(Lista alvo, Usuario usuario) throws Exception {
+        return mockMvc.perform(get("/api/listas/{id}/eventos", alvo.getId())
+                        .with(user(new UsuarioAutenticado(usuario))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        for (int i = 0; i < 100 && !condicao.getAsBoolean(); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(condicao.getAsBoolean(), "condição não atendida a tempo");
+    }
+
+    /**
+     * Cliente que não lê: o primeiro envio fica preso até a liberação.
+     */
+    private static class EmissorTravado extends SseEmitter {
+
+        private final CountDownLatch liberar;
+        private final CountDownLatch preso = new CountDownLatch(1);
+        private final CountDownLatch concluido = new CountDownLatch(1);
+
+        EmissorTravado(CountDownLatch liberar) {
+            this.liberar = liberar;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            preso.countDown();
+            try {
+                liberar.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            concluido.countDown();
+            super.complete();
+        }
+    }
+
+    private static String conteudo(MvcResult resultado) {
+        try {
+            return resultado.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("TC083 - Colaborador conectado deve receber os deltas dos itens após o commit")
+    void colaboradorDeveReceberDeltasDosItens() throws Exception {
+        MvcResult stream = assinar(colaborador);
+        assertEquals(1, alteracoesListaService.contarAssinantes(lista.getId()));
+
+        Item item = itemService.criarItem("Café", 2, new BigDecimal("15.00"), "pct", lista.getId(), dono.getId());
+        itemService.marcarComoComprado(item.getId(), dono.getId());
+        itemService.atualizarItem(item.getId(), "Café especial", 1, new BigDecimal("22.00"), "pct", dono.getId());
+        itemService.excluirItem(item.getId(), dono.getId());
+
+        aguardar(() -> conteudo(stream).contains("event:item-excluido"));
+        String eventos = conteudo(stream);
+        assertTrue(eventos.contains("event:item-criado"));
+        assertTrue(eventos.contains("\"nomeProduto\":\"Café\""));
+        assertTrue(eventos.contains("event:item-status"));
+        assertTrue(eventos.contains("\"status\":\"COMPRADO\""));
+        assertTrue(eventos.contains("event:item-atualizado"));
+        assertTrue(eventos.contains("\"nomeProduto\":\"Café especial\""));
+        // Na ordem em que foram gravados
+        assertTrue(eventos.indexOf("event:item-criado") < eventos.indexOf("event:item-status"));
+        assertTrue(eventos.indexOf("event:item-status") < eventos.indexOf("event:item-atualizado"));
+
+        // Alteração revertida (sem acesso) não gera evento
+        Usuario estranho = usuarioRepository.save(new Usuario("Sem Acesso", "estranhoev" + System.nanoTime()
+                + "@email.com", "senha-codificada"));
+        assertThrows(RuntimeException.class, () -> itemService.criarItem("Intruso", 1, null, null,
+                lista.getId(), estranho.getId()));
+        mockMvc.perform(get("/api/listas/{id}/eventos", lista.getId()).with(user(new UsuarioAutenticado(estranho))))
+                .andExpect(status().isForbidden());
+        assertFalse(conteudo(stream).contains("Intruso"));
+    }
+
+    @Test
+    @DisplayName("TC084 - Registro de assinantes deve ser limitado e liberar quem perde o acesso")
+    void registroDeveSerLimitadoELiberarQuemPerdeAcesso() throws Exception {
+        assinar(dono);
+        MvcResult doColaborador = assinar(colaborador);
+        assertEquals(2, alteracoesListaService.contarAssinantes(lista.getId()));
+
+        // balaio.sse.assinantes-por-lista=2
+        mockMvc.perform(get("/api/listas/{id}/eventos", lista.getId()).with(user(new UsuarioAutenticado(dono))))
+                .andExpect(status().isServiceUnavailable());
+        assertThrows(IllegalStateException.class,
+                () -> alteracoesListaService.assinar(lista.getId(), dono.getId()));
+
+        // Colaborador removido: é avisado e a conexão dele é encerrada
+        listaService.removerColaborador(lista.getId(), colaborador.getId(), dono.getId());
+        aguardar(() -> alteracoesListaService.contarAssinantes(lista.getId()) == 1);
+        aguardar(() -> conteudo(doColaborador).contains("event:colaboradores"));
+
+        // Lista excluída: todos são avisados e desconectados
+        listaService.excluirLista(lista.getId(), dono.getId());
+        aguardar(() -> alteracoesListaService.contarAssinantes(lista.getId()) == 0);
+    }
+
+    @Test
+    @DisplayName("TC092 - Assinante travado não deve atrasar as outras listas e deve ser desconectado com a fila cheia")
+    void assinanteTravadoNaoDeveAtrasarOsDemais() throws Exception {
+        Usuario outroDono = usuarioRepository.save(new Usuario("Outro Dono", "outroev" + System.nanoTime()
+                + "@email.com", "senha-codificada"));
+        Lista outraLista = listaService.criarLista("Outra lista", null, outroDono.getId());
+        MvcResult daOutraLista = assinar(outraLista, outroDono);
+        MvcResult doColaborador = assinar(colaborador);
+
+        CountDownLatch liberar = new CountDownLatch(1);
+        EmissorTravado travado = new EmissorTravado(liberar);
+        alteracoesListaService.assinar(lista.getId(), dono.getId(), travado);
+
+        try {
+            itemService.criarItem("Arroz", 1, null, "kg", lista.getId(), dono.getId());
+            assertTrue(travado.preso.await(5, TimeUnit.SECONDS));
+
+            // A outra lista e o outro assinante da mesma lista continuam recebendo
+            itemService.criarItem("Leite", 1, null, "l", outraLista.getId(), outroDono.getId());
+            aguardar(() -> conteudo(daOutraLista).contains("\"nomeProduto\":\"Leite\""));
+            aguardar(() -> conteudo(doColaborador).contains("\"nomeProduto\":\"Arroz\""));
+
+            // balaio.sse.fila-por-assinante=5: o sexto pendente derruba o assinante, não o evento
+            for (int i = 0; i < 6; i++) {
+                itemService.criarItem("Produto " + i, 1, null, "un", lista.getId(), dono.getId());
+            }
+            aguardar(() -> alteracoesListaService.contarAssinantes(lista.getId()) == 1);
+            aguardar(() -> conteudo(doColaborador).contains("\"nomeProduto\":\"Produto 5\""));
+        } finally {
+            liberar.countDown();
+        }
+        // A conexão é concluída pela entrega assim que o envio preso retorna
+        assertTrue(travado.concluido.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("TC098 - Envios travados em mais conexões que threads de entrega não devem parar as demais listas")
+    void enviosTravadosNaoDevemPararAsEntregas() throws Exception {
+        // balaio.sse.threads-entrega=2: três conexões presas ocupariam todas as threads
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Lista> listasTravadas = new ArrayList<>();
+        List<EmissorTravado> travados = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Lista travada = listaService.criarLista("Lista travada " + i, null, dono.getId());
+            EmissorTravado emissor = new EmissorTravado(liberar);
+            alteracoesListaService.assinar(travada.getId(), dono.getId(), emissor);
+            listasTravadas.add(travada);
+            travados.add(emissor);
+        }
+        MvcResult doColaborador = assinar(colaborador);
+
+        try {
+            for (Lista travada : listasTravadas) {
+                itemService.criarItem("Arroz", 1, null, "kg", travada.getId(), dono.getId());
+            }
+            for (EmissorTravado emissor : travados) {
+                assertTrue(emissor.preso.await(5, TimeUnit.SECONDS));
+            }
+
+            // balaio.sse.timeout-envio=PT1S: os presos são descartados e as threads substituídas
+            itemService.criarItem("Leite", 1, null, "l", lista.getId(), dono.getId());
+            aguardar(() -> conteudo(doColaborador).contains("\"nomeProduto\":\"Leite\""));
+            for (Lista travada : listasTravadas) {
+                aguardar(() -> alteracoesListaService.contarAssinantes(travada.getId()) == 0);
+            }
+        } finally {
+            liberar.countDown();
+        }
+        for (EmissorTravado emissor : travados) {
+            assertTrue(emissor.concluido.await(5, TimeUnit.SECONDS));
+        }
+
+        // Devolvidas as threads extras, as entregas seguem normalmente
+        itemService.criarItem("Café", 1, null, "pct", lista.getId(), dono.getId());
+        aguardar(() -> conteudo(doColaborador).contains("\"nomeProduto\":\"Café\""));
+    }
+}
@@ -0,0 +1,310 @@
+package com.balaio.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+import com.balaio.repository.ItemRepository;
+import com.balaio.repository.ListaRepository;
+import com.balaio.repository.UsuarioRepository;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.autoconfigure.exclude="
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Concorrência - Contadores da Lista")
+class ItemServiceConcorrenciaTest {
+
+    private static final int THREADS = 8;
+    private static final int OPERACOES_POR_THREAD = 60;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ListaService listaService;
+
+    @Autowired
+    private ContadoresListaService contadoresListaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Usuario usuario;
+    private Lista lista;
+    private List<Long> itensIds;
+
+    @BeforeEach
+    void setUp() {
+        String email = "concorrencia" + System.nanoTime() + "@email.com";
+        usuario = usuarioRepository.save(new Usuario("Usuário Concorrente", email, "senha-codificada"));
+        lista = listaService.criarLista("Lista concorrente", null, usuario.getId());
+
+        itensIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Item item = itemService.criarItem("Produto " + i, i + 1, new BigDecimal("2.50"), "un",
+                    lista.getId(), usuario.getId());
+            itensIds.add(item.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("TC047 - Contadores devem permanecer exatos com alternâncias concorrentes")
+    void contadoresDevemPermanecerExatosComAlternanciasConcorrentes() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int op = 0; op < OPERACOES_POR_THREAD; op++) {
+                    Long itemId = itensIds.get(random.nextInt(itensIds.size()));
+                    int sorteio = random.nextInt(10);
+                    try {
+                        if (sorteio < 5) {
+                            itemService.marcarComoComprado(itemId, usuario.getId());
+                        } else if (sorteio < 9) {
+                            itemService.marcarComoPendente(itemId, usuario.getId());
+                        } else {
+                            itemService.criarItem("Extra", 1, new BigDecimal("1.00"), "un",
+                                    lista.getId(), usuario.getId());
+                        }
+                    } catch (ConflitoException e) {
+                        // Perdeu todas as tentativas para outras threads: o cliente recebe 409 e os
+                        // contadores não podem ter mudado
+                    }
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Lista atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        long comprados = itemRepository.countByListaIdAndStatus(lista.getId(), Item.StatusItem.COMPRADO);
+        long pendentes = itemRepository.countByListaIdAndStatus(lista.getId(), Item.StatusItem.PENDENTE);
+
+        assertEquals(comprados + pendentes, atualizada.getTotalItens());
+        assertEquals(comprados, atualizada.getItensComprados());
+        assertEquals(pendentes, atualizada.getItensPendentes());
+        assertEquals(0, itemRepository.somarGastoPorLista(lista.getId()).compareTo(atualizada.getTotalGasto()));
+        assertTrue(listaRepository.findIdsComContadoresDivergentes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("TC062 - Alterações de status em massa devem ajustar contadores de uma só vez")
+    void alteracoesEmMassaDevemAjustarContadores() {
+        itemService.marcarComoComprado(itensIds.get(0), usuario.getId());
+
+        assertEquals(9, itemService.marcarTodosComoComprados(lista.getId(), usuario.getId()));
+        assertEquals(0, itemService.marcarTodosComoComprados(lista.getId(), usuario.getId()));
+        Lista atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(10, atualizada.getItensComprados());
+        assertEquals(0, atualizada.getItensPendentes());
+        // 2.50 × (1 + 2 + ... + 10)
+        assertEquals(0, new BigDecimal("137.50").compareTo(atualizada.getTotalGasto()));
+
+        // Só os ids informados e ainda no status de origem mudam
+        assertEquals(2, itemService.marcarItens(lista.getId(),
+                List.of(itensIds.get(0), itensIds.get(1), -1L), Item.StatusItem.PENDENTE, usuario.getId()));
+        assertEquals(0, itemService.marcarItens(lista.getId(),
+                List.of(itensIds.get(0)), Item.StatusItem.PENDENTE, usuario.getId()));
+        atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(8, atualizada.getItensComprados());
+        assertEquals(2, atualizada.getItensPendentes());
+        assertEquals(0, new BigDecimal("130.00").compareTo(atualizada.getTotalGasto()));
+        assertTrue(itemRepository.findById(itensIds.get(0)).orElseThrow().getDataAtualizacao() != null);
+
+        assertEquals(8, itemService.marcarTodosComoPendentes(lista.getId(), usuario.getId()));
+        atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(0, atualizada.getItensComprados());
+        assertEquals(10, atualizada.getItensPendentes());
+        assertEquals(0, BigDecimal.ZERO.compareTo(atualizada.getTotalGasto()));
+        assertEquals(0, contadoresListaService.reconciliar());
+
+        Usuario outro = usuarioRepository.save(new Usuario("Sem Acesso", "semacesso" + System.nanoTime()
+                + "@email.com", "senha-codificada"));
+        assertThrows(RuntimeException.class,
+                () -> itemService.marcarTodosComoComprados(lista.getId(), outro.getId()));
+    }
+
+    @Test
+    @DisplayName("TC063 - Contadores devem permanecer exatos misturando alterações em massa e individuais")
+    void contadoresDevemPermanecerExatosComAlteracoesEmMassa() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int op = 0; op < OPERACOES_POR_THREAD / 3; op++) {
+                    Long itemId = itensIds.get(random.nextInt(itensIds.size()));
+                    int sorteio = random.nextInt(10);
+                    try {
+                        if (sorteio < 3) {
+                            itemService.marcarComoComprado(itemId, usuario.getId());
+                        } else if (sorteio < 6) {
+                            itemService.marcarComoPendente(itemId, usuario.getId());
+                        } else if (sorteio < 7) {
+                            itemService.marcarTodosComoComprados(lista.getId(), usuario.getId());
+                        } else if (sorteio < 8) {
+                            itemService.marcarTodosComoPendentes(lista.getId(), usuario.getId());
+                        } else {
+                            List<Long> ids = List.of(itemId, itensIds.get(random.nextInt(itensIds.size())));
+                            itemService.marcarItens(lista.getId(), ids, random.nextBoolean()
+                                    ? Item.StatusItem.COMPRADO : Item.StatusItem.PENDENTE, usuario.getId());
+                        }
+                    } catch (ConflitoException e) {
+                        // Alternância que perdeu todas as tentativas: não altera nada
+                    }
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Lista atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        long comprados = itemRepository.countByListaIdAndStatus(lista.getId(), Item.StatusItem.COMPRADO);
+        assertEquals(10, atualizada.getTotalItens());
+        assertEquals(comprados, atualizada.getItensComprados());
+        assertEquals(10 - comprados, atualizada.getItensPendentes());
+        assertEquals(0, itemRepository.somarGastoPorLista(lista.getId()).compareTo(atualizada.getTotalGasto()));
+        assertTrue(listaRepository.findIdsComContadoresDivergentes().isEmpty());
+    }
+
+    @Test
+    @DisplayName("TC064 - Limpeza dos itens comprados deve excluir em massa e ajustar contadores")
+    void limpezaDeCompradosDeveAjustarContadores() {
+        itemService.marcarItens(lista.getId(), itensIds.subList(0, 4), Item.StatusItem.COMPRADO, usuario.getId());
+
+        assertEquals(4, itemService.excluirComprados(lista.getId(), usuario.getId()));
+        assertEquals(0, itemService.excluirComprados(lista.getId(), usuario.getId()));
+
+        Lista atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(6, atualizada.getTotalItens());
+        assertEquals(0, atualizada.getItensComprados());
+        assertEquals(6, atualizada.getItensPendentes());
+        assertEquals(0, BigDecimal.ZERO.compareTo(atualizada.getTotalGasto()));
+        assertEquals(6, itemRepository.findByListaId(lista.getId()).size());
+        assertEquals(0, contadoresListaService.reconciliar());
+    }
+
+    @Test
+    @DisplayName("TC048 - Exclusão de itens deve ajustar contadores e reconciliação não deve encontrar divergências")
+    void exclusaoDeveAjustarContadores() {
+        itemService.marcarComoComprado(itensIds.get(0), usuario.getId());
+        itemService.marcarComoComprado(itensIds.get(1), usuario.getId());
+        itemService.excluirItem(itensIds.get(0), usuario.getId());
+        itemService.excluirItem(itensIds.get(2), usuario.getId());
+
+        Lista atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(8, atualizada.getTotalItens());
+        assertEquals(1, atualizada.getItensComprados());
+        assertEquals(7, atualizada.getItensPendentes());
+        assertEquals(0, new BigDecimal("5.00").compareTo(atualizada.getTotalGasto()));
+        assertEquals(0, contadoresListaService.reconciliar());
+    }
+
+    @Test
+    @DisplayName("TC078 - Edições e alternâncias concorrentes do mesmo item não devem perder atualizações")
+    void edicoesConcorrentesNaoDevemPerderAtualizacoes() throws Exception {
+        Long itemId = itensIds.get(0);
+        Item inicial = itemRepository.findById(itemId).orElseThrow();
+        int incrementosPorThread = 15;
+        int editores = THREADS / 2;
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger conflitos = new AtomicInteger();
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Metade das threads incrementa a quantidade lendo a versão e reaplicando a edição após cada 409;
+        // a outra metade alterna o status do mesmo item
+        for (int t = 0; t < THREADS; t++) {
+            boolean editor = t < editores;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int op = 0; op < incrementosPorThread; op++) {
+                    if (!editor) {
+                        try {
+                            if (op % 2 == 0) {
+                                itemService.marcarComoComprado(itemId, usuario.getId());
+                            } else {
+                                itemService.marcarComoPendente(itemId, usuario.getId());
+                            }
+                        } catch (ConflitoException e) {
+                            conflitos.incrementAndGet();
+                        }
+                        continue;
+                    }
+                    while (true) {
+                        Item lido = itemRepository.findById(itemId).orElseThrow();
+                        try {
+                            itemService.atualizarItem(itemId, lido.getNomeProduto(), lido.getQuantidade() + 1,
+                                    lido.getValor(), lido.getUnidade(), lido.getVersao(), usuario.getId());
+                            break;
+                        } catch (ConflitoException e) {
+                            conflitos.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        Item item = itemRepository.findById(itemId).orElseThrow();
+        assertEquals(inicial.getQuantidade() + editores * incrementosPorThread, item.getQuantidade());
+        assertTrue(item.getVersao() > inicial.getVersao() + editores * incrementosPorThread);
+        assertTrue(conflitos.get() > 0, "Nenhum conflito detectado: o teste não exercitou a concorrência");
+
+        Lista atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(0, itemRepository.somarGastoPorLista(lista.getId()).compareTo(atualizada.getTotalGasto()));
+        assertTrue(listaRepository.findIdsComContadoresDivergentes().isEmpty());
+    }
+}
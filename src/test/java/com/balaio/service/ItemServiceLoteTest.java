@@ -0,0 +1,228 @@
+package com.balaio.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.balaio.dto.EstatisticasItensDTO;
+import com.balaio.dto.ItemLoteDTO;
+import com.balaio.dto.PaginaDTO;
+import com.balaio.dto.ResultadoLoteDTO;
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+import com.balaio.repository.ConsultasCapturadas;
+import com.balaio.repository.ItemRepository;
+import com.balaio.repository.ListaRepository;
+import com.balaio.repository.UsuarioRepository;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.autoconfigure.exclude=",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.balaio.repository.ConsultasCapturadas"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Cadastro de itens em lote")
+class ItemServiceLoteTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ListaService listaService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private Usuario usuario;
+    private Lista lista;
+
+    @BeforeEach
+    void setUp() {
+        String email = "lote" + System.nanoTime() + "@email.com";
+        usuario = usuarioRepository.save(new Usuario("Usuário Lote", email, "senha-codificada"));
+        lista = listaService.criarLista("Lista colada", null, usuario.getId());
+    }
+
+    @Test
+    @DisplayName("TC059 - Deve criar as linhas válidas e informar o erro de cada linha inválida")
+    void deveCriarLinhasValidasEReportarInvalidas() {
+        List<ItemLoteDTO> linhas = List.of(
+                new ItemLoteDTO("Arroz", 2, new BigDecimal("10.50"), "kg"),
+                new ItemLoteDTO(" ", 1, null, null),
+                new ItemLoteDTO("Feijão", 0, null, null),
+                new ItemLoteDTO("Café", 1, null, "pacote"),
+                new ItemLoteDTO("Leite", 12, new BigDecimal("-1"), "l"));
+
+        List<ResultadoLoteDTO> resultados = itemService.criarItens(lista.getId(), linhas, usuario.getId());
+
+        assertEquals(5, resultados.size());
+        assertTrue(resultados.get(0).isSucesso());
+        assertEquals("Nome do produto é obrigatório", resultados.get(1).getErro());
+        assertEquals("Quantidade deve ser maior que zero", resultados.get(2).getErro());
+        assertTrue(resultados.get(3).isSucesso());
+        assertEquals("Valor deve ser maior que zero", resultados.get(4).getErro());
+        for (int i = 0; i < resultados.size(); i++) {
+            assertEquals(i, resultados.get(i).getIndice());
+        }
+
+        List<Item> gravados = itemRepository.findByListaId(lista.getId());
+        assertEquals(2, gravados.size());
+        assertTrue(gravados.stream().allMatch(item -> item.getStatus() == Item.StatusItem.PENDENTE));
+
+        Lista atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(2, atualizada.getTotalItens());
+        assertEquals(2, atualizada.getItensPendentes());
+        assertFalse(atualizada.getDataAtualizacao().isBefore(lista.getDataAtualizacao()));
+    }
+
+    @Test
+    @DisplayName("TC060 - Deve recusar lote vazio, grande demais ou de usuário sem acesso")
+    void deveRecusarLoteInvalido() {
+        Usuario outro = usuarioRepository.save(new Usuario("Sem Acesso", "semacesso" + System.nanoTime()
+                + "@email.com", "senha-codificada"));
+        List<ItemLoteDTO> grande = new ArrayList<>();
+        for (int i = 0; i <= ItemService.MAX_ITENS_POR_LOTE; i++) {
+            grande.add(new ItemLoteDTO("Produto " + i, 1, null, null));
+        }
+
+        assertThrows(RuntimeException.class,
+                () -> itemService.criarItens(lista.getId(), List.of(), usuario.getId()));
+        assertThrows(RuntimeException.class,
+                () -> itemService.criarItens(lista.getId(), grande, usuario.getId()));
+        assertThrows(RuntimeException.class, () -> itemService.criarItens(lista.getId(),
+                List.of(new ItemLoteDTO("Arroz", 1, null, null)), outro.getId()));
+        assertEquals(0, itemRepository.findByListaId(lista.getId()).size());
+    }
+
+    @Test
+    @DisplayName("TC071 - Deve calcular contagens e gastos da lista com e sem detalhamento por unidade")
+    void deveCalcularEstatisticasPorStatusEUnidade() {
+        List<ResultadoLoteDTO> criados = itemService.criarItens(lista.getId(), List.of(
+                new ItemLoteDTO("Arroz", 2, new BigDecimal("10.50"), "kg"),
+                new ItemLoteDTO("Feijão", 1, new BigDecimal("8.00"), "kg"),
+                new ItemLoteDTO("Leite", 6, new BigDecimal("4.00"), "l"),
+                new ItemLoteDTO("Sabonete", 3, null, null)), usuario.getId());
+        itemService.marcarItens(lista.getId(),
+                List.of(criados.get(0).getItem().getId(), criados.get(2).getItem().getId()),
+                Item.StatusItem.COMPRADO, usuario.getId());
+
+        EstatisticasItensDTO geral = itemService.calcularEstatisticas(lista.getId(), false, usuario.getId());
+        assertEquals(4, geral.getTotal());
+        assertEquals(2, geral.getComprados());
+        assertEquals(2, geral.getPendentes());
+        assertEquals(50.0, geral.getPercentualCompleto());
+        assertEquals(0, new BigDecimal("45.00").compareTo(geral.getGastoComprado()));
+        assertEquals(0, new BigDecimal("53.00").compareTo(geral.getGastoEstimado()));
+        assertNull(geral.getPorUnidade());
+
+        EstatisticasItensDTO detalhado = itemService.calcularEstatisticas(lista.getId(), true, usuario.getId());
+        assertEquals(4, detalhado.getTotal());
+        assertEquals(0, geral.getGastoEstimado().compareTo(detalhado.getGastoEstimado()));
+        assertEquals(3, detalhado.getPorUnidade().size());
+        EstatisticasItensDTO quilos = detalhado.getPorUnidade().stream()
+                .filter(porUnidade -> "kg".equals(porUnidade.getUnidade()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, quilos.getTotal());
+        assertEquals(1, quilos.getComprados());
+        assertEquals(0, new BigDecimal("21.00").compareTo(quilos.getGastoComprado()));
+        assertEquals(0, new BigDecimal("29.00").compareTo(quilos.getGastoEstimado()));
+        assertTrue(detalhado.getPorUnidade().stream().anyMatch(porUnidade -> porUnidade.getUnidade() == null));
+    }
+
+    @Test
+    @DisplayName("TC094 - Alterações e exclusões em massa devem usar comandos com número limitado de parâmetros")
+    void alteracoesEmMassaDevemLimitarParametros() {
+        List<Long> ids = new ArrayList<>();
+        for (int lote = 0; lote < 3; lote++) {
+            List<ItemLoteDTO> linhas = new ArrayList<>();
+            for (int i = 0; i < (lote < 2 ? 500 : 200); i++) {
+                linhas.add(new ItemLoteDTO("Item " + lote + "-" + i, 1, new BigDecimal("2.00"), null));
+            }
+            itemService.criarItens(lista.getId(), linhas, usuario.getId())
+                    .forEach(resultado -> ids.add(resultado.getItem().getId()));
+        }
+
+        ConsultasCapturadas.limpar();
+        assertEquals(1200, itemService.marcarItens(lista.getId(), ids, Item.StatusItem.COMPRADO, usuario.getId()));
+        assertTrue(ConsultasCapturadas.todas().stream().allMatch(sql -> parametros(sql) <= 510));
+
+        Lista marcada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(1200, marcada.getItensComprados());
+        assertEquals(0, marcada.getItensPendentes());
+        assertEquals(0, new BigDecimal("2400.00").compareTo(marcada.getTotalGasto()));
+
+        ConsultasCapturadas.limpar();
+        assertEquals(1200, itemService.marcarTodosComoPendentes(lista.getId(), usuario.getId()));
+        // Lista inteira: nenhum comando leva os ids
+        assertTrue(ConsultasCapturadas.todas().stream().allMatch(sql -> parametros(sql) <= 10));
+
+        Lista desmarcada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(1200, desmarcada.getTotalItens());
+        assertEquals(0, desmarcada.getItensComprados());
+        assertEquals(1200, desmarcada.getItensPendentes());
+        assertEquals(0, BigDecimal.ZERO.compareTo(desmarcada.getTotalGasto()));
+        assertTrue(desmarcada.getRevisao() > marcada.getRevisao());
+
+        itemService.marcarTodosComoComprados(lista.getId(), usuario.getId());
+        ConsultasCapturadas.limpar();
+        assertEquals(1200, itemService.excluirComprados(lista.getId(), usuario.getId()));
+        assertTrue(ConsultasCapturadas.todas().stream().allMatch(sql -> parametros(sql) <= 510));
+
+        Lista limpa = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(0, limpa.getTotalItens());
+        assertEquals(0, limpa.getItensComprados());
+        assertEquals(0, BigDecimal.ZERO.compareTo(limpa.getTotalGasto()));
+        assertEquals(0, itemRepository.findByListaId(lista.getId()).size());
+    }
+
+    @Test
+    @DisplayName("TC095 - Listagem sem cursor e sem limite deve devolver todos os itens da lista")
+    void listagemSemLimiteDeveDevolverTodosOsItens() {
+        List<ItemLoteDTO> linhas = new ArrayList<>();
+        for (int i = 0; i < ItemService.LIMITE_PADRAO + 10; i++) {
+            linhas.add(new ItemLoteDTO("Item " + i, 1, null, null));
+        }
+        itemService.criarItens(lista.getId(), linhas, usuario.getId());
+
+        PaginaDTO<Item> todos = itemService.listarItensPaginados(lista.getId(), null, null, null, usuario.getId());
+        assertEquals(linhas.size(), todos.getItens().size());
+        assertNull(todos.getProximoCursor());
+
+        PaginaDTO<Item> pendentes = itemService.listarItensPaginados(lista.getId(), Item.StatusItem.PENDENTE, null,
+                null, usuario.getId());
+        assertEquals(linhas.size(), pendentes.getItens().size());
+
+        PaginaDTO<Item> primeira = itemService.listarItensPaginados(lista.getId(), null, null,
+                ItemService.LIMITE_PADRAO, usuario.getId());
+        assertEquals(ItemService.LIMITE_PADRAO, primeira.getItens().size());
+        PaginaDTO<Item> segunda = itemService.listarItensPaginados(lista.getId(), null, primeira.getProximoCursor(),
+                null, usuario.getId());
+        assertEquals(10, segunda.getItens().size());
+        assertNull(segunda.getProximoCursor());
+    }
+
+    private static long parametros(String sql) {
+        return sql.chars().filter(c -> c == '?').count();
+    }
+}
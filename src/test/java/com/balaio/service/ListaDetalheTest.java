@@ -0,0 +1,168 @@
+package com.balaio.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.balaio.dto.ListaDetalheDTO;
+import com.balaio.dto.ProgressoListaDTO;
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+import com.balaio.repository.UsuarioRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.autoconfigure.exclude="
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Detalhes da lista")
+class ListaDetalheTest {
+
+    @Autowired
+    private ListaService listaService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Usuario dono;
+    private Usuario colaborador;
+    private Lista lista;
+
+    @BeforeEach
+    void setUp() {
+        long sufixo = System.nanoTime();
+        dono = usuarioRepository.save(new Usuario("Dono Detalhe", "dono" + sufixo + "@email.com", "senha-codificada"));
+        colaborador = usuarioRepository.save(new Usuario("Colaborador Um", "colab1" + sufixo + "@email.com",
+                "senha-codificada"));
+        Usuario outroColaborador = usuarioRepository.save(new Usuario("Colaborador Dois", "colab2" + sufixo
+                + "@email.com", "senha-codificada"));
+
+        lista = listaService.criarLista("Lista detalhada", null, dono.getId());
+        listaService.compartilharLista(lista.getId(), colaborador.getEmail(), dono.getId());
+        listaService.compartilharLista(lista.getId(), outroColaborador.getEmail(), dono.getId());
+        for (int i = 0; i < 5; i++) {
+            itemService.criarItem("Produto " + i, 1, new BigDecimal("3.00"), "un", lista.getId(), dono.getId());
+        }
+    }
+
+    @Test
+    @DisplayName("TC068 - Deve carregar lista, proprietário, colaboradores e itens em no máximo duas consultas")
+    void deveCarregarDetalheEmDuasConsultas() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        ListaDetalheDTO detalhe = listaService.buscarDetalhe(lista.getId(), colaborador.getId());
+
+        // Tudo o que a página usa já está inicializado: nada de carregamento tardio fora da transação
+        Lista carregada = detalhe.getLista();
+        assertEquals("Dono Detalhe", carregada.getProprietario().getNomeCompleto());
+        assertEquals(2, carregada.getColaboradores().size());
+        assertTrue(carregada.getColaboradores().stream().allMatch(c -> c.getNomeCompleto().startsWith("Colaborador")));
+        assertEquals(5, detalhe.getItens().size());
+        assertEquals("Produto 4", detalhe.getItens().get(0).getNomeProduto());
+        assertTrue(detalhe.getItens().stream().allMatch(i -> i.getStatus() == Item.StatusItem.PENDENTE));
+
+        assertTrue(estatisticas.getPrepareStatementCount() <= 2,
+                "consultas executadas: " + estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("TC070 - Deve negar os detalhes a quem não é proprietário nem colaborador")
+    void deveNegarDetalheSemAcesso() {
+        Usuario estranho = usuarioRepository.save(new Usuario("Sem Acesso", "estranho" + System.nanoTime()
+                + "@email.com", "senha-codificada"));
+
+        RuntimeException erro = assertThrows(RuntimeException.class,
+                () -> listaService.buscarDetalhe(lista.getId(), estranho.getId()));
+        assertEquals("Usuário não tem acesso a esta lista", erro.getMessage());
+        assertThrows(RuntimeException.class, () -> listaService.buscarDetalhe(-1L, dono.getId()));
+    }
+
+    @Test
+    @DisplayName("TC082 - Alterações de itens, da lista e dos participantes devem avançar os validadores da lista")
+    void alteracoesDevemAvancarValidadores() {
+        String inicial = listaService.buscarVersao(lista.getId(), colaborador.getId()).orElseThrow().getEtag();
+        assertEquals(inicial, listaService.buscarVersao(lista.getId(), dono.getId()).orElseThrow().getEtag());
+
+        Item item = itemService.criarItem("Novo", 1, new BigDecimal("2.00"), "un", lista.getId(), dono.getId());
+        String aposCriar = listaService.buscarVersao(lista.getId(), dono.getId()).orElseThrow().getEtag();
+        assertNotEquals(inicial, aposCriar);
+
+        itemService.marcarComoComprado(item.getId(), colaborador.getId());
+        String aposMarcar = listaService.buscarVersao(lista.getId(), dono.getId()).orElseThrow().getEtag();
+        assertNotEquals(aposCriar, aposMarcar);
+
+        // Transição repetida não altera nada: o ETag continua valendo
+        itemService.marcarComoComprado(item.getId(), colaborador.getId());
+        assertEquals(aposMarcar, listaService.buscarVersao(lista.getId(), dono.getId()).orElseThrow().getEtag());
+
+        listaService.atualizarLista(lista.getId(), "Lista renomeada", null, dono.getId());
+        String aposRenomear = listaService.buscarVersao(lista.getId(), dono.getId()).orElseThrow().getEtag();
+        assertNotEquals(aposMarcar, aposRenomear);
+
+        // Nome e e-mail dos participantes estão na resposta, mas são editados no Usuario
+        colaborador.setNomeCompleto("Colaborador Renomeado");
+        usuarioService.atualizarUsuario(colaborador.getId(), colaborador);
+        String aposColaborador = listaService.buscarVersao(lista.getId(), dono.getId()).orElseThrow().getEtag();
+        assertNotEquals(aposRenomear, aposColaborador);
+
+        dono.setEmail("novo" + System.nanoTime() + "@email.com");
+        usuarioService.atualizarUsuario(dono.getId(), dono);
+        assertNotEquals(aposColaborador, listaService.buscarVersao(lista.getId(), dono.getId()).orElseThrow().getEtag());
+
+        Usuario estranho = usuarioRepository.save(new Usuario("Sem Acesso", "estranho" + System.nanoTime()
+                + "@email.com", "senha-codificada"));
+        assertTrue(listaService.buscarVersao(lista.getId(), estranho.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("TC090 - Progresso da página de detalhes deve somar os comprados e formatar o percentual")
+    void progressoDeveSomarCompradosEFormatarPercentual() {
+        ListaDetalheDTO detalhe = listaService.buscarDetalhe(lista.getId(), dono.getId());
+        itemService.marcarComoComprado(detalhe.getItens().get(0).getId(), dono.getId());
+        itemService.marcarComoComprado(detalhe.getItens().get(1).getId(), dono.getId());
+
+        ProgressoListaDTO progresso = ProgressoListaDTO.de(listaService.buscarDetalhe(lista.getId(), dono.getId())
+                .getItens());
+        assertEquals(0, new BigDecimal("6.00").compareTo(progresso.getTotalEstimado()));
+        assertEquals(2, progresso.getTotalComprados());
+        assertEquals(3, progresso.getTotalPendentes());
+        assertEquals("40", progresso.getPercentualTexto());
+        assertEquals("40%", progresso.getProgressoWidth());
+
+        // Uma casa decimal com vírgula; item comprado sem valor conta no progresso, não no gasto
+        Item semValor = new Item("Sem valor", 2, "un", lista);
+        semValor.setStatus(Item.StatusItem.COMPRADO);
+        Item pendente = new Item("Pendente", 1, "un", lista);
+        pendente.setStatus(Item.StatusItem.PENDENTE);
+        ProgressoListaDTO parcial = ProgressoListaDTO.de(List.of(semValor, pendente, pendente));
+        assertEquals("33,3", parcial.getPercentualTexto());
+        assertEquals(0, BigDecimal.ZERO.compareTo(parcial.getTotalEstimado()));
+
+        assertEquals("0%", ProgressoListaDTO.de(List.of()).getProgressoWidth());
+    }
+}
@@ -1,7 +1,9 @@
 package com.balaio.service;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -14,6 +16,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.never;
@@ -21,13 +25,21 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import com.balaio.dto.DashboardDTO;
+import com.balaio.dto.ListaGastoDTO;
+import com.balaio.dto.PaginaDTO;
+import com.balaio.event.ColaboradoresAlteradosEvent;
 import com.balaio.model.Lista;
 import com.balaio.model.Usuario;
 import com.balaio.repository.ItemRepository;
 import com.balaio.repository.ListaRepository;
 import com.balaio.repository.UsuarioRepository;
 
+import jakarta.validation.Validator;
+
 //Testes unitários para ListaService
 //Funcionalidade de inclusão e remoção de colaboradores
  
@@ -44,6 +56,15 @@ class ListaServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private AcessoListaService acessoListaService;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ListaService listaService;
 
@@ -93,6 +114,7 @@ class ListaServiceTest {
         assertNotNull(resultado);
         assertTrue(resultado.getColaboradores().contains(colaborador));
         verify(listaRepository, times(1)).save(any(Lista.class));
+        verify(eventPublisher).publishEvent(any(ColaboradoresAlteradosEvent.class));
     }
 
     @Test
@@ -311,21 +333,21 @@ class ListaServiceTest {
     @DisplayName("TC015 - Proprietário deve ter acesso à lista")
     void testUsuarioTemAcesso_Proprietario() {
         // Arrange
-        when(listaRepository.findById(1L)).thenReturn(Optional.of(lista));
+        when(acessoListaService.temAcesso(1L, 1L)).thenReturn(true);
 
         // Act
         boolean temAcesso = listaService.usuarioTemAcesso(1L, 1L);
 
         // Assert
         assertTrue(temAcesso);
+        verify(listaRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("TC016 - Colaborador deve ter acesso à lista")
     void testUsuarioTemAcesso_Colaborador() {
         // Arrange
-        lista.getColaboradores().add(colaborador);
-        when(listaRepository.findById(1L)).thenReturn(Optional.of(lista));
+        when(acessoListaService.temAcesso(1L, 2L)).thenReturn(true);
 
         // Act
         boolean temAcesso = listaService.usuarioTemAcesso(1L, 2L);
@@ -338,7 +360,7 @@ class ListaServiceTest {
     @DisplayName("TC017 - Usuário sem relação não deve ter acesso à lista")
     void testUsuarioTemAcesso_SemAcesso() {
         // Arrange
-        when(listaRepository.findById(1L)).thenReturn(Optional.of(lista));
+        when(acessoListaService.temAcesso(1L, 999L)).thenReturn(false);
 
         // Act
         boolean temAcesso = listaService.usuarioTemAcesso(1L, 999L);
@@ -346,4 +368,96 @@ class ListaServiceTest {
         // Assert
         assertFalse(temAcesso);
     }
+
+    // TESTES DE DASHBOARD
+
+    @Test
+    @DisplayName("TC042 - Deve montar dashboard a partir da projeção agregada")
+    void testGerarDashboard_ProjecaoAgregada() {
+        // Arrange
+        when(listaRepository.resumirGastosPorUsuario(1L)).thenReturn(List.of(
+                new ListaGastoDTO(1L, "Mercado", null, new BigDecimal("42.00"), 4L, 3L),
+                new ListaGastoDTO(2L, "Feira", null, new BigDecimal("8.50"), 2L, 1L)));
+
+        // Act
+        DashboardDTO dashboard = listaService.gerarDashboard(1L);
+
+        // Assert
+        assertEquals(2, dashboard.getQuantidadeListas());
+        assertEquals(new BigDecimal("50.50"), dashboard.getTotalGastoGeral());
+        assertEquals(6, dashboard.getTotalItens());
+        assertEquals(4, dashboard.getTotalItensComprados());
+        verify(listaRepository, never()).findById(any());
+        verify(itemRepository, never()).findByListaId(any());
+    }
+
+    @Test
+    @DisplayName("TC057 - Deve gerar cursor da próxima página e retomar a partir dele")
+    void deveGerarERetomarCursorDeListas() {
+        Lista segunda = new Lista();
+        segunda.setId(5L);
+        segunda.setTitulo("Mercado");
+        segunda.setProprietario(proprietario);
+
+        when(listaRepository.buscarPaginaPorTitulo(1L, true, false, Limit.of(2)))
+                .thenReturn(new ArrayList<>(List.of(lista, segunda)));
+
+        PaginaDTO<Lista> pagina = listaService.listarListasPaginadas(1L, ListaService.FiltroListas.MINHAS,
+                ListaService.OrdenacaoListas.TITULO, null, 1);
+
+        assertEquals(List.of(lista), pagina.getItens());
+        assertTrue(pagina.isTemMais());
+        verify(listaRepository).carregarColaboradores(List.of(lista));
+
+        when(listaRepository.buscarPaginaPorTituloApos(1L, true, false, "Lista de Compras", 1L, Limit.of(2)))
+                .thenReturn(new ArrayList<>(List.of(segunda)));
+
+        PaginaDTO<Lista> seguinte = listaService.listarListasPaginadas(1L, ListaService.FiltroListas.MINHAS,
+                ListaService.OrdenacaoListas.TITULO, pagina.getProximoCursor(), 1);
+
+        assertEquals(List.of(segunda), seguinte.getItens());
+        assertFalse(seguinte.isTemMais());
+
+        assertThrows(RuntimeException.class, () -> listaService.listarListasPaginadas(1L,
+                ListaService.FiltroListas.TODAS, ListaService.OrdenacaoListas.ATUALIZACAO, "nao-e-cursor", 1));
+    }
+
+    @Test
+    @DisplayName("TC096 - Listagem sem cursor e sem limite deve devolver todas as listas")
+    void listagemSemLimiteDeveDevolverTodasAsListas() {
+        List<Lista> listas = new ArrayList<>();
+        for (long id = 1; id <= ListaService.LIMITE_PADRAO + 5; id++) {
+            Lista outra = new Lista();
+            outra.setId(id);
+            outra.setTitulo("Lista " + id);
+            outra.setProprietario(proprietario);
+            listas.add(outra);
+        }
+        when(listaRepository.buscarPaginaPorAtualizacao(1L, true, true, Limit.unlimited()))
+                .thenReturn(new ArrayList<>(listas));
+
+        PaginaDTO<Lista> pagina = listaService.listarListasPaginadas(1L, ListaService.FiltroListas.TODAS,
+                ListaService.OrdenacaoListas.ATUALIZACAO, null, null);
+
+        assertEquals(listas, pagina.getItens());
+        assertFalse(pagina.isTemMais());
+        verify(listaRepository).carregarColaboradores(listas);
+    }
+
+    @Test
+    @DisplayName("TC097 - Edição concorrente da lista deve ser conflito sem exceção do repositório")
+    void edicaoConcorrenteDeveSerConflito() {
+        lista.setVersao(3L);
+        when(listaRepository.findById(1L)).thenReturn(Optional.of(lista));
+        when(acessoListaService.temAcesso(1L, 1L)).thenReturn(true);
+        // Outra requisição gravou a lista entre a leitura e o UPDATE
+        when(listaRepository.atualizarDados(eq(1L), eq(3L), eq("Feira"), any(), any())).thenReturn(0);
+
+        assertThrows(ConflitoException.class, () -> listaService.atualizarLista(1L, "Feira", null, 3L, 1L));
+        assertThrows(ConflitoException.class, () -> listaService.atualizarLista(1L, "Feira", null, 2L, 1L));
+
+        verify(listaRepository, never()).saveAndFlush(any(Lista.class));
+        verify(listaRepository, times(1)).atualizarDados(anyLong(), any(), any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
 }
@@ -0,0 +1,219 @@
+package com.balaio.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.balaio.dto.AlteracoesItensDTO;
+import com.balaio.dto.CursorPaginacao;
+import com.balaio.dto.ItemLoteDTO;
+import com.balaio.dto.OperacaoSincronizacaoDTO;
+import com.balaio.dto.ResultadoSincronizacaoDTO;
+import com.balaio.model.Item;
+import com.balaio.model.Lista;
+import com.balaio.model.Usuario;
+import com.balaio.repository.ItemRepository;
+import com.balaio.repository.ListaRepository;
+import com.balaio.repository.UsuarioRepository;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concorrencia;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.autoconfigure.exclude=",
+        // Sem janela de margem: cada sincronização traz só o que mudou depois da marca
+        "balaio.sincronizacao.margem=PT0S"
+})
+@ActiveProfiles("test")
+@DisplayName("Testes de Integração - Sincronização incremental dos itens")
+class SincronizacaoItensTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ListaService listaService;
+
+    @Autowired
+    private LimpezaItensExcluidosService limpezaItensExcluidosService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ListaRepository listaRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Usuario usuario;
+    private Lista lista;
+
+    @BeforeEach
+    void setUp() {
+        String email = "offline" + System.nanoTime() + "@email.com";
+        usuario = usuarioRepository.save(new Usuario("Usuário Offline", email, "senha-codificada"));
+        lista = listaService.criarLista("Lista do porão", null, usuario.getId());
+    }
+
+    private Item criar(String nome) {
+        return itemService.criarItem(nome, 1, new BigDecimal("5.00"), null, lista.getId(), usuario.getId());
+    }
+
+    private static Set<Long> ids(List<Item> itens) {
+        return itens.stream().map(Item::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    @DisplayName("TC085 - Alterações desde a marca devem trazer só os itens alterados e os excluídos")
+    void alteracoesDevemTrazerSoADiferenca() throws InterruptedException {
+        Item arroz = criar("Arroz");
+        Item feijao = criar("Feijão");
+        Item cafe = criar("Café");
+        Item leite = criar("Leite");
+
+        // Primeira sincronização: lista inteira
+        AlteracoesItensDTO inicial = itemService.buscarAlteracoes(lista.getId(), null, usuario.getId());
+        assertTrue(inicial.isCompleto());
+        assertEquals(Set.of(arroz.getId(), feijao.getId(), cafe.getId(), leite.getId()), ids(inicial.getItens()));
+        Thread.sleep(5);
+
+        itemService.marcarComoComprado(feijao.getId(), usuario.getId());
+        itemService.atualizarItem(cafe.getId(), "Café forte", 2, null, null, usuario.getId());
+        itemService.excluirItem(leite.getId(), usuario.getId());
+        Item pao = criar("Pão");
+
+        AlteracoesItensDTO diferenca = itemService.buscarAlteracoes(lista.getId(), inicial.getMarca(),
+                usuario.getId());
+        assertFalse(diferenca.isCompleto());
+        assertEquals(Set.of(feijao.getId(), cafe.getId(), pao.getId()), ids(diferenca.getItens()));
+        assertEquals(List.of(leite.getId()), diferenca.getExcluidos());
+        Thread.sleep(5);
+
+        // Exclusão em massa também deixa registro; nada mudou em arroz desde a primeira marca
+        itemService.excluirComprados(lista.getId(), usuario.getId());
+        AlteracoesItensDTO seguinte = itemService.buscarAlteracoes(lista.getId(), diferenca.getMarca(),
+                usuario.getId());
+        assertTrue(seguinte.getItens().isEmpty());
+        assertEquals(List.of(feijao.getId()), seguinte.getExcluidos());
+
+        // Marca mais antiga que a retenção das exclusões: lista inteira de novo
+        String antiga = CursorPaginacao.codificar(LocalDateTime.now().minusDays(31).toString());
+        AlteracoesItensDTO reinicio = itemService.buscarAlteracoes(lista.getId(), antiga, usuario.getId());
+        assertTrue(reinicio.isCompleto());
+        assertEquals(Set.of(arroz.getId(), cafe.getId(), pao.getId()), ids(reinicio.getItens()));
+
+        assertThrows(RuntimeException.class,
+                () -> itemService.buscarAlteracoes(lista.getId(), "marca-invalida", usuario.getId()));
+
+        // Registros de exclusão dentro da retenção não são removidos pela limpeza
+        assertEquals(0, limpezaItensExcluidosService.excluirAntigos());
+        assertEquals(List.of(feijao.getId(), leite.getId()),
+                itemService.buscarAlteracoes(lista.getId(), inicial.getMarca(), usuario.getId()).getExcluidos());
+    }
+
+    @Test
+    @DisplayName("TC086 - Operações offline devem ser aplicadas em ordem com um resultado por operação")
+    void operacoesOfflineDevemSerAplicadasEmOrdem() {
+        Item arroz = criar("Arroz");
+        Item feijao = criar("Feijão");
+        Item cafe = criar("Café");
+        Long versaoLidaOffline = arroz.getVersao();
+
+        // Enquanto o aplicativo estava sem conexão, outro colaborador editou o arroz
+        itemService.atualizarItem(arroz.getId(), "Arroz integral", 1, null, null, usuario.getId());
+
+        List<ResultadoSincronizacaoDTO> resultados = itemService.sincronizar(lista.getId(), List.of(
+                OperacaoSincronizacaoDTO.criar(new ItemLoteDTO("Pão", 6, new BigDecimal("0.75"), "un")),
+                OperacaoSincronizacaoDTO.atualizar(arroz.getId(), versaoLidaOffline,
+                        new ItemLoteDTO("Arroz 5kg", 1, null, null)),
+                OperacaoSincronizacaoDTO.status(feijao.getId(), Item.StatusItem.COMPRADO),
+                OperacaoSincronizacaoDTO.excluir(cafe.getId()),
+                OperacaoSincronizacaoDTO.status(cafe.getId(), Item.StatusItem.COMPRADO),
+                OperacaoSincronizacaoDTO.criar(new ItemLoteDTO("Leite", 0, null, null)),
+                OperacaoSincronizacaoDTO.excluir(cafe.getId())), usuario.getId());
+
+        assertEquals(7, resultados.size());
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.APLICADA, resultados.get(0).getSituacao());
+        assertEquals("Pão", resultados.get(0).getItem().getNomeProduto());
+        // Conflito: nada gravado, volta o estado atual
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.CONFLITO, resultados.get(1).getSituacao());
+        assertEquals("Arroz integral", resultados.get(1).getItem().getNomeProduto());
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.APLICADA, resultados.get(2).getSituacao());
+        assertEquals(Item.StatusItem.COMPRADO, resultados.get(2).getItem().getStatus());
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.APLICADA, resultados.get(3).getSituacao());
+        assertNull(resultados.get(3).getItem());
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.EXCLUIDO, resultados.get(4).getSituacao());
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.ERRO, resultados.get(5).getSituacao());
+        assertEquals("Quantidade deve ser maior que zero", resultados.get(5).getErro());
+        // Exclusão repetida é idempotente
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.APLICADA, resultados.get(6).getSituacao());
+
+        assertEquals("Arroz integral", itemRepository.findById(arroz.getId()).orElseThrow().getNomeProduto());
+        assertFalse(itemRepository.existsById(cafe.getId()));
+
+        // Contadores ajustados pelas operações aplicadas: arroz, feijão (comprado) e pão
+        Lista atualizada = listaRepository.findById(lista.getId()).orElseThrow();
+        assertEquals(3L, atualizada.getTotalItens());
+        assertEquals(1L, atualizada.getItensComprados());
+        assertEquals(2L, atualizada.getItensPendentes());
+
+        // Sem acesso: nada é aplicado
+        Usuario estranho = usuarioRepository.save(new Usuario("Sem Acesso", "semacesso" + System.nanoTime()
+                + "@email.com", "senha-codificada"));
+        assertThrows(RuntimeException.class, () -> itemService.sincronizar(lista.getId(),
+                List.of(OperacaoSincronizacaoDTO.excluir(arroz.getId())), estranho.getId()));
+        assertTrue(itemRepository.existsById(arroz.getId()));
+    }
+
+    @Test
+    @DisplayName("TC091 - Conflito detectado na gravação não deve desfazer as demais operações do lote")
+    void conflitoNaGravacaoNaoDeveDesfazerOLote() {
+        Item arroz = criar("Arroz");
+        Item feijao = criar("Feijão");
+
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        List<ResultadoSincronizacaoDTO> resultados = transacao.execute(status -> {
+            // Arroz já está no contexto de persistência quando outra transação o altera: a versão lida
+            // confere com a da entidade, mas não com a do banco
+            Long versaoLida = itemRepository.findById(arroz.getId()).orElseThrow().getVersao();
+            CompletableFuture.runAsync(() -> itemService.atualizarItem(arroz.getId(), "Arroz integral", 1, null,
+                    null, usuario.getId())).join();
+
+            return itemService.sincronizar(lista.getId(), List.of(
+                    OperacaoSincronizacaoDTO.criar(new ItemLoteDTO("Pão", 6, null, "un")),
+                    OperacaoSincronizacaoDTO.atualizar(arroz.getId(), versaoLida,
+                            new ItemLoteDTO("Arroz 5kg", 1, null, null)),
+                    OperacaoSincronizacaoDTO.status(feijao.getId(), Item.StatusItem.COMPRADO)), usuario.getId());
+        });
+
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.APLICADA, resultados.get(0).getSituacao());
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.CONFLITO, resultados.get(1).getSituacao());
+        assertEquals("Arroz integral", resultados.get(1).getItem().getNomeProduto());
+        assertEquals(ResultadoSincronizacaoDTO.Situacao.APLICADA, resultados.get(2).getSituacao());
+
+        // O lote foi gravado, menos a edição em conflito
+        assertEquals("Arroz integral", itemRepository.findById(arroz.getId()).orElseThrow().getNomeProduto());
+        assertEquals(Item.StatusItem.COMPRADO, itemRepository.findById(feijao.getId()).orElseThrow().getStatus());
+        assertTrue(itemRepository.existsById(resultados.get(0).getItem().getId()));
+        assertEquals(3L, listaRepository.findById(lista.getId()).orElseThrow().getTotalItens());
+    }
+}